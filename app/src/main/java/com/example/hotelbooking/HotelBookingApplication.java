@@ -2,13 +2,18 @@ package com.example.hotelbooking;
 
 import com.example.hotelbooking.db.DatabaseConfig;
 import com.example.hotelbooking.db.DatabaseInitializer;
+import com.example.hotelbooking.db.DeadlineAwareDataSource;
+import com.example.hotelbooking.db.InstrumentedDataSource;
 import com.example.hotelbooking.http.Router;
+import com.example.hotelbooking.logging.AsyncLogger;
 import com.example.hotelbooking.service.BookingService;
+import com.example.hotelbooking.service.CatalogueService;
 import com.example.hotelbooking.dao.BookingDao;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class HotelBookingApplication {
@@ -25,11 +30,15 @@ public class HotelBookingApplication {
             dbInitializer.initialize();
             
             // Initialize components
-            BookingDao bookingDao = new BookingDao(dbConfig.getDataSource());
+            // Checkout timing wraps the deadline-bounded wait, so it includes waits cut short by a deadline
+            BookingDao bookingDao = new BookingDao(
+                    new InstrumentedDataSource("hotel-read", new DeadlineAwareDataSource(dbConfig.getReadDataSource())),
+                    new InstrumentedDataSource("hotel-write", new DeadlineAwareDataSource(dbConfig.getWriteDataSource())));
             BookingService bookingService = new BookingService(bookingDao);
+            CatalogueService catalogueService = new CatalogueService(bookingDao);
             
             // Start HTTP server
-            Router router = new Router(bookingService);
+            Router router = new Router(bookingService, catalogueService);
             router.start();
             
             logger.info("Hotel Booking Application started successfully on port " + config.getProperty("server.port"));
@@ -37,14 +46,15 @@ public class HotelBookingApplication {
             // Add shutdown hook
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 logger.info("Shutting down application...");
+                // Drains in-flight requests before the pools they use are closed
                 router.stop();
                 dbConfig.shutdown();
                 logger.info("Application shutdown complete.");
+                AsyncLogger.getInstance().close();
             }));
             
         } catch (Exception e) {
-            logger.severe("Failed to start application: " + e.getMessage());
-            e.printStackTrace();
+            logger.log(Level.SEVERE, "Failed to start application: " + e.getMessage(), e);
             System.exit(1);
         }
     }
@@ -0,0 +1,129 @@
+package com.example.hotelbooking.context;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time budget of the request being served on the current thread.
+ * The HTTP layer attaches one per request; the service, pool checkout and JDBC statements
+ * read what is left of it, so no stage waits longer than the client is still willing to.
+ * Code running without an attached deadline keeps its own timeouts.
+ */
+public final class Deadline {
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+    public static final long DEFAULT_TIMEOUT_MS = 5000;
+    public static final long MAX_TIMEOUT_MS = 30000;
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(long timeoutMs) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+    }
+
+    /**
+     * Deadline for a request carrying the given timeout header value.
+     * Missing or malformed values get the default, and the budget is capped at {@link #MAX_TIMEOUT_MS}.
+     */
+    public static Deadline fromHeader(String timeoutMs) {
+        long timeout = DEFAULT_TIMEOUT_MS;
+        if (timeoutMs != null) {
+            try {
+                timeout = Long.parseLong(timeoutMs.trim());
+            } catch (NumberFormatException e) {
+                timeout = DEFAULT_TIMEOUT_MS;
+            }
+        }
+        if (timeout <= 0) {
+            timeout = DEFAULT_TIMEOUT_MS;
+        }
+        return after(Math.min(timeout, MAX_TIMEOUT_MS));
+    }
+
+    /**
+     * Deadline for a request: the one an outer layer already attached to this thread, or else one
+     * built from the request's timeout header.
+     */
+    public static Deadline forRequest(String timeoutHeader) {
+        Deadline current = CURRENT.get();
+        return current != null ? current : fromHeader(timeoutHeader);
+    }
+
+    /**
+     * Deadline attached to the current thread, or null when there is none.
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes this the current thread's deadline until the returned scope is closed.
+     */
+    public Scope attach() {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Throws if the current thread's deadline has passed; does nothing without one.
+     */
+    public static void checkCurrent(String stage) {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null) {
+            deadline.check(stage);
+        }
+    }
+
+    /**
+     * The given wait, shortened to what is left of the current thread's deadline.
+     */
+    public static long boundedWaitMillis(long waitMs) {
+        Deadline deadline = CURRENT.get();
+        return deadline == null ? waitMs : Math.max(0, Math.min(waitMs, deadline.remainingMillis()));
+    }
+
+    public long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    public void check(String stage) {
+        if (isExpired()) {
+            throw new DeadlineExceededException("Request deadline exceeded before " + stage);
+        }
+    }
+
+    /**
+     * Remaining budget as a JDBC query timeout. JDBC counts whole seconds and treats 0 as no limit,
+     * so the value is rounded up and is always at least one second.
+     */
+    public int queryTimeoutSeconds(String stage) {
+        check(stage);
+        long seconds = (TimeUnit.NANOSECONDS.toMillis(remainingNanos()) + 999) / 1000;
+        return (int) Math.max(1, Math.min(seconds, Integer.MAX_VALUE));
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.hotelbooking.context;
+
+/**
+ * Thrown when a request's deadline runs out before or during a stage of its work.
+ * The HTTP layer answers it with 504.
+ */
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,533 @@
+package com.example.hotelbooking.dao;
+
+import com.example.hotelbooking.context.Deadline;
+import com.example.hotelbooking.context.DeadlineExceededException;
+import com.example.hotelbooking.jfr.DaoCallEvent;
+import com.example.hotelbooking.metrics.Histogram;
+import com.example.hotelbooking.metrics.Labels;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+import com.example.hotelbooking.model.Booking;
+import com.example.hotelbooking.model.Hotel;
+import com.example.hotelbooking.model.Room;
+import com.example.hotelbooking.model.User;
+import com.example.hotelbooking.tracing.Trace;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+
+public class BookingDao {
+    // A booking with its user, room and hotel in one row, so a lookup holds a single connection
+    private static final String JOINED_BOOKING_SELECT =
+            "SELECT b.id, b.check_in_date, b.check_out_date, b.total_price, b.status, " +
+            "u.id AS u_id, u.name AS u_name, u.email AS u_email, " +
+            "r.id AS r_id, r.room_number, r.room_type, r.price_per_night, " +
+            "h.id AS h_id, h.name AS h_name, h.address AS h_address, h.rating AS h_rating " +
+            "FROM bookings b " +
+            "LEFT JOIN users u ON b.user_id = u.id " +
+            "LEFT JOIN rooms r ON b.room_id = r.id " +
+            "LEFT JOIN hotels h ON r.hotel_id = h.id ";
+
+    private final DataSource readDataSource;
+    private final DataSource writeDataSource;
+    // Time spent in each call, connection checkout included
+    private final Operation findByIdOperation = new Operation("findById");
+    private final Operation findByIdsOperation = new Operation("findByIds");
+    private final Operation findAllOperation = new Operation("findAll");
+    private final Operation saveOperation = new Operation("save");
+    private final Operation deleteByIdOperation = new Operation("deleteById");
+    private final Operation findByUserIdOperation = new Operation("findByUserId");
+    private final Operation isRoomAvailableOperation = new Operation("isRoomAvailable");
+    private final Operation findUserByIdOperation = new Operation("findUserById");
+    private final Operation findAllHotelsWithRoomsOperation = new Operation("findAllHotelsWithRooms");
+    private final Operation findRoomByIdOperation = new Operation("findRoomById");
+
+    public BookingDao(DataSource dataSource) {
+        this(dataSource, dataSource);
+    }
+
+    /**
+     * Lookups go to the read pool; writes and the conflict check that guards them go to the write pool.
+     */
+    public BookingDao(DataSource readDataSource, DataSource writeDataSource) {
+        this.readDataSource = readDataSource;
+        this.writeDataSource = writeDataSource;
+        initializeDatabase();
+    }
+
+    private void initializeDatabase() {
+        try (Connection conn = writeDataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            
+            // Create users table
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS users (" +
+                "    id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                "    name VARCHAR(255) NOT NULL," +
+                "    email VARCHAR(255) NOT NULL UNIQUE," +
+                "    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                ")");
+
+            // Create hotels table
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS hotels (" +
+                "    id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                "    name VARCHAR(255) NOT NULL," +
+                "    address VARCHAR(500)," +
+                "    rating INT," +
+                "    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                ")");
+
+            // Create rooms table
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS rooms (" +
+                "    id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                "    room_number VARCHAR(50) NOT NULL UNIQUE," +
+                "    room_type VARCHAR(50) NOT NULL," +
+                "    price_per_night DECIMAL(10,2) NOT NULL," +
+                "    hotel_id BIGINT," +
+                "    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                "    FOREIGN KEY (hotel_id) REFERENCES hotels(id)" +
+                ")");
+
+            // Create bookings table
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS bookings (" +
+                "    id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                "    user_id BIGINT NOT NULL," +
+                "    room_id BIGINT NOT NULL," +
+                "    check_in_date DATE NOT NULL," +
+                "    check_out_date DATE NOT NULL," +
+                "    total_price DECIMAL(10,2) NOT NULL," +
+                "    status VARCHAR(20) NOT NULL," +
+                "    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                "    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                "    FOREIGN KEY (user_id) REFERENCES users(id)," +
+                "    FOREIGN KEY (room_id) REFERENCES rooms(id)" +
+                ")");
+
+            // Create indexes for performance
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_bookings_user_id ON bookings(user_id)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_bookings_room_id ON bookings(room_id)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_bookings_dates ON bookings(check_in_date, check_out_date)");
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to initialize database", e);
+        }
+    }
+
+    public Optional<Booking> findById(Long id) {
+        Operation.Call call = findByIdOperation.begin();
+        try (Connection conn = readDataSource.getConnection();
+             PreparedStatement ps = prepare(conn, JOINED_BOOKING_SELECT + "WHERE b.id = ?")) {
+            
+            ps.setLong(1, id);
+            ResultSet rs = ps.executeQuery();
+
+            if (rs.next()) {
+                return Optional.of(mapJoinedBooking(rs));
+            }
+            return Optional.empty();
+
+        } catch (SQLException e) {
+            throw failure("Failed to find booking by id: " + id, e);
+        } finally {
+            call.end();
+        }
+    }
+
+    /**
+     * Loads several bookings with one joined query instead of a lookup per booking and per related row.
+     * Ids that do not exist are simply absent from the result, which is in no particular order.
+     */
+    public List<Booking> findByIds(Collection<Long> ids) {
+        List<Booking> bookings = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return bookings;
+        }
+        StringBuilder sql = new StringBuilder(JOINED_BOOKING_SELECT + "WHERE b.id IN (");
+        for (int i = 0; i < ids.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+
+        Operation.Call call = findByIdsOperation.begin();
+        try (Connection conn = readDataSource.getConnection();
+             PreparedStatement ps = prepare(conn, sql.toString())) {
+
+            int index = 1;
+            for (Long id : ids) {
+                ps.setLong(index++, id);
+            }
+            ResultSet rs = ps.executeQuery();
+
+            while (rs.next()) {
+                bookings.add(mapJoinedBooking(rs));
+            }
+            return bookings;
+
+        } catch (SQLException e) {
+            throw failure("Failed to find bookings by ids: " + ids, e);
+        } finally {
+            call.end();
+        }
+    }
+
+    public List<Booking> findAll() {
+        List<Booking> bookings = new ArrayList<>();
+        Operation.Call call = findAllOperation.begin();
+        try (Connection conn = readDataSource.getConnection();
+             PreparedStatement ps = prepare(conn, JOINED_BOOKING_SELECT);
+             ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) {
+                bookings.add(mapJoinedBooking(rs));
+            }
+            return bookings;
+
+        } catch (SQLException e) {
+            throw failure("Failed to find all bookings", e);
+        } finally {
+            call.end();
+        }
+    }
+
+    public Booking save(Booking booking) {
+        // First check if there's any conflicting booking
+        if (!isRoomAvailable(booking.getRoom().getId(), booking.getCheckInDate(), booking.getCheckOutDate())) {
+            throw new RuntimeException("Room is already booked for these dates");
+        }
+
+        String sql = booking.getId() == null ?
+            "INSERT INTO bookings (user_id, room_id, check_in_date, check_out_date, total_price, status) VALUES (?, ?, ?, ?, ?, ?)" :
+            "UPDATE bookings SET user_id=?, room_id=?, check_in_date=?, check_out_date=?, total_price=?, status=? WHERE id=?";
+
+        Operation.Call call = saveOperation.begin();
+        try (Connection conn = writeDataSource.getConnection();
+             PreparedStatement ps = prepare(conn, sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            ps.setLong(1, booking.getUser().getId());
+            ps.setLong(2, booking.getRoom().getId());
+            ps.setDate(3, Date.valueOf(booking.getCheckInDate()));
+            ps.setDate(4, Date.valueOf(booking.getCheckOutDate()));
+            ps.setBigDecimal(5, booking.getTotalPrice());
+            ps.setString(6, booking.getStatus().name());
+
+            if (booking.getId() != null) {
+                ps.setLong(7, booking.getId());
+            }
+
+            ps.executeUpdate();
+
+            if (booking.getId() == null) {
+                ResultSet rs = ps.getGeneratedKeys();
+                if (rs.next()) {
+                    booking.setId(rs.getLong(1));
+                }
+            }
+
+            return booking;
+
+        } catch (SQLException e) {
+            throw failure("Failed to save booking", e);
+        } finally {
+            call.end();
+        }
+    }
+
+    public void deleteById(Long id) {
+        Operation.Call call = deleteByIdOperation.begin();
+        try (Connection conn = writeDataSource.getConnection();
+             PreparedStatement ps = prepare(conn, "DELETE FROM bookings WHERE id = ?")) {
+            
+            ps.setLong(1, id);
+            ps.executeUpdate();
+
+        } catch (SQLException e) {
+            throw failure("Failed to delete booking with id: " + id, e);
+        } finally {
+            call.end();
+        }
+    }
+
+    public List<Booking> findByUserId(Long userId) {
+        List<Booking> bookings = new ArrayList<>();
+        Operation.Call call = findByUserIdOperation.begin();
+        try (Connection conn = readDataSource.getConnection();
+             PreparedStatement ps = prepare(conn, JOINED_BOOKING_SELECT + "WHERE b.user_id = ?")) {
+            
+            ps.setLong(1, userId);
+            ResultSet rs = ps.executeQuery();
+
+            while (rs.next()) {
+                bookings.add(mapJoinedBooking(rs));
+            }
+            return bookings;
+
+        } catch (SQLException e) {
+            throw failure("Failed to find bookings for user: " + userId, e);
+        } finally {
+            call.end();
+        }
+    }
+
+    public boolean isRoomAvailable(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        Operation.Call call = isRoomAvailableOperation.begin();
+        try (Connection conn = writeDataSource.getConnection();
+             PreparedStatement ps = prepare(conn,
+                "SELECT COUNT(*) FROM bookings " +
+                "WHERE room_id = ? " +
+                "AND status != 'CANCELLED' " +
+                "AND (" +
+                "    (check_in_date <= ? AND check_out_date > ?) OR " +
+                "    (check_in_date < ? AND check_out_date >= ?) OR " +
+                "    (check_in_date >= ? AND check_out_date <= ?)" +
+                ")")) {
+            
+            ps.setLong(1, roomId);
+            ps.setDate(2, Date.valueOf(checkOut));
+            ps.setDate(3, Date.valueOf(checkIn));
+            ps.setDate(4, Date.valueOf(checkOut));
+            ps.setDate(5, Date.valueOf(checkOut));
+            ps.setDate(6, Date.valueOf(checkIn));
+            ps.setDate(7, Date.valueOf(checkOut));
+
+            ResultSet rs = ps.executeQuery();
+            rs.next();
+            return rs.getInt(1) == 0;
+
+        } catch (SQLException e) {
+            throw failure("Failed to check room availability", e);
+        } finally {
+            call.end();
+        }
+    }
+
+    /**
+     * One DAO method's instrumentation: its latency histogram, flight recorder event and trace span.
+     */
+    private static final class Operation {
+        private final String name;
+        private final String spanName;
+        private final Histogram latency;
+
+        Operation(String name) {
+            this.name = name;
+            this.spanName = "dao." + name;
+            this.latency = MetricsRegistry.getInstance().histogram("dao.latency", Labels.of("operation", name));
+        }
+
+        Call begin() {
+            return new Call(this);
+        }
+
+        private static final class Call {
+            private final Operation operation;
+            private final long start = System.nanoTime();
+            private final DaoCallEvent event = DaoCallEvent.start();
+            private final Trace.Span span;
+
+            private Call(Operation operation) {
+                this.operation = operation;
+                this.span = Trace.span(operation.spanName);
+            }
+
+            void end() {
+                span.close();
+                event.finish(operation.name);
+                operation.latency.recordNanos(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Prepares a statement whose query timeout is the time left on the current request's deadline.
+     */
+    private PreparedStatement prepare(Connection conn, String sql) throws SQLException {
+        return withDeadline(conn.prepareStatement(sql));
+    }
+
+    private PreparedStatement prepare(Connection conn, String sql, int autoGeneratedKeys) throws SQLException {
+        return withDeadline(conn.prepareStatement(sql, autoGeneratedKeys));
+    }
+
+    private PreparedStatement withDeadline(PreparedStatement ps) throws SQLException {
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            try {
+                ps.setQueryTimeout(deadline.queryTimeoutSeconds("query execution"));
+            } catch (DeadlineExceededException e) {
+                ps.close();
+                throw e;
+            }
+        }
+        return ps;
+    }
+
+    /**
+     * Wraps a JDBC failure, reporting statements cancelled by their query timeout as a spent deadline
+     * once the deadline has really passed; a timeout that fired before it is the database's failure.
+     */
+    private RuntimeException failure(String message, SQLException e) {
+        Deadline deadline = Deadline.current();
+        if (e instanceof SQLTimeoutException && deadline != null && deadline.isExpired()) {
+            return new DeadlineExceededException(message + ": request deadline exceeded", e);
+        }
+        return new RuntimeException(message, e);
+    }
+
+    private Booking mapJoinedBooking(ResultSet rs) throws SQLException {
+        Booking booking = new Booking();
+        booking.setId(rs.getLong("id"));
+
+        rs.getLong("u_id");
+        if (!rs.wasNull()) {
+            User user = new User();
+            user.setId(rs.getLong("u_id"));
+            user.setName(rs.getString("u_name"));
+            user.setEmail(rs.getString("u_email"));
+            booking.setUser(user);
+        }
+
+        rs.getLong("r_id");
+        if (!rs.wasNull()) {
+            Room room = new Room();
+            room.setId(rs.getLong("r_id"));
+            room.setRoomNumber(rs.getString("room_number"));
+            room.setRoomType(rs.getString("room_type"));
+            room.setPricePerNight(rs.getBigDecimal("price_per_night"));
+
+            rs.getLong("h_id");
+            if (!rs.wasNull()) {
+                Hotel hotel = new Hotel();
+                hotel.setId(rs.getLong("h_id"));
+                hotel.setName(rs.getString("h_name"));
+                hotel.setAddress(rs.getString("h_address"));
+                hotel.setRating(rs.getInt("h_rating"));
+                room.setHotel(hotel);
+            }
+            booking.setRoom(room);
+        }
+
+        booking.setCheckInDate(rs.getDate("check_in_date").toLocalDate());
+        booking.setCheckOutDate(rs.getDate("check_out_date").toLocalDate());
+        booking.setTotalPrice(rs.getBigDecimal("total_price"));
+        booking.setStatus(Booking.BookingStatus.valueOf(rs.getString("status")));
+
+        return booking;
+    }
+
+    public Optional<User> findUserById(Long userId) {
+        Operation.Call call = findUserByIdOperation.begin();
+        try (Connection conn = readDataSource.getConnection();
+             PreparedStatement ps = prepare(conn, "SELECT * FROM users WHERE id = ?")) {
+            
+            ps.setLong(1, userId);
+            ResultSet rs = ps.executeQuery();
+
+            if (rs.next()) {
+                User user = new User();
+                user.setId(rs.getLong("id"));
+                user.setName(rs.getString("name"));
+                user.setEmail(rs.getString("email"));
+                return Optional.of(user);
+            }
+            return Optional.empty();
+
+        } catch (SQLException e) {
+            throw failure("Failed to find user by id: " + userId, e);
+        } finally {
+            call.end();
+        }
+    }
+
+    /**
+     * Loads every hotel with its rooms in one joined query, hotels and rooms both ordered by id.
+     */
+    public List<Hotel> findAllHotelsWithRooms() {
+        Operation.Call call = findAllHotelsWithRoomsOperation.begin();
+        try (Connection conn = readDataSource.getConnection();
+             PreparedStatement ps = prepare(conn,
+                     "SELECT h.id AS h_id, h.name AS h_name, h.address AS h_address, h.rating AS h_rating, " +
+                     "r.id AS r_id, r.room_number, r.room_type, r.price_per_night " +
+                     "FROM hotels h LEFT JOIN rooms r ON r.hotel_id = h.id " +
+                     "ORDER BY h.id, r.id")) {
+
+            ResultSet rs = ps.executeQuery();
+            List<Hotel> hotels = new ArrayList<>();
+            Hotel hotel = null;
+            while (rs.next()) {
+                long hotelId = rs.getLong("h_id");
+                if (hotel == null || hotel.getId() != hotelId) {
+                    hotel = new Hotel();
+                    hotel.setId(hotelId);
+                    hotel.setName(rs.getString("h_name"));
+                    hotel.setAddress(rs.getString("h_address"));
+                    hotel.setRating(rs.getInt("h_rating"));
+                    hotel.setRooms(new LinkedHashSet<>());
+                    hotels.add(hotel);
+                }
+                long roomId = rs.getLong("r_id");
+                if (!rs.wasNull()) {
+                    Room room = new Room();
+                    room.setId(roomId);
+                    room.setRoomNumber(rs.getString("room_number"));
+                    room.setRoomType(rs.getString("room_type"));
+                    room.setPricePerNight(rs.getBigDecimal("price_per_night"));
+                    room.setHotel(hotel);
+                    hotel.getRooms().add(room);
+                }
+            }
+            return hotels;
+
+        } catch (SQLException e) {
+            throw failure("Failed to load hotels and rooms", e);
+        } finally {
+            call.end();
+        }
+    }
+
+    public Optional<Room> findRoomById(Long roomId) {
+        Operation.Call call = findRoomByIdOperation.begin();
+        try (Connection conn = readDataSource.getConnection();
+             PreparedStatement ps = prepare(conn,
+                     "SELECT r.id, r.room_number, r.room_type, r.price_per_night, " +
+                     "h.id AS h_id, h.name AS h_name, h.address AS h_address, h.rating AS h_rating " +
+                     "FROM rooms r LEFT JOIN hotels h ON r.hotel_id = h.id WHERE r.id = ?")) {
+            
+            ps.setLong(1, roomId);
+            ResultSet rs = ps.executeQuery();
+
+            if (rs.next()) {
+                Room room = new Room();
+                room.setId(rs.getLong("id"));
+                room.setRoomNumber(rs.getString("room_number"));
+                room.setRoomType(rs.getString("room_type"));
+                room.setPricePerNight(rs.getBigDecimal("price_per_night"));
+                
+                rs.getLong("h_id");
+                if (!rs.wasNull()) {
+                    Hotel hotel = new Hotel();
+                    hotel.setId(rs.getLong("h_id"));
+                    hotel.setName(rs.getString("h_name"));
+                    hotel.setAddress(rs.getString("h_address"));
+                    hotel.setRating(rs.getInt("h_rating"));
+                    room.setHotel(hotel);
+                }
+                
+                return Optional.of(room);
+            }
+            return Optional.empty();
+
+        } catch (SQLException e) {
+            throw failure("Failed to find room by id: " + roomId, e);
+        } finally {
+            call.end();
+        }
+    }
+}
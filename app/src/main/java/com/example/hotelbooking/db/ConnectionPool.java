@@ -23,6 +23,7 @@ public class ConnectionPool {
         config.setMaxLifetime(1200000); // 20 minutes
         config.setConnectionTimeout(20000); // 20 seconds
         config.setPoolName("HotelBookingCP");
+        config.setMetricsTrackerFactory(PoolMetrics::new);
 
         this.dataSource = new HikariDataSource(config);
     }
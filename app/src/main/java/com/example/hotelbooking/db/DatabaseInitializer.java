@@ -8,6 +8,12 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 public class DatabaseInitializer {
+    // Users and rooms to have in total, for load runs that need more ids than the sample data has
+    private static final int SEED_USERS = Integer.getInteger("hotel.seed.users", 0);
+    private static final int SEED_ROOMS = Integer.getInteger("hotel.seed.rooms", 0);
+    private static final int SAMPLE_USERS = 2;
+    private static final int SAMPLE_ROOMS = 4;
+
     private final HikariDataSource dataSource;
 
     public DatabaseInitializer(HikariDataSource dataSource) {
@@ -17,6 +23,7 @@ public class DatabaseInitializer {
     public void initialize() {
         createTables();
         insertTestData();
+        insertLoadData();
     }
 
     private void createTables() {
@@ -142,4 +149,39 @@ public class DatabaseInitializer {
             throw new RuntimeException("Failed to insert test data", e);
         }
     }
+
+    /**
+     * Adds users and rooms after the sample data until there are {@code hotel.seed.users} and
+     * {@code hotel.seed.rooms} of each, so their ids run on from the sample ones. Rooms alternate
+     * between the two sample hotels.
+     */
+    private void insertLoadData() {
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO users (name, email) VALUES (?, ?)"
+            )) {
+                for (int i = SAMPLE_USERS + 1; i <= SEED_USERS; i++) {
+                    ps.setString(1, "Load User " + i);
+                    ps.setString(2, "load" + i + "@example.com");
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO rooms (hotel_id, room_number, room_type, price_per_night) VALUES (?, ?, ?, ?)"
+            )) {
+                for (int i = SAMPLE_ROOMS + 1; i <= SEED_ROOMS; i++) {
+                    ps.setLong(1, 1 + i % 2);
+                    ps.setString(2, "L" + i);
+                    ps.setString(3, "STANDARD");
+                    ps.setBigDecimal(4, new BigDecimal("150.00"));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to insert load data", e);
+        }
+    }
 }
@@ -0,0 +1,149 @@
+package com.example.hotelbooking.db;
+
+import com.example.hotelbooking.context.Deadline;
+import com.example.hotelbooking.context.DeadlineExceededException;
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Hikari data source whose checkout wait is bounded by the current request's deadline.
+ * Without a deadline, or when more time is left than the pool's own connectionTimeout,
+ * checkout behaves exactly like the wrapped pool.
+ *
+ * A shorter wait is enforced around the pool's public {@code getConnection()}: a timer interrupts
+ * the waiting thread when the deadline passes, which Hikari turns into a failed checkout. The
+ * interrupt is delivered only while the checkout is still in progress, and cleared if it raced
+ * with the checkout returning, so it never leaks into the caller's later work.
+ */
+public class DeadlineAwareDataSource implements DataSource {
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private final HikariDataSource delegate;
+
+    public DeadlineAwareDataSource(HikariDataSource delegate) {
+        this.delegate = delegate;
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "checkout-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Nearly every checkout beats its deadline, so cancelled timeouts must not pile up
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return delegate.getConnection();
+        }
+        deadline.check("connection checkout");
+        long remainingMs = deadline.remainingMillis();
+        if (remainingMs >= delegate.getConnectionTimeout()) {
+            return delegate.getConnection();
+        }
+        Checkout checkout = new Checkout(Thread.currentThread());
+        ScheduledFuture<?> timeout = TIMER.schedule(checkout::expire, Math.max(1, remainingMs), TimeUnit.MILLISECONDS);
+        try {
+            return delegate.getConnection();
+        } catch (SQLException e) {
+            if (checkout.finish()) {
+                throw new DeadlineExceededException("Request deadline exceeded waiting for a database connection", e);
+            }
+            throw e;
+        } finally {
+            checkout.finish();
+            timeout.cancel(false);
+        }
+    }
+
+    /**
+     * Hand-off between a waiting checkout and its timer; whichever gets here first decides.
+     */
+    private static final class Checkout {
+        private final Thread waiter;
+        private boolean finished;
+        private boolean expired;
+
+        Checkout(Thread waiter) {
+            this.waiter = waiter;
+        }
+
+        synchronized void expire() {
+            if (!finished) {
+                finished = true;
+                expired = true;
+                waiter.interrupt();
+            }
+        }
+
+        /**
+         * Ends the wait, clearing the timer's interrupt if it fired; true if it did.
+         */
+        synchronized boolean finish() {
+            finished = true;
+            if (expired) {
+                expired = false;
+                Thread.interrupted();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return delegate.getConnection(username, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(delegate)) {
+            return iface.cast(delegate);
+        }
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+}
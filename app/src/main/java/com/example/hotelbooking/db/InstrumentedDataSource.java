@@ -0,0 +1,209 @@
+package com.example.hotelbooking.db;
+
+import com.example.hotelbooking.metrics.Histogram;
+import com.example.hotelbooking.metrics.Labels;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * Data source that times connection checkout and every statement executed on its connections.
+ *
+ * Checkout wait is recorded in {@code db.checkout.wait} and execution time in
+ * {@code db.statement.latency}, both labelled with the pool, and each execution is also recorded
+ * against its SQL template in the {@link StatementProfiler}. Execution time covers the
+ * {@code execute} call, not iterating the rows of a result set. Connections and statements are
+ * JDK proxies, so calls other than prepare and execute pass straight through.
+ */
+public class InstrumentedDataSource implements DataSource {
+    private final String poolName;
+    private final DataSource delegate;
+    private final StatementProfiler profiler;
+    private final Histogram checkoutWait;
+    private final Histogram statementLatency;
+
+    public InstrumentedDataSource(String poolName, DataSource delegate) {
+        this(poolName, delegate, StatementProfiler.getInstance());
+    }
+
+    InstrumentedDataSource(String poolName, DataSource delegate, StatementProfiler profiler) {
+        this.poolName = poolName;
+        this.delegate = delegate;
+        this.profiler = profiler;
+        MetricsRegistry metricsRegistry = MetricsRegistry.getInstance();
+        Labels labels = Labels.of("pool", poolName);
+        this.checkoutWait = metricsRegistry.histogram("db.checkout.wait", labels);
+        this.statementLatency = metricsRegistry.histogram("db.statement.latency", labels);
+        profiler.registerPool(poolName, checkoutWait);
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection;
+        try {
+            connection = delegate.getConnection();
+        } finally {
+            checkoutWait.recordNanos(System.nanoTime() - start);
+        }
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return delegate.getConnection(username, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(delegate)) {
+            return iface.cast(delegate);
+        }
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return proxy(PreparedStatement.class, new StatementHandler(result, (String) args[0]));
+                case "prepareCall":
+                    return proxy(CallableStatement.class, new StatementHandler(result, (String) args[0]));
+                case "createStatement":
+                    return proxy(Statement.class, new StatementHandler(result, null));
+                default:
+                    return result;
+            }
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Object target;
+        // Null for plain statements, whose SQL comes with each execute call
+        private final String sql;
+        private final StatementStats stats;
+        // Bound parameters by 1-based index, kept for explaining a slow execution
+        private Object[] parameters;
+        private int parameterCount;
+
+        StatementHandler(Object target, String sql) {
+            this.target = target;
+            this.sql = sql;
+            this.stats = sql == null ? null : profiler.statsFor(sql);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (sql != null && name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer
+                    && method.getDeclaringClass() == PreparedStatement.class) {
+                // setNull's second argument is the SQL type code, not a value
+                bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameterCount = 0;
+            }
+            return InstrumentedDataSource.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String executed = sql;
+            StatementStats executedStats = stats;
+            if (executed == null) {
+                if (args == null || !(args[0] instanceof String)) {
+                    // A batch of plain statements has no single SQL text to attribute it to
+                    return InstrumentedDataSource.invoke(target, method, args);
+                }
+                executed = (String) args[0];
+                executedStats = profiler.statsFor(executed);
+            }
+            long start = System.nanoTime();
+            try {
+                return InstrumentedDataSource.invoke(target, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                statementLatency.recordNanos(elapsed);
+                profiler.record(executedStats, elapsed, executed, parameters, parameterCount, delegate);
+            }
+        }
+
+        private void bind(int index, Object value) {
+            if (parameters == null) {
+                parameters = new Object[Math.max(index + 1, 8)];
+            } else if (index >= parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index + 1, parameters.length * 2));
+            }
+            parameters[index] = value;
+            parameterCount = Math.max(parameterCount, index);
+        }
+    }
+}
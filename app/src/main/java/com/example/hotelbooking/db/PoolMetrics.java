@@ -0,0 +1,100 @@
+package com.example.hotelbooking.db;
+
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.Histogram;
+import com.example.hotelbooking.metrics.Labels;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+import com.example.hotelbooking.metrics.WindowedCounter;
+import com.example.hotelbooking.metrics.WindowedRatio;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hikari metrics tracker exporting one pool into the metrics registry: connection counts as
+ * {@code db.pool.<pool>.active}, {@code .idle}, {@code .pending}, {@code .total} and {@code .max}
+ * gauges, and the time to acquire, use and open a connection as {@code db.pool.acquire},
+ * {@code db.pool.usage} and {@code db.pool.connect} histograms labelled by pool.
+ *
+ * Acquires slower than {@code hotel.db.pool.slowAcquireMs} are also counted per second, giving
+ * {@code db.pool.slow_acquire_ratio}, which {@link PoolSizeController} reads to grow the pool.
+ * Hikari's acquire time is the wait inside the pool; {@code db.checkout.wait} measured by
+ * {@link InstrumentedDataSource} adds the caller's side on top.
+ */
+public class PoolMetrics implements IMetricsTracker {
+    private static final long SLOW_ACQUIRE_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("hotel.db.pool.slowAcquireMs", 10));
+
+    private final PoolStats poolStats;
+    private final Histogram acquire;
+    private final Histogram usage;
+    private final Histogram connect;
+    private final Counter timeouts;
+    private final WindowedCounter acquires;
+    private final WindowedCounter slowAcquires;
+    private final WindowedRatio slowAcquireRatio;
+
+    /**
+     * Signature of {@link com.zaxxer.hikari.metrics.MetricsTrackerFactory}, so
+     * {@code PoolMetrics::new} can be set on a Hikari config.
+     */
+    public PoolMetrics(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        MetricsRegistry metricsRegistry = MetricsRegistry.getInstance();
+        Labels labels = Labels.of("pool", poolName);
+        this.acquire = metricsRegistry.histogram("db.pool.acquire", labels);
+        this.usage = metricsRegistry.histogram("db.pool.usage", labels);
+        this.connect = metricsRegistry.histogram("db.pool.connect", labels);
+        this.timeouts = metricsRegistry.counter("db.pool.timeouts", labels);
+        this.acquires = metricsRegistry.windowedCounter("db.pool.acquires", labels);
+        this.slowAcquires = metricsRegistry.windowedCounter("db.pool.slow_acquires", labels);
+        this.slowAcquireRatio = metricsRegistry.ratio("db.pool.slow_acquire_ratio", labels, slowAcquires, acquires);
+
+        String prefix = "db.pool." + poolName;
+        metricsRegistry.registerGauge(prefix + ".active", poolStats::getActiveConnections);
+        metricsRegistry.registerGauge(prefix + ".idle", poolStats::getIdleConnections);
+        metricsRegistry.registerGauge(prefix + ".pending", poolStats::getPendingThreads);
+        metricsRegistry.registerGauge(prefix + ".total", poolStats::getTotalConnections);
+        metricsRegistry.registerGauge(prefix + ".max", poolStats::getMaxConnections);
+    }
+
+    @Override
+    public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+        connect.record(TimeUnit.MILLISECONDS.toMicros(connectionCreatedMillis));
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquire.recordNanos(elapsedAcquiredNanos);
+        acquires.increment();
+        if (elapsedAcquiredNanos >= SLOW_ACQUIRE_NANOS) {
+            slowAcquires.increment();
+        }
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usage.record(TimeUnit.MILLISECONDS.toMicros(elapsedBorrowedMillis));
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        // Hikari has already recorded the failed wait as an acquire
+        timeouts.increment();
+    }
+
+    public int getActiveConnections() {
+        return poolStats.getActiveConnections();
+    }
+
+    public int getPendingThreads() {
+        return poolStats.getPendingThreads();
+    }
+
+    /**
+     * Share of connection acquires slower than {@code hotel.db.pool.slowAcquireMs}.
+     */
+    public WindowedRatio getSlowAcquireRatio() {
+        return slowAcquireRatio;
+    }
+}
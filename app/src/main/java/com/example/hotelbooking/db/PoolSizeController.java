@@ -0,0 +1,113 @@
+package com.example.hotelbooking.db;
+
+import com.example.hotelbooking.logging.AsyncLogger;
+import com.example.hotelbooking.metrics.WindowedCounter;
+import com.zaxxer.hikari.HikariConfigMXBean;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resizes a Hikari pool at runtime, within fixed bounds, from how long callers wait for a connection.
+ *
+ * Every {@code hotel.db.pool.autosize.intervalMs} the pool grows by a quarter when threads are
+ * waiting for a connection or more than 1% of recent acquires were slow, and shrinks by an eighth
+ * once it has stayed no more than half busy for twelve intervals, a minute by default. Growing takes effect on the next wait;
+ * shrinking only stops new connections from being opened, and Hikari retires the extra idle ones
+ * after its idle timeout.
+ */
+public class PoolSizeController implements AutoCloseable {
+    static final long INTERVAL_MS = Long.getLong("hotel.db.pool.autosize.intervalMs", 5000);
+    private static final double SLOW_ACQUIRE_LIMIT = 0.01;
+    // Consecutive quiet intervals, about a minute at the default interval, before shrinking
+    private static final int SHRINK_AFTER_INTERVALS = 12;
+
+    private final HikariConfigMXBean pool;
+    private final PoolMetrics metrics;
+    private final int minSize;
+    private final int maxSize;
+    private final int minimumIdle;
+    private final int window;
+    private final AsyncLogger log = AsyncLogger.getInstance();
+    private ScheduledExecutorService scheduler;
+    private int quietIntervals;
+
+    public PoolSizeController(HikariConfigMXBean pool, PoolMetrics metrics, int minSize, int maxSize) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Pool size bounds must satisfy 1 <= min <= max, got " + minSize + ".." + maxSize);
+        }
+        this.pool = pool;
+        this.metrics = metrics;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.minimumIdle = pool.getMinimumIdle();
+        this.window = (int) Math.max(WindowedCounter.ONE_SECOND,
+                Math.min(WindowedCounter.FIVE_MINUTES, TimeUnit.MILLISECONDS.toSeconds(INTERVAL_MS)));
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "pool-size-" + pool.getPoolName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                adjust();
+            } catch (RuntimeException e) {
+                // A failed decision must not cancel the schedule
+                log.error("Pool sizing failed for " + pool.getPoolName(), e);
+            }
+        }, INTERVAL_MS, INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes one sizing decision and returns the pool's maximum size after it.
+     */
+    synchronized int adjust() {
+        int current = pool.getMaximumPoolSize();
+        double slowAcquires = metrics.getSlowAcquireRatio().get(window);
+        boolean starved = metrics.getPendingThreads() > 0
+                || (!Double.isNaN(slowAcquires) && slowAcquires > SLOW_ACQUIRE_LIMIT);
+        int target = current;
+        if (starved) {
+            quietIntervals = 0;
+            target = Math.min(maxSize, current + Math.max(1, current / 4));
+        } else if (metrics.getActiveConnections() <= current / 2) {
+            if (++quietIntervals >= SHRINK_AFTER_INTERVALS) {
+                quietIntervals = 0;
+                target = Math.max(minSize, current - Math.max(1, current / 8));
+            }
+        } else {
+            quietIntervals = 0;
+        }
+        if (target != current) {
+            resize(current, target);
+        }
+        return target;
+    }
+
+    private void resize(int current, int target) {
+        // Hikari keeps minimumIdle connections open, so it must not exceed the new maximum
+        if (target < current) {
+            pool.setMinimumIdle(Math.min(minimumIdle, target));
+            pool.setMaximumPoolSize(target);
+        } else {
+            pool.setMaximumPoolSize(target);
+            pool.setMinimumIdle(Math.min(minimumIdle, target));
+        }
+        log.warn("Resized pool " + pool.getPoolName() + " from " + current + " to " + target + " connections");
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
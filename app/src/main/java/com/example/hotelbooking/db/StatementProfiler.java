@@ -0,0 +1,187 @@
+package com.example.hotelbooking.db;
+
+import com.example.hotelbooking.logging.AsyncLogger;
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.Histogram;
+import com.example.hotelbooking.metrics.JvmMetrics;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Statement timings by SQL template, fed by {@link InstrumentedDataSource}.
+ *
+ * Templates are the SQL with literals replaced by {@code ?}, whitespace collapsed and IN lists of
+ * any length folded together, so every execution of a DAO query lands in the same entry. A
+ * statement slower than {@code hotel.db.slowStatementMs} is logged and, at most once a minute per
+ * template, explained on a background thread with its parameters: queries with
+ * {@code EXPLAIN ANALYZE}, which runs them again, and writes with a plain {@code EXPLAIN}, which
+ * does not. Captures that find the queue full are dropped.
+ */
+public final class StatementProfiler {
+    private static final long SLOW_THRESHOLD_MS = Long.getLong("hotel.db.slowStatementMs", 100);
+    private static final long PLAN_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    // Beyond this many templates, further ones share one entry rather than growing without bound
+    private static final int MAX_TEMPLATES = 500;
+    private static final int MAX_CACHED_SQL = 2000;
+    private static final String OTHER = "(other)";
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.?])\\d+(?:\\.\\d+)?");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    private static final StatementProfiler INSTANCE = new StatementProfiler(TimeUnit.MILLISECONDS.toNanos(SLOW_THRESHOLD_MS));
+
+    private final long slowThresholdNanos;
+    private final Map<String, StatementStats> byTemplate = new ConcurrentHashMap<>();
+    // Raw SQL to its entry, so preparing a statement normalises its text only the first time
+    private final Map<String, StatementStats> bySql = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> checkoutWaits = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor planCapture;
+    private final Counter slowStatements = MetricsRegistry.getInstance().counter("db.statements.slow");
+    private final AsyncLogger log = AsyncLogger.getInstance();
+
+    StatementProfiler(long slowThresholdNanos) {
+        this.slowThresholdNanos = slowThresholdNanos;
+        this.planCapture = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), r -> {
+            Thread thread = new Thread(r, "plan-capture");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+        JvmMetrics.getInstance().monitorExecutor("plan-capture", planCapture);
+    }
+
+    public static StatementProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    public long getSlowThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    /**
+     * Entries for every template seen so far, in no particular order.
+     */
+    public Collection<StatementStats> getStatements() {
+        return byTemplate.values();
+    }
+
+    /**
+     * The {@code limit} entries ranking highest by {@code order}.
+     */
+    public List<StatementStats> top(Comparator<Histogram.Snapshot> order, int limit) {
+        List<StatementStats> statements = new ArrayList<>(byTemplate.values());
+        // Snapshots are taken once each, since merging a histogram is not free
+        Map<StatementStats, Histogram.Snapshot> snapshots = new HashMap<>();
+        statements.forEach(stats -> snapshots.put(stats, stats.snapshot()));
+        statements.sort(Comparator.comparing(snapshots::get, order.reversed()));
+        return statements.subList(0, Math.min(limit, statements.size()));
+    }
+
+    /**
+     * Time spent waiting for a connection from each instrumented pool.
+     */
+    public Map<String, Histogram> getCheckoutWaits() {
+        return checkoutWaits;
+    }
+
+    void registerPool(String poolName, Histogram checkoutWait) {
+        checkoutWaits.put(poolName, checkoutWait);
+    }
+
+    StatementStats statsFor(String sql) {
+        StatementStats stats = bySql.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        stats = statsForTemplate(template(sql));
+        if (bySql.size() < MAX_CACHED_SQL) {
+            bySql.put(sql, stats);
+        }
+        return stats;
+    }
+
+    private StatementStats statsForTemplate(String template) {
+        StatementStats stats = byTemplate.get(template);
+        if (stats != null) {
+            return stats;
+        }
+        String key = byTemplate.size() < MAX_TEMPLATES ? template : OTHER;
+        return byTemplate.computeIfAbsent(key, StatementStats::new);
+    }
+
+    /**
+     * Records one execution, and for a slow one logs it and schedules a plan capture that runs
+     * the SQL with the first {@code parameterCount} of {@code parameters} (1-based, null when none
+     * are bound) on a connection from {@code planSource}.
+     */
+    void record(StatementStats stats, long nanos, String sql, Object[] parameters, int parameterCount,
+                DataSource planSource) {
+        stats.record(nanos);
+        if (nanos < slowThresholdNanos) {
+            return;
+        }
+        stats.countSlow();
+        slowStatements.increment();
+        log.warn("Slow statement (" + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms): " + stats.getTemplate());
+        String explain = explainFor(sql);
+        if (explain != null && stats.claimPlanCapture(System.nanoTime(), PLAN_INTERVAL_NANOS)) {
+            Object[] captured = parameters == null ? new Object[0] : Arrays.copyOf(parameters, parameterCount + 1);
+            planCapture.execute(() -> stats.setPlan(capturePlan(explain, captured, planSource)));
+        }
+    }
+
+    private static String explainFor(String sql) {
+        String statement = sql.trim().toUpperCase(Locale.ROOT);
+        if (statement.startsWith("SELECT") || statement.startsWith("WITH")) {
+            return "EXPLAIN ANALYZE " + sql;
+        }
+        if (statement.startsWith("INSERT") || statement.startsWith("UPDATE")
+                || statement.startsWith("DELETE") || statement.startsWith("MERGE")) {
+            return "EXPLAIN " + sql;
+        }
+        return null;
+    }
+
+    private String capturePlan(String explain, Object[] parameters, DataSource planSource) {
+        try (Connection conn = planSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(explain)) {
+            for (int i = 1; i < parameters.length; i++) {
+                ps.setObject(i, parameters[i]);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString().trim();
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Plan capture failed for " + explain + ": " + e.getMessage());
+            return "Plan capture failed: " + e.getMessage();
+        }
+    }
+
+    static String template(String sql) {
+        String template = STRING_LITERAL.matcher(sql).replaceAll("?");
+        template = NUMBER_LITERAL.matcher(template).replaceAll("?");
+        template = WHITESPACE.matcher(template).replaceAll(" ").trim();
+        return PARAMETER_LIST.matcher(template).replaceAll("?, ...");
+    }
+}
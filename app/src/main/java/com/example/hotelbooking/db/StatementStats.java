@@ -0,0 +1,69 @@
+package com.example.hotelbooking.db;
+
+import com.example.hotelbooking.metrics.Histogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution times of one SQL template since startup, with the most recent plan captured for a
+ * slow execution of it.
+ */
+public final class StatementStats {
+    private final String template;
+    private final Histogram latency = new Histogram();
+    private final LongAdder slowCount = new LongAdder();
+    private final AtomicLong nextPlanCapture = new AtomicLong(Long.MIN_VALUE);
+    private volatile String plan;
+    private volatile long planCapturedAtMillis;
+
+    StatementStats(String template) {
+        this.template = template;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public Histogram.Snapshot snapshot() {
+        return latency.snapshot();
+    }
+
+    public long getSlowCount() {
+        return slowCount.sum();
+    }
+
+    /**
+     * Plan of the latest captured slow execution, or null when none has been captured.
+     */
+    public String getPlan() {
+        return plan;
+    }
+
+    public long getPlanCapturedAtMillis() {
+        return planCapturedAtMillis;
+    }
+
+    void record(long nanos) {
+        latency.recordNanos(nanos);
+    }
+
+    void countSlow() {
+        slowCount.increment();
+    }
+
+    /**
+     * Claims the next plan capture if none was claimed in the last {@code intervalNanos}, so a
+     * statement that is slow on every call is explained at most once per interval.
+     */
+    boolean claimPlanCapture(long nowNanos, long intervalNanos) {
+        long next = nextPlanCapture.get();
+        return (next == Long.MIN_VALUE || nowNanos - next >= 0)
+                && nextPlanCapture.compareAndSet(next, nowNanos + intervalNanos);
+    }
+
+    void setPlan(String plan) {
+        this.planCapturedAtMillis = System.currentTimeMillis();
+        this.plan = plan;
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.hotelbooking.dto;
+
+import com.example.hotelbooking.model.Booking.BookingStatus;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of the booking DTOs for internal service clients.
+ * Same fields and semantics as the JSON documents, but dates travel as epoch-day ints
+ * and prices as cent longs, so neither side parses text.
+ *
+ * Layout (big-endian):
+ *   request:  presence byte, userId long, roomId long, checkIn int, checkOut int
+ *   response: presence byte, id long, checkIn int, checkOut int, totalPrice cents long, status byte,
+ *             then userName, hotelName, roomNumber as (short length, UTF-8 bytes), length -1 for null
+ *   list:     count int, then that many responses
+ * Absent fields still occupy their slot so the fixed part can be read at constant offsets.
+ */
+public class BookingBinaryCodec {
+    public static final String CONTENT_TYPE = "application/vnd.hotel-booking.v1+binary";
+
+    private static final int REQUEST_SIZE = 1 + 8 + 8 + 4 + 4;
+    private static final int RESPONSE_FIXED_SIZE = 1 + 8 + 4 + 4 + 8 + 1;
+    private static final int PRICE_SCALE = 2;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_USER_ID = 1 << 1;
+    private static final int HAS_ROOM_ID = 1 << 2;
+    private static final int HAS_CHECK_IN = 1 << 3;
+    private static final int HAS_CHECK_OUT = 1 << 4;
+    private static final int HAS_TOTAL_PRICE = 1 << 5;
+    private static final int HAS_STATUS = 1 << 6;
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    public byte[] writeRequest(BookingRequest request) {
+        ByteBuffer buffer = ByteBuffer.allocate(REQUEST_SIZE);
+        int presence = (request.getUserId() != null ? HAS_USER_ID : 0)
+                | (request.getRoomId() != null ? HAS_ROOM_ID : 0)
+                | (request.getCheckInDate() != null ? HAS_CHECK_IN : 0)
+                | (request.getCheckOutDate() != null ? HAS_CHECK_OUT : 0);
+        buffer.put((byte) presence);
+        buffer.putLong(request.getUserId() != null ? request.getUserId() : 0L);
+        buffer.putLong(request.getRoomId() != null ? request.getRoomId() : 0L);
+        buffer.putInt(epochDay(request.getCheckInDate()));
+        buffer.putInt(epochDay(request.getCheckOutDate()));
+        return buffer.array();
+    }
+
+    public BookingRequest readRequest(byte[] body) throws IOException {
+        if (body.length != REQUEST_SIZE) {
+            throw new IOException("Binary booking request must be " + REQUEST_SIZE + " bytes, got " + body.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        int presence = buffer.get();
+        long userId = buffer.getLong();
+        long roomId = buffer.getLong();
+        int checkIn = buffer.getInt();
+        int checkOut = buffer.getInt();
+
+        BookingRequest request = new BookingRequest();
+        request.setUserId((presence & HAS_USER_ID) != 0 ? userId : null);
+        request.setRoomId((presence & HAS_ROOM_ID) != 0 ? roomId : null);
+        try {
+            request.setCheckInDate((presence & HAS_CHECK_IN) != 0 ? LocalDate.ofEpochDay(checkIn) : null);
+            request.setCheckOutDate((presence & HAS_CHECK_OUT) != 0 ? LocalDate.ofEpochDay(checkOut) : null);
+        } catch (DateTimeException e) {
+            throw new IOException("Invalid date in binary booking request", e);
+        }
+        return request;
+    }
+
+    public byte[] writeResponse(BookingResponse response) {
+        byte[][] strings = strings(response);
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize(strings));
+        writeResponse(buffer, response, strings);
+        return buffer.array();
+    }
+
+    public byte[] writeResponses(List<BookingResponse> responses) {
+        byte[][][] strings = new byte[responses.size()][][];
+        int size = 4;
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = strings(responses.get(i));
+            size += encodedSize(strings[i]);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(strings.length);
+        for (int i = 0; i < strings.length; i++) {
+            writeResponse(buffer, responses.get(i), strings[i]);
+        }
+        return buffer.array();
+    }
+
+    public BookingResponse readResponse(byte[] body) throws IOException {
+        try {
+            return readResponse(ByteBuffer.wrap(body));
+        } catch (BufferUnderflowException | IllegalArgumentException | DateTimeException e) {
+            throw new IOException("Malformed binary booking response", e);
+        }
+    }
+
+    public List<BookingResponse> readResponses(byte[] body) throws IOException {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(body);
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining() / RESPONSE_FIXED_SIZE) {
+                throw new IOException("Invalid binary booking list size: " + count);
+            }
+            List<BookingResponse> responses = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                responses.add(readResponse(buffer));
+            }
+            return responses;
+        } catch (BufferUnderflowException | IllegalArgumentException | DateTimeException e) {
+            throw new IOException("Malformed binary booking list", e);
+        }
+    }
+
+    private void writeResponse(ByteBuffer buffer, BookingResponse response, byte[][] strings) {
+        int presence = (response.getId() != null ? HAS_ID : 0)
+                | (response.getCheckInDate() != null ? HAS_CHECK_IN : 0)
+                | (response.getCheckOutDate() != null ? HAS_CHECK_OUT : 0)
+                | (response.getTotalPrice() != null ? HAS_TOTAL_PRICE : 0)
+                | (response.getStatus() != null ? HAS_STATUS : 0);
+        buffer.put((byte) presence);
+        buffer.putLong(response.getId() != null ? response.getId() : 0L);
+        buffer.putInt(epochDay(response.getCheckInDate()));
+        buffer.putInt(epochDay(response.getCheckOutDate()));
+        buffer.putLong(response.getTotalPrice() != null ? toCents(response.getTotalPrice()) : 0L);
+        buffer.put((byte) (response.getStatus() != null ? response.getStatus().ordinal() : 0));
+        for (byte[] string : strings) {
+            if (string == null) {
+                buffer.putShort((short) -1);
+            } else {
+                buffer.putShort((short) string.length);
+                buffer.put(string);
+            }
+        }
+    }
+
+    private BookingResponse readResponse(ByteBuffer buffer) throws IOException {
+        int presence = buffer.get();
+        long id = buffer.getLong();
+        int checkIn = buffer.getInt();
+        int checkOut = buffer.getInt();
+        long cents = buffer.getLong();
+        int status = buffer.get();
+        if (status < 0 || status >= STATUSES.length) {
+            throw new IOException("Unknown booking status: " + status);
+        }
+
+        BookingResponse response = new BookingResponse();
+        response.setId((presence & HAS_ID) != 0 ? id : null);
+        response.setCheckInDate((presence & HAS_CHECK_IN) != 0 ? LocalDate.ofEpochDay(checkIn) : null);
+        response.setCheckOutDate((presence & HAS_CHECK_OUT) != 0 ? LocalDate.ofEpochDay(checkOut) : null);
+        response.setTotalPrice((presence & HAS_TOTAL_PRICE) != 0 ? BigDecimal.valueOf(cents, PRICE_SCALE) : null);
+        response.setStatus((presence & HAS_STATUS) != 0 ? STATUSES[status] : null);
+        response.setUserName(readString(buffer));
+        response.setHotelName(readString(buffer));
+        response.setRoomNumber(readString(buffer));
+        return response;
+    }
+
+    private static byte[][] strings(BookingResponse response) {
+        return new byte[][] {
+            utf8(response.getUserName()),
+            utf8(response.getHotelName()),
+            utf8(response.getRoomNumber())
+        };
+    }
+
+    private static int encodedSize(byte[][] strings) {
+        int size = RESPONSE_FIXED_SIZE;
+        for (byte[] string : strings) {
+            size += 2 + (string != null ? string.length : 0);
+        }
+        return size;
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("String field too long for binary encoding: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date != null ? Math.toIntExact(date.toEpochDay()) : 0;
+    }
+
+    private static long toCents(BigDecimal price) {
+        // Prices are DECIMAL(10,2); anything finer than a cent cannot be represented and is rejected
+        return price.setScale(PRICE_SCALE).unscaledValue().longValueExact();
+    }
+}
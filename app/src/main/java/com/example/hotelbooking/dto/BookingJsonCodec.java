@@ -0,0 +1,317 @@
+package com.example.hotelbooking.dto;
+
+import com.example.hotelbooking.model.Booking.BookingStatus;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Hand-written streaming JSON codec for the booking DTOs.
+ * Produces the same documents as the ObjectMapper setup it replaces (ISO dates, plain number prices),
+ * but skips bean introspection and writes through pre-encoded field names into per-thread buffers.
+ */
+public class BookingJsonCodec {
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString USER_NAME = new SerializedString("userName");
+    private static final SerializableString HOTEL_NAME = new SerializedString("hotelName");
+    private static final SerializableString ROOM_NUMBER = new SerializedString("roomNumber");
+    private static final SerializableString CHECK_IN_DATE = new SerializedString("checkInDate");
+    private static final SerializableString CHECK_OUT_DATE = new SerializedString("checkOutDate");
+    private static final SerializableString TOTAL_PRICE = new SerializedString("totalPrice");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString BOOKINGS = new SerializedString("bookings");
+    private static final SerializableString MISSING_IDS = new SerializedString("missingIds");
+
+    private static final int ISO_DATE_LENGTH = 10;
+
+    // Output buffer and date scratch space, reused by every encode on the same thread
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public byte[] writeResponse(BookingResponse response) throws IOException {
+        Scratch scratch = SCRATCH.get().begin();
+        try (JsonGenerator gen = jsonFactory.createGenerator(scratch.buffer)) {
+            writeResponse(gen, response, scratch.dateChars);
+        }
+        return scratch.drain();
+    }
+
+    public byte[] writeResponses(List<BookingResponse> responses) throws IOException {
+        Scratch scratch = SCRATCH.get().begin();
+        try (JsonGenerator gen = jsonFactory.createGenerator(scratch.buffer)) {
+            gen.writeStartArray();
+            for (int i = 0; i < responses.size(); i++) {
+                writeResponse(gen, responses.get(i), scratch.dateChars);
+            }
+            gen.writeEndArray();
+        }
+        return scratch.drain();
+    }
+
+    /**
+     * Writes a multi-get result: {"bookings": [...], "missingIds": [...]}.
+     */
+    public byte[] writeBatch(List<BookingResponse> responses, List<Long> missingIds) throws IOException {
+        Scratch scratch = SCRATCH.get().begin();
+        try (JsonGenerator gen = jsonFactory.createGenerator(scratch.buffer)) {
+            gen.writeStartObject();
+            gen.writeFieldName(BOOKINGS);
+            gen.writeStartArray();
+            for (int i = 0; i < responses.size(); i++) {
+                writeResponse(gen, responses.get(i), scratch.dateChars);
+            }
+            gen.writeEndArray();
+            gen.writeFieldName(MISSING_IDS);
+            gen.writeStartArray();
+            for (int i = 0; i < missingIds.size(); i++) {
+                gen.writeNumber(missingIds.get(i));
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+        return scratch.drain();
+    }
+
+    /**
+     * Writes one response object into an open generator, for callers that embed bookings in a larger document.
+     */
+    public void writeResponse(JsonGenerator gen, BookingResponse response) throws IOException {
+        writeResponse(gen, response, SCRATCH.get().dateChars);
+    }
+
+    public BookingRequest readRequest(byte[] body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return readRequest(parser);
+        }
+    }
+
+    public BookingRequest readRequest(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return readRequest(parser);
+        }
+    }
+
+    public BookingResponse readResponse(byte[] body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            return readResponseObject(parser);
+        }
+    }
+
+    private void writeResponse(JsonGenerator gen, BookingResponse response, char[] dateChars) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(ID);
+        if (response.getId() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(response.getId());
+        }
+        gen.writeFieldName(USER_NAME);
+        gen.writeString(response.getUserName());
+        gen.writeFieldName(HOTEL_NAME);
+        gen.writeString(response.getHotelName());
+        gen.writeFieldName(ROOM_NUMBER);
+        gen.writeString(response.getRoomNumber());
+        gen.writeFieldName(CHECK_IN_DATE);
+        writeDate(gen, response.getCheckInDate(), dateChars);
+        gen.writeFieldName(CHECK_OUT_DATE);
+        writeDate(gen, response.getCheckOutDate(), dateChars);
+        gen.writeFieldName(TOTAL_PRICE);
+        gen.writeNumber(response.getTotalPrice());
+        gen.writeFieldName(STATUS);
+        gen.writeString(response.getStatus() == null ? null : response.getStatus().name());
+        gen.writeEndObject();
+    }
+
+    private BookingRequest readRequest(JsonParser parser) throws IOException {
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+        BookingRequest request = new BookingRequest();
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "userId":
+                    request.setUserId(readLong(parser, value));
+                    break;
+                case "roomId":
+                    request.setRoomId(readLong(parser, value));
+                    break;
+                case "checkInDate":
+                    request.setCheckInDate(readDate(parser, value));
+                    break;
+                case "checkOutDate":
+                    request.setCheckOutDate(readDate(parser, value));
+                    break;
+                default:
+                    // Unknown properties are ignored, as with the lenient ObjectMapper
+                    parser.skipChildren();
+            }
+        }
+        expect(parser, token, JsonToken.END_OBJECT);
+        return request;
+    }
+
+    private BookingResponse readResponseObject(JsonParser parser) throws IOException {
+        BookingResponse response = new BookingResponse();
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id":
+                    response.setId(readLong(parser, value));
+                    break;
+                case "userName":
+                    response.setUserName(value == JsonToken.VALUE_NULL ? null : parser.getText());
+                    break;
+                case "hotelName":
+                    response.setHotelName(value == JsonToken.VALUE_NULL ? null : parser.getText());
+                    break;
+                case "roomNumber":
+                    response.setRoomNumber(value == JsonToken.VALUE_NULL ? null : parser.getText());
+                    break;
+                case "checkInDate":
+                    response.setCheckInDate(readDate(parser, value));
+                    break;
+                case "checkOutDate":
+                    response.setCheckOutDate(readDate(parser, value));
+                    break;
+                case "totalPrice":
+                    response.setTotalPrice(value == JsonToken.VALUE_NULL ? null : parser.getDecimalValue());
+                    break;
+                case "status":
+                    response.setStatus(value == JsonToken.VALUE_NULL ? null : BookingStatus.valueOf(parser.getText()));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        expect(parser, token, JsonToken.END_OBJECT);
+        return response;
+    }
+
+    private static Long readLong(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_NUMBER_INT:
+                return parser.getLongValue();
+            case VALUE_STRING:
+                try {
+                    return Long.parseLong(parser.getText().trim());
+                } catch (NumberFormatException e) {
+                    throw new JsonParseException(parser, "Invalid number for '" + parser.getCurrentName() + "'");
+                }
+            default:
+                throw new JsonParseException(parser, "Expected a number for '" + parser.getCurrentName() + "'");
+        }
+    }
+
+    private static LocalDate readDate(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.START_ARRAY) {
+            // [year, month, day], the shape written by JavaTimeModule with timestamps enabled
+            int year = nextInt(parser);
+            int month = nextInt(parser);
+            int day = nextInt(parser);
+            expect(parser, parser.nextToken(), JsonToken.END_ARRAY);
+            return LocalDate.of(year, month, day);
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            throw new JsonParseException(parser, "Expected an ISO date for '" + parser.getCurrentName() + "'");
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        try {
+            if (length == ISO_DATE_LENGTH && chars[offset + 4] == '-' && chars[offset + 7] == '-') {
+                return LocalDate.of(
+                        digits(chars, offset, 4),
+                        digits(chars, offset + 5, 2),
+                        digits(chars, offset + 8, 2));
+            }
+            return LocalDate.parse(parser.getText());
+        } catch (RuntimeException e) {
+            throw new JsonParseException(parser, "Invalid date for '" + parser.getCurrentName() + "': " + parser.getText());
+        }
+    }
+
+    private static int nextInt(JsonParser parser) throws IOException {
+        expect(parser, parser.nextToken(), JsonToken.VALUE_NUMBER_INT);
+        return parser.getIntValue();
+    }
+
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException();
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void writeDate(JsonGenerator gen, LocalDate date, char[] chars) throws IOException {
+        if (date == null) {
+            gen.writeNull();
+            return;
+        }
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            gen.writeString(date.toString());
+            return;
+        }
+        chars[0] = (char) ('0' + year / 1000);
+        chars[1] = (char) ('0' + year / 100 % 10);
+        chars[2] = (char) ('0' + year / 10 % 10);
+        chars[3] = (char) ('0' + year % 10);
+        chars[4] = '-';
+        chars[5] = (char) ('0' + date.getMonthValue() / 10);
+        chars[6] = (char) ('0' + date.getMonthValue() % 10);
+        chars[7] = '-';
+        chars[8] = (char) ('0' + date.getDayOfMonth() / 10);
+        chars[9] = (char) ('0' + date.getDayOfMonth() % 10);
+        gen.writeString(chars, 0, ISO_DATE_LENGTH);
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+        }
+    }
+
+    private static final class Scratch {
+        private final ByteArrayBuilder buffer = new ByteArrayBuilder(512);
+        private final char[] dateChars = new char[ISO_DATE_LENGTH];
+
+        private Scratch begin() {
+            // Drops anything left behind by an encode that failed halfway
+            buffer.reset();
+            return this;
+        }
+
+        private byte[] drain() {
+            try {
+                return buffer.toByteArray();
+            } finally {
+                buffer.reset();
+            }
+        }
+    }
+}
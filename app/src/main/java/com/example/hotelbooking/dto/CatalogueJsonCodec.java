@@ -0,0 +1,90 @@
+package com.example.hotelbooking.dto;
+
+import com.example.hotelbooking.model.Hotel;
+import com.example.hotelbooking.model.Room;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Streaming JSON writer for the hotel and room catalogue.
+ * Only runs when the catalogue is rebuilt, so unlike {@link BookingJsonCodec} it keeps no per-thread buffers.
+ */
+public class CatalogueJsonCodec {
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString ADDRESS = new SerializedString("address");
+    private static final SerializableString RATING = new SerializedString("rating");
+    private static final SerializableString ROOM_COUNT = new SerializedString("roomCount");
+    private static final SerializableString HOTEL_ID = new SerializedString("hotelId");
+    private static final SerializableString ROOMS = new SerializedString("rooms");
+    private static final SerializableString ROOM_NUMBER = new SerializedString("roomNumber");
+    private static final SerializableString ROOM_TYPE = new SerializedString("roomType");
+    private static final SerializableString PRICE_PER_NIGHT = new SerializedString("pricePerNight");
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * Writes the hotel list: [{"id", "name", "address", "rating", "roomCount"}, ...].
+     */
+    public byte[] writeHotels(Collection<Hotel> hotels) throws IOException {
+        ByteArrayBuilder buffer = new ByteArrayBuilder(Math.max(256, hotels.size() * 96));
+        try (JsonGenerator gen = jsonFactory.createGenerator(buffer)) {
+            gen.writeStartArray();
+            for (Hotel hotel : hotels) {
+                gen.writeStartObject();
+                gen.writeFieldName(ID);
+                gen.writeNumber(hotel.getId());
+                gen.writeFieldName(NAME);
+                gen.writeString(hotel.getName());
+                gen.writeFieldName(ADDRESS);
+                gen.writeString(hotel.getAddress());
+                gen.writeFieldName(RATING);
+                if (hotel.getRating() == null) {
+                    gen.writeNull();
+                } else {
+                    gen.writeNumber(hotel.getRating());
+                }
+                gen.writeFieldName(ROOM_COUNT);
+                gen.writeNumber(hotel.getRooms().size());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Writes one hotel's rooms: {"hotelId", "rooms": [{"id", "roomNumber", "roomType", "pricePerNight"}, ...]}.
+     */
+    public byte[] writeRooms(Hotel hotel) throws IOException {
+        ByteArrayBuilder buffer = new ByteArrayBuilder(Math.max(128, hotel.getRooms().size() * 96));
+        try (JsonGenerator gen = jsonFactory.createGenerator(buffer)) {
+            gen.writeStartObject();
+            gen.writeFieldName(HOTEL_ID);
+            gen.writeNumber(hotel.getId());
+            gen.writeFieldName(ROOMS);
+            gen.writeStartArray();
+            for (Room room : hotel.getRooms()) {
+                gen.writeStartObject();
+                gen.writeFieldName(ID);
+                gen.writeNumber(room.getId());
+                gen.writeFieldName(ROOM_NUMBER);
+                gen.writeString(room.getRoomNumber());
+                gen.writeFieldName(ROOM_TYPE);
+                gen.writeString(room.getRoomType());
+                gen.writeFieldName(PRICE_PER_NIGHT);
+                gen.writeNumber(room.getPricePerNight());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.hotelbooking.http;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Admin endpoints start recordings and expose internals, so they answer only to clients on this
+ * host unless {@code hotel.admin.allowRemote} is set.
+ */
+public final class AdminAccess {
+    private static final boolean ALLOW_REMOTE = Boolean.getBoolean("hotel.admin.allowRemote");
+
+    private AdminAccess() {
+    }
+
+    public static boolean isAllowed(HttpExchange exchange) {
+        if (ALLOW_REMOTE) {
+            return true;
+        }
+        InetSocketAddress remote = exchange.getRemoteAddress();
+        return remote != null && remote.getAddress() != null && remote.getAddress().isLoopbackAddress();
+    }
+}
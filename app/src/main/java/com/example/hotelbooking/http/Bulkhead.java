@@ -0,0 +1,115 @@
+package com.example.hotelbooking.http;
+
+import com.example.hotelbooking.logging.AsyncLogger;
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed set of worker threads with its own bounded queue.
+ * Work sent to one bulkhead can only exhaust that bulkhead, so a flood of one kind of request
+ * is rejected at its own door instead of queueing in front of everything else.
+ *
+ * Reports {@code bulkhead.<name>.active}, {@code .queued}, {@code .utilization_pct} and
+ * {@code .rejected} (and {@code .abandoned} at shutdown) to the metrics registry.
+ */
+public class Bulkhead {
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final MetricsRegistry metricsRegistry;
+    private final Counter rejected;
+    private final Counter abandoned;
+
+    public Bulkhead(String name, int threads, int queueCapacity) {
+        this.name = name;
+        this.metricsRegistry = MetricsRegistry.getInstance();
+        this.executor = new ThreadPoolExecutor(
+            threads, threads,
+            60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            namedThreads(name),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        String prefix = "bulkhead." + name;
+        this.rejected = metricsRegistry.counter(prefix + ".rejected");
+        this.abandoned = metricsRegistry.counter(prefix + ".abandoned");
+        metricsRegistry.registerGauge(prefix + ".active", executor::getActiveCount);
+        metricsRegistry.registerGauge(prefix + ".queued", () -> executor.getQueue().size());
+        metricsRegistry.registerGauge(prefix + ".utilization_pct",
+                () -> 100L * executor.getActiveCount() / executor.getMaximumPoolSize());
+    }
+
+    /**
+     * Runs the task on this bulkhead, or returns false when its threads and queue are all taken.
+     */
+    public boolean trySubmit(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return false;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Lets running tasks finish, giving up on any still queued.
+     * Called once the server has drained, so anything queued has already missed its deadline;
+     * queued {@link Task}s are told so they can answer their callers instead of leaving them waiting.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        List<Runnable> queued = new ArrayList<>();
+        executor.getQueue().drainTo(queued);
+        abandoned.add(queued.size());
+        for (Runnable task : queued) {
+            if (task instanceof Task) {
+                try {
+                    ((Task) task).abandon();
+                } catch (RuntimeException e) {
+                    AsyncLogger.getInstance().error("Failed to abandon a task queued on the " + name + " bulkhead", e);
+                }
+            }
+        }
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Work that has someone waiting on it, and can tell them it will not run.
+     */
+    public interface Task extends Runnable {
+        /**
+         * Called instead of {@link #run()} when the task is still queued at shutdown.
+         */
+        void abandon();
+    }
+
+    private static ThreadFactory namedThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.hotelbooking.http;
+
+import com.example.hotelbooking.context.Deadline;
+import com.example.hotelbooking.jfr.AdmissionEvent;
+import com.example.hotelbooking.logging.AsyncLogger;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Hands each request to the read or the write bulkhead by method, so slow writes
+ * can never take the threads that cached reads need.
+ * The request's deadline starts here, before it is queued, and travels with it to the worker thread.
+ */
+public class BulkheadHandler implements HttpHandler {
+    private static final byte[] REJECTED = "{\"error\": \"Service Temporarily Unavailable\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpHandler delegate;
+    private final Bulkhead reads;
+    private final Bulkhead writes;
+    private final AsyncLogger log = AsyncLogger.getInstance();
+
+    public BulkheadHandler(HttpHandler delegate, Bulkhead reads, Bulkhead writes) {
+        this.delegate = delegate;
+        this.reads = reads;
+        this.writes = writes;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        Deadline deadline = Deadline.fromHeader(exchange.getRequestHeaders().getFirst(Deadline.TIMEOUT_HEADER));
+        Bulkhead bulkhead = isRead(exchange.getRequestMethod()) ? reads : writes;
+        AdmissionEvent admission = AdmissionEvent.start();
+        boolean accepted = bulkhead.trySubmit(new Bulkhead.Task() {
+            @Override
+            public void run() {
+                admission.finish(AdmissionEvent.BULKHEAD_QUEUE, exchange.getRequestMethod(), exchange.getRequestURI().getPath(), true);
+                try (Deadline.Scope scope = deadline.attach()) {
+                    delegate.handle(exchange);
+                } catch (IOException e) {
+                    log.error("Failed to handle request on " + bulkhead.getName() + " bulkhead", e);
+                    exchange.close();
+                }
+            }
+
+            @Override
+            public void abandon() {
+                admission.finish(AdmissionEvent.BULKHEAD_QUEUE, exchange.getRequestMethod(), exchange.getRequestURI().getPath(), false);
+                // The server is going away, so the client should not reuse this connection
+                exchange.getResponseHeaders().set("Connection", "close");
+                try {
+                    reject(exchange);
+                } catch (IOException e) {
+                    exchange.close();
+                }
+            }
+        });
+        if (!accepted) {
+            admission.finish(AdmissionEvent.BULKHEAD_QUEUE, exchange.getRequestMethod(), exchange.getRequestURI().getPath(), false);
+            reject(exchange);
+        }
+    }
+
+    private void reject(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        exchange.sendResponseHeaders(503, REJECTED.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(REJECTED);
+        }
+        log.access(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), 503, 0);
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+}
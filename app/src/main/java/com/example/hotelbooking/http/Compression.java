@@ -0,0 +1,243 @@
+package com.example.hotelbooking.http;
+
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Negotiated gzip/deflate response compression.
+ *
+ * Bodies smaller than {@link #MIN_BYTES} are sent as-is, since compressing them costs more CPU than
+ * the bytes it saves. Each {@link Deflater} holds a few hundred KB of native memory, so instead of one
+ * per request thread they are pooled, with the pool sized to the cores that can actually run them.
+ *
+ * Configured with the {@code hotel.compression.minBytes} and {@code hotel.compression.level} system properties.
+ */
+public final class Compression {
+    public static final int MIN_BYTES = Integer.getInteger("hotel.compression.minBytes", 1024);
+    private static final int LEVEL = Integer.getInteger("hotel.compression.level", 6);
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int GZIP_TRAILER_LENGTH = 8;
+
+    // gzip wraps raw deflate output itself; "deflate" is the zlib format
+    private static final BlockingQueue<Deflater> RAW_DEFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final BlockingQueue<Deflater> ZLIB_DEFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final Counter[] COMPRESSED = compressedCounters();
+    private static final Counter BYTES_SAVED = MetricsRegistry.getInstance().counter("http.compression.bytes_saved");
+
+    public enum Encoding {
+        IDENTITY(null),
+        GZIP("gzip"),
+        DEFLATE("deflate");
+
+        private final String token;
+
+        Encoding(String token) {
+            this.token = token;
+        }
+
+        /**
+         * The Content-Encoding value, or null for an uncompressed body.
+         */
+        public String token() {
+            return token;
+        }
+    }
+
+    private Compression() {}
+
+    /**
+     * Picks the encoding for a body of the given size from the request's Accept-Encoding header.
+     */
+    public static Encoding select(HttpExchange exchange, int length) {
+        if (length < MIN_BYTES) {
+            return Encoding.IDENTITY;
+        }
+        return negotiate(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+    }
+
+    /**
+     * Chooses between gzip and deflate by q-value, preferring gzip on a tie.
+     * Codings with q=0 are refused and {@code *} stands for any coding not listed.
+     */
+    public static Encoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return Encoding.IDENTITY;
+        }
+        double gzip = -1;
+        double deflate = -1;
+        double any = -1;
+        int length = acceptEncoding.length();
+        int start = 0;
+        while (start < length) {
+            int end = acceptEncoding.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            int paramStart = acceptEncoding.indexOf(';', start);
+            boolean hasParams = paramStart >= 0 && paramStart < end;
+            int nameEnd = hasParams ? paramStart : end;
+            int nameStart = start;
+            while (nameStart < nameEnd && acceptEncoding.charAt(nameStart) == ' ') {
+                nameStart++;
+            }
+            while (nameEnd > nameStart && acceptEncoding.charAt(nameEnd - 1) == ' ') {
+                nameEnd--;
+            }
+            double q = hasParams ? qValue(acceptEncoding, paramStart, end) : 1.0;
+            if (isToken(acceptEncoding, nameStart, nameEnd, "gzip") || isToken(acceptEncoding, nameStart, nameEnd, "x-gzip")) {
+                gzip = q;
+            } else if (isToken(acceptEncoding, nameStart, nameEnd, "deflate")) {
+                deflate = q;
+            } else if (isToken(acceptEncoding, nameStart, nameEnd, "*")) {
+                any = q;
+            }
+            start = end + 1;
+        }
+        if (gzip < 0) {
+            gzip = any;
+        }
+        if (deflate < 0) {
+            deflate = any;
+        }
+        if (gzip <= 0 && deflate <= 0) {
+            return Encoding.IDENTITY;
+        }
+        return gzip >= deflate ? Encoding.GZIP : Encoding.DEFLATE;
+    }
+
+    private static boolean isToken(String header, int start, int end, String token) {
+        return end - start == token.length() && header.regionMatches(true, start, token, 0, token.length());
+    }
+
+    private static double qValue(String header, int paramStart, int end) {
+        int q = header.indexOf("q=", paramStart);
+        if (q < 0 || q >= end) {
+            return 1.0;
+        }
+        try {
+            return Double.parseDouble(header.substring(q + 2, end).trim());
+        } catch (NumberFormatException e) {
+            // Unparseable weights are ignored rather than failing the request
+            return 1.0;
+        }
+    }
+
+    public static byte[] compress(byte[] body, Encoding encoding) {
+        switch (encoding) {
+            case GZIP:
+                return deflate(body, RAW_DEFLATERS, true);
+            case DEFLATE:
+                return deflate(body, ZLIB_DEFLATERS, false);
+            default:
+                return body;
+        }
+    }
+
+    private static byte[] deflate(byte[] body, BlockingQueue<Deflater> pool, boolean gzip) {
+        Deflater deflater = pool.poll();
+        if (deflater == null) {
+            deflater = new Deflater(LEVEL, gzip);
+        }
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            byte[] out = new byte[Math.max(64, body.length / 2)];
+            int pos = 0;
+            if (gzip) {
+                System.arraycopy(GZIP_HEADER, 0, out, 0, GZIP_HEADER.length);
+                pos = GZIP_HEADER.length;
+            }
+            while (!deflater.finished()) {
+                if (pos == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                pos += deflater.deflate(out, pos, out.length - pos);
+            }
+            if (gzip) {
+                if (out.length - pos < GZIP_TRAILER_LENGTH) {
+                    out = Arrays.copyOf(out, pos + GZIP_TRAILER_LENGTH);
+                }
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                pos = writeIntLE(out, pos, (int) crc.getValue());
+                pos = writeIntLE(out, pos, body.length);
+            }
+            return Arrays.copyOf(out, pos);
+        } finally {
+            deflater.reset();
+            if (!pool.offer(deflater)) {
+                deflater.end();
+            }
+        }
+    }
+
+    private static int writeIntLE(byte[] out, int pos, int value) {
+        out[pos] = (byte) value;
+        out[pos + 1] = (byte) (value >>> 8);
+        out[pos + 2] = (byte) (value >>> 16);
+        out[pos + 3] = (byte) (value >>> 24);
+        return pos + 4;
+    }
+
+    /**
+     * Sends a body, compressed when the client accepts it and it is large enough to be worth it.
+     * The caller sets Content-Type; this sets Content-Encoding and Vary.
+     */
+    public static void send(HttpExchange exchange, int statusCode, byte[] body) throws IOException {
+        send(exchange, statusCode, body, null);
+    }
+
+    /**
+     * Same, also tagging the body with the variant of {@code etag} for the coding chosen, when given.
+     */
+    public static void send(HttpExchange exchange, int statusCode, byte[] body, String etag) throws IOException {
+        Encoding encoding = select(exchange, body.length);
+        if (etag != null) {
+            exchange.getResponseHeaders().set("ETag", ETags.variant(etag, encoding));
+        }
+        if (encoding != Encoding.IDENTITY) {
+            byte[] compressed = compress(body, encoding);
+            record(encoding, body.length, compressed.length);
+            exchange.getResponseHeaders().set("Content-Encoding", encoding.token());
+            body = compressed;
+        }
+        if (!exchange.getResponseHeaders().containsKey("Vary")) {
+            exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        }
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    /**
+     * Counts a compressed response, whether compressed just now or taken from a cache.
+     */
+    public static void record(Encoding encoding, int originalLength, int compressedLength) {
+        COMPRESSED[encoding.ordinal()].increment();
+        BYTES_SAVED.add(originalLength - compressedLength);
+    }
+
+    private static Counter[] compressedCounters() {
+        Counter[] counters = new Counter[Encoding.values().length];
+        for (Encoding encoding : Encoding.values()) {
+            // Uncompressed responses are not counted; record() is only called for real encodings
+            if (encoding == Encoding.IDENTITY) {
+                continue;
+            }
+            counters[encoding.ordinal()] = MetricsRegistry.getInstance().counter("http.compression." + encoding.token());
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.hotelbooking.http;
+
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpPrincipal;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Counts each exchange in flight from arrival until its response is closed, which may happen
+ * on a bulkhead or broadcaster thread long after the handler returned. While the server drains,
+ * new exchanges are refused with 503 and {@code Connection: close}.
+ */
+public class DrainFilter extends Filter {
+    private static final byte[] DRAINING = "{\"error\": \"Service Unavailable: server is shutting down\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final ServerLifecycle lifecycle;
+    private final Counter rejected;
+
+    public DrainFilter(ServerLifecycle lifecycle) {
+        this.lifecycle = lifecycle;
+        this.rejected = MetricsRegistry.getInstance().counter("server.drain.rejected");
+    }
+
+    @Override
+    public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+        if (!lifecycle.tryEnter()) {
+            rejected.increment();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("Connection", "close");
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            exchange.sendResponseHeaders(503, DRAINING.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(DRAINING);
+            }
+            return;
+        }
+        TrackedExchange tracked = new TrackedExchange(exchange, lifecycle);
+        try {
+            chain.doFilter(tracked);
+        } catch (IOException | RuntimeException e) {
+            // The server drops the connection without closing the response
+            tracked.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public String description() {
+        return "Tracks in-flight exchanges for graceful drain";
+    }
+
+    /**
+     * The exchange as seen by handlers, ending its in-flight count when the response is complete:
+     * when a response without a body has been sent, or when the body or exchange is closed.
+     * The server marks bodiless exchanges closed by itself, so closing alone would miss them.
+     */
+    private static final class TrackedExchange extends HttpExchange {
+        private final HttpExchange exchange;
+        private final ServerLifecycle lifecycle;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private OutputStream body;
+
+        private TrackedExchange(HttpExchange exchange, ServerLifecycle lifecycle) {
+            this.exchange = exchange;
+            this.lifecycle = lifecycle;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                lifecycle.exit();
+            }
+        }
+
+        @Override
+        public void sendResponseHeaders(int rCode, long responseLength) throws IOException {
+            exchange.sendResponseHeaders(rCode, responseLength);
+            if (responseLength < 0 || rCode == 204 || rCode == 304 || "HEAD".equals(exchange.getRequestMethod())) {
+                release();
+            }
+        }
+
+        @Override
+        public synchronized OutputStream getResponseBody() {
+            if (body == null) {
+                body = new FilterOutputStream(exchange.getResponseBody()) {
+                    @Override
+                    public void write(int b) throws IOException {
+                        out.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        out.write(b, off, len);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            out.close();
+                        } finally {
+                            release();
+                        }
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                exchange.close();
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        public Headers getRequestHeaders() {
+            return exchange.getRequestHeaders();
+        }
+
+        @Override
+        public Headers getResponseHeaders() {
+            return exchange.getResponseHeaders();
+        }
+
+        @Override
+        public URI getRequestURI() {
+            return exchange.getRequestURI();
+        }
+
+        @Override
+        public String getRequestMethod() {
+            return exchange.getRequestMethod();
+        }
+
+        @Override
+        public HttpContext getHttpContext() {
+            return exchange.getHttpContext();
+        }
+
+        @Override
+        public InputStream getRequestBody() {
+            return exchange.getRequestBody();
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return exchange.getRemoteAddress();
+        }
+
+        @Override
+        public int getResponseCode() {
+            return exchange.getResponseCode();
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return exchange.getLocalAddress();
+        }
+
+        @Override
+        public String getProtocol() {
+            return exchange.getProtocol();
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return exchange.getAttribute(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            exchange.setAttribute(name, value);
+        }
+
+        @Override
+        public void setStreams(InputStream i, OutputStream o) {
+            exchange.setStreams(i, o);
+        }
+
+        @Override
+        public HttpPrincipal getPrincipal() {
+            return exchange.getPrincipal();
+        }
+    }
+}
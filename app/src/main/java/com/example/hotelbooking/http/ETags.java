@@ -0,0 +1,113 @@
+package com.example.hotelbooking.http;
+
+/**
+ * Strong entity tags built from entity versions.
+ * Versions restart with the process, so every tag also carries a per-process epoch
+ * to keep tags handed out before a restart from ever matching again.
+ */
+public final class ETags {
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+    private static final String GZIP_SUFFIX = "-gzip";
+    private static final String DEFLATE_SUFFIX = "-deflate";
+    private static final String BINARY_SUFFIX = "-bin";
+
+    private ETags() {}
+
+    public static String forBooking(long bookingId, long version) {
+        return "\"b" + bookingId + "." + EPOCH + "." + version + "\"";
+    }
+
+    public static String forUserBookings(long userId, long version) {
+        return "\"u" + userId + "." + EPOCH + "." + version + "\"";
+    }
+
+    public static String forHotels(long version) {
+        return "\"h." + EPOCH + "." + version + "\"";
+    }
+
+    public static String forHotelRooms(long hotelId, long version) {
+        return "\"r" + hotelId + "." + EPOCH + "." + version + "\"";
+    }
+
+    /**
+     * Tag for the gzip representation of the same entity.
+     */
+    public static String gzipVariant(String etag) {
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX + "\"";
+    }
+
+    /**
+     * Tag for the binary representation of the same entity. It is a different representation, not a
+     * coding of the JSON one, so it never matches the plain tag; its compressed variants are built
+     * from it with {@link #variant}.
+     */
+    public static String binaryVariant(String etag) {
+        return etag.substring(0, etag.length() - 1) + BINARY_SUFFIX + "\"";
+    }
+
+    /**
+     * Tag for the given content coding of the same entity; the identity coding keeps the plain tag.
+     */
+    public static String variant(String etag, Compression.Encoding encoding) {
+        switch (encoding) {
+            case GZIP:
+                return gzipVariant(etag);
+            case DEFLATE:
+                return etag.substring(0, etag.length() - 1) + DEFLATE_SUFFIX + "\"";
+            default:
+                return etag;
+        }
+    }
+
+    /**
+     * Checks an If-None-Match header against a tag.
+     * Uses weak comparison as required for If-None-Match, and treats compressed variants as the same entity.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        int length = ifNoneMatch.length();
+        int start = 0;
+        while (start < length) {
+            int end = ifNoneMatch.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (candidateMatches(ifNoneMatch, start, end, etag)) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    private static boolean candidateMatches(String header, int start, int end, String etag) {
+        while (start < end && header.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && header.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (end - start == 1 && header.charAt(start) == '*') {
+            return true;
+        }
+        if (header.startsWith("W/", start)) {
+            start += 2;
+        }
+        int candidateLength = end - start;
+        if (candidateLength == etag.length()) {
+            return header.regionMatches(start, etag, 0, candidateLength);
+        }
+        // "<tag>-gzip" and "<tag>-deflate" name the same entity as "<tag>"
+        return variantMatches(header, start, end, etag, GZIP_SUFFIX)
+                || variantMatches(header, start, end, etag, DEFLATE_SUFFIX);
+    }
+
+    private static boolean variantMatches(String header, int start, int end, String etag, String suffix) {
+        return end - start == etag.length() + suffix.length()
+                && header.regionMatches(start, etag, 0, etag.length() - 1)
+                && header.regionMatches(start + etag.length() - 1, suffix, 0, suffix.length())
+                && header.charAt(end - 1) == '"';
+    }
+}
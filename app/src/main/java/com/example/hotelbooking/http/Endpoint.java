@@ -0,0 +1,34 @@
+package com.example.hotelbooking.http;
+
+import com.example.hotelbooking.metrics.AllocationMeter;
+import com.example.hotelbooking.metrics.Histogram;
+import com.example.hotelbooking.tracing.Trace;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+
+/**
+ * A single route target, called with the path parameters already parsed.
+ */
+@FunctionalInterface
+public interface Endpoint {
+    void handle(HttpExchange exchange, RouteMatch match) throws IOException;
+
+    /**
+     * Wraps an endpoint so that every call, including writing the response and failed calls, is
+     * recorded in the histogram and the allocation meter and, for traced requests, as a span with
+     * the given name.
+     */
+    static Endpoint timed(String name, Histogram latency, AllocationMeter allocation, Endpoint endpoint) {
+        return (exchange, match) -> {
+            long start = System.nanoTime();
+            long allocatedAtStart = allocation.start();
+            try (Trace.Span span = Trace.span(name)) {
+                endpoint.handle(exchange, match);
+            } finally {
+                latency.recordNanos(System.nanoTime() - start);
+                allocation.finish(allocatedAtStart);
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.hotelbooking.http;
+
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.Labels;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+import com.example.hotelbooking.metrics.WindowedCounter;
+import com.example.hotelbooking.metrics.WindowedRatio;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Request counters by method and response counters by method and status, shared by the handlers.
+ * Label sets are resolved into array slots, so counting a request does no string building or
+ * registry lookup. Response counters are bound on first use of each method and status, since
+ * most combinations never occur and should not be reported as zeros.
+ *
+ * Responses are also counted in windowed counters, giving recent throughput and the share of
+ * server errors, which components can read in-process through {@link #getThroughput()} and
+ * {@link #getErrorRatio()}.
+ */
+public final class HttpMetrics {
+    private static final String[] METHODS = {"get", "post", "put", "delete", "patch", "head", "options", "other"};
+    private static final int MIN_STATUS = 100;
+    private static final int MAX_STATUS = 599;
+    // Slot 0 of each method is for exchanges that ended without a response
+    private static final int STATUS_SLOTS = MAX_STATUS - MIN_STATUS + 2;
+    private static final HttpMetrics INSTANCE = new HttpMetrics();
+
+    private final MetricsRegistry metricsRegistry;
+    private final Counter[] requests = new Counter[METHODS.length];
+    private final AtomicReferenceArray<Counter> responses = new AtomicReferenceArray<>(METHODS.length * STATUS_SLOTS);
+    private final WindowedCounter throughput;
+    private final WindowedCounter serverErrors;
+    private final WindowedRatio errorRatio;
+
+    private HttpMetrics() {
+        this.metricsRegistry = MetricsRegistry.getInstance();
+        for (int i = 0; i < METHODS.length; i++) {
+            requests[i] = metricsRegistry.counter("http.requests", Labels.of("method", METHODS[i]));
+        }
+        this.throughput = metricsRegistry.windowedCounter("http.throughput");
+        this.serverErrors = metricsRegistry.windowedCounter("http.server_errors");
+        this.errorRatio = metricsRegistry.ratio("http.error_ratio", Labels.EMPTY, serverErrors, throughput);
+    }
+
+    public static HttpMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public void countRequest(String method) {
+        requests[methodIndex(method)].increment();
+    }
+
+    public void countResponse(String method, int status) {
+        int methodIndex = methodIndex(method);
+        int statusSlot = status >= MIN_STATUS && status <= MAX_STATUS ? status - MIN_STATUS + 1 : 0;
+        int slot = methodIndex * STATUS_SLOTS + statusSlot;
+        Counter counter = responses.get(slot);
+        if (counter == null) {
+            // Threads racing here get the same series back from the registry
+            counter = metricsRegistry.counter("http.responses", Labels.of(
+                    "method", METHODS[methodIndex], "status", statusSlot == 0 ? "none" : Integer.toString(status)));
+            responses.set(slot, counter);
+        }
+        counter.increment();
+        throughput.increment();
+        // An exchange that ended without a response failed on the server side too
+        if (statusSlot == 0 || status >= 500) {
+            serverErrors.increment();
+        }
+    }
+
+    /**
+     * Responses per second, over windows of up to five minutes.
+     */
+    public WindowedCounter getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * Share of responses that were server errors or never sent.
+     */
+    public WindowedRatio getErrorRatio() {
+        return errorRatio;
+    }
+
+    private static int methodIndex(String method) {
+        switch (method) {
+            case "GET":
+                return 0;
+            case "POST":
+                return 1;
+            case "PUT":
+                return 2;
+            case "DELETE":
+                return 3;
+            case "PATCH":
+                return 4;
+            case "HEAD":
+                return 5;
+            case "OPTIONS":
+                return 6;
+            default:
+                return 7;
+        }
+    }
+}
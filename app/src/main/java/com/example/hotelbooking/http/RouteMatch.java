@@ -0,0 +1,73 @@
+package com.example.hotelbooking.http;
+
+/**
+ * Outcome of a route lookup.
+ * Instances are reused per thread by {@link RouteTable#match}, so read them before the next lookup.
+ */
+public final class RouteMatch {
+    public enum Outcome {
+        FOUND, NOT_FOUND, METHOD_NOT_ALLOWED
+    }
+
+    static final int MAX_PARAMS = 8;
+
+    private final long[] params = new long[MAX_PARAMS];
+    private int paramCount;
+    private Outcome outcome;
+    private Endpoint endpoint;
+    private String allowedMethods;
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Value of the path parameter at the given position, counting from the left of the pattern.
+     */
+    public long getLong(int index) {
+        if (index >= paramCount) {
+            throw new IndexOutOfBoundsException("No path parameter at index " + index);
+        }
+        return params[index];
+    }
+
+    /**
+     * Comma-separated methods the matched path supports, for the Allow header of a 405.
+     */
+    public String getAllowedMethods() {
+        return allowedMethods;
+    }
+
+    void reset() {
+        paramCount = 0;
+        outcome = Outcome.NOT_FOUND;
+        endpoint = null;
+        allowedMethods = null;
+    }
+
+    int paramCount() {
+        return paramCount;
+    }
+
+    void truncateParams(int count) {
+        paramCount = count;
+    }
+
+    void pushParam(long value) {
+        params[paramCount++] = value;
+    }
+
+    void found(Endpoint endpoint) {
+        this.outcome = Outcome.FOUND;
+        this.endpoint = endpoint;
+    }
+
+    void methodNotAllowed(String allowedMethods) {
+        this.outcome = Outcome.METHOD_NOT_ALLOWED;
+        this.allowedMethods = allowedMethods;
+    }
+}
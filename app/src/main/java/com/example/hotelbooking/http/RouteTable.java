@@ -0,0 +1,231 @@
+package com.example.hotelbooking.http;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compiled method + path-segment trie for request dispatch.
+ * Patterns are built once at startup, e.g. {@code /api/bookings/{id}}. Each {@code {name}} segment
+ * matches a non-negative decimal number and is parsed straight to a {@code long}; every other segment
+ * is matched literally, and literal segments win over parameters.
+ *
+ * Lookups walk the path in place without substrings, regex matchers or boxing, so adding routes
+ * only adds nodes to the trie and never adds per-request work to the existing ones.
+ */
+public final class RouteTable {
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS"};
+
+    private static final ThreadLocal<RouteMatch> MATCHES = ThreadLocal.withInitial(RouteMatch::new);
+
+    private final Node root;
+
+    private RouteTable(Node root) {
+        this.root = root;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Looks up a request. The returned match is owned by the calling thread and reused by its next lookup.
+     */
+    public RouteMatch match(String method, String path) {
+        RouteMatch match = MATCHES.get();
+        match.reset();
+        matchFrom(root, path, 0, methodIndex(method), match);
+        return match;
+    }
+
+    private static boolean matchFrom(Node node, String path, int pos, int methodIndex, RouteMatch match) {
+        int length = path.length();
+        // End of path, with or without a trailing slash
+        if (pos >= length || (pos == length - 1 && path.charAt(pos) == '/')) {
+            if (node.allowedMethods == null) {
+                return false;
+            }
+            Endpoint endpoint = methodIndex >= 0 ? node.endpoints[methodIndex] : null;
+            if (endpoint != null) {
+                match.found(endpoint);
+            } else {
+                match.methodNotAllowed(node.allowedMethods);
+            }
+            return true;
+        }
+        if (path.charAt(pos) != '/') {
+            return false;
+        }
+        int start = pos + 1;
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+        int segmentLength = end - start;
+        if (segmentLength == 0) {
+            return false;
+        }
+
+        for (int i = 0; i < node.literals.length; i++) {
+            String literal = node.literals[i];
+            if (literal.length() == segmentLength && path.regionMatches(start, literal, 0, segmentLength)
+                    && matchFrom(node.literalChildren[i], path, end, methodIndex, match)) {
+                return true;
+            }
+        }
+
+        if (node.paramChild != null) {
+            long value = parseDigits(path, start, end);
+            if (value >= 0) {
+                int mark = match.paramCount();
+                match.pushParam(value);
+                if (matchFrom(node.paramChild, path, end, methodIndex, match)) {
+                    return true;
+                }
+                match.truncateParams(mark);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses a decimal segment, returning -1 for anything that is not a non-negative long.
+     */
+    private static long parseDigits(String path, int start, int end) {
+        if (end - start > 18) {
+            // Longer values may overflow; take the slow path rather than guess
+            try {
+                long value = Long.parseLong(path.substring(start, end));
+                return value >= 0 && path.charAt(start) != '+' ? value : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = path.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int methodIndex(String method) {
+        for (int i = 0; i < METHODS.length; i++) {
+            if (METHODS[i].equals(method)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Node {
+        private String[] literals = new String[0];
+        private Node[] literalChildren = new Node[0];
+        private Node paramChild;
+        private String paramName;
+        private final Endpoint[] endpoints = new Endpoint[METHODS.length];
+        // Null when no route ends at this node
+        private String allowedMethods;
+
+        private Node literalChild(String segment) {
+            for (int i = 0; i < literals.length; i++) {
+                if (literals[i].equals(segment)) {
+                    return literalChildren[i];
+                }
+            }
+            Node child = new Node();
+            literals = append(literals, segment);
+            literalChildren = append(literalChildren, child);
+            return child;
+        }
+
+        private Node paramChild(String name) {
+            if (paramChild == null) {
+                paramChild = new Node();
+                paramName = name;
+            } else if (!paramName.equals(name)) {
+                throw new IllegalArgumentException(
+                        "Conflicting path parameter names {" + paramName + "} and {" + name + "}");
+            }
+            return paramChild;
+        }
+
+        private void seal() {
+            List<String> allowed = new ArrayList<>();
+            for (int i = 0; i < METHODS.length; i++) {
+                if (endpoints[i] != null) {
+                    allowed.add(METHODS[i]);
+                }
+            }
+            allowedMethods = allowed.isEmpty() ? null : String.join(", ", allowed);
+            for (Node child : literalChildren) {
+                child.seal();
+            }
+            if (paramChild != null) {
+                paramChild.seal();
+            }
+        }
+
+        private static String[] append(String[] array, String value) {
+            String[] copy = Arrays.copyOf(array, array.length + 1);
+            copy[array.length] = value;
+            return copy;
+        }
+
+        private static Node[] append(Node[] array, Node value) {
+            Node[] copy = Arrays.copyOf(array, array.length + 1);
+            copy[array.length] = value;
+            return copy;
+        }
+    }
+
+    public static final class Builder {
+        private final Node root = new Node();
+        private boolean built;
+
+        private Builder() {}
+
+        public Builder add(String method, String pattern, Endpoint endpoint) {
+            if (built) {
+                throw new IllegalStateException("Route table already built");
+            }
+            int methodIndex = methodIndex(method);
+            if (methodIndex < 0) {
+                throw new IllegalArgumentException("Unsupported method: " + method);
+            }
+            if (!pattern.startsWith("/")) {
+                throw new IllegalArgumentException("Pattern must start with '/': " + pattern);
+            }
+
+            Node node = root;
+            int params = 0;
+            for (String segment : pattern.substring(1).split("/")) {
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                if (segment.startsWith("{") && segment.endsWith("}")) {
+                    if (++params > RouteMatch.MAX_PARAMS) {
+                        throw new IllegalArgumentException("Too many path parameters: " + pattern);
+                    }
+                    node = node.paramChild(segment.substring(1, segment.length() - 1));
+                } else {
+                    node = node.literalChild(segment);
+                }
+            }
+            if (node.endpoints[methodIndex] != null) {
+                throw new IllegalStateException("Duplicate route: " + method + " " + pattern);
+            }
+            node.endpoints[methodIndex] = endpoint;
+            return this;
+        }
+
+        public RouteTable build() {
+            built = true;
+            root.seal();
+            return new RouteTable(root);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.hotelbooking.http;
+
+import com.example.hotelbooking.http.handlers.AvailabilityStreamHandler;
+import com.example.hotelbooking.http.handlers.BookingHandler;
+import com.example.hotelbooking.http.handlers.DbMetricsHandler;
+import com.example.hotelbooking.http.handlers.FlightRecordingHandler;
+import com.example.hotelbooking.http.handlers.HealthHandler;
+import com.example.hotelbooking.http.handlers.HotelHandler;
+import com.example.hotelbooking.http.handlers.JvmMetricsHandler;
+import com.example.hotelbooking.http.handlers.MetricsHandler;
+import com.example.hotelbooking.http.handlers.TraceHandler;
+import com.example.hotelbooking.logging.AsyncLogger;
+import com.example.hotelbooking.metrics.JvmMetrics;
+import com.example.hotelbooking.service.AvailabilityBroadcaster;
+import com.example.hotelbooking.service.BookingService;
+import com.example.hotelbooking.service.CatalogueService;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class Router {
+    private final HttpServer server;
+    private static final int PORT = 8080;
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+    // Calculate optimal thread pool size:
+    // Threads = CPU cores * (1 + avg wait time / avg service time)
+    // Assuming 80% IO wait time (DB, network) and 20% CPU time
+    // Formula: Cores * (1 + 0.8/0.2) = Cores * 5
+    // Reads are mostly served from cache and get the larger share; writes wait on conflict checks
+    private static final int READ_THREADS = CORES * 6;
+    private static final int WRITE_THREADS = CORES * 4;
+    private static final int READ_QUEUE_CAPACITY = 5000;
+    private static final int WRITE_QUEUE_CAPACITY = 1000;
+    // Server threads only parse requests and hand them to a bulkhead
+    private static final int DISPATCH_THREADS = Math.max(2, CORES);
+    
+    // Socket backlog size to handle connection bursts
+    private static final int BACKLOG = 10000;
+
+    // Time for load balancers to notice the failing readiness probe before requests are refused
+    private static final long READINESS_DELAY_MS = Long.getLong("hotel.shutdown.readinessDelayMs", 5000);
+    // Time in-flight requests get to finish once new ones are refused
+    private static final long DRAIN_TIMEOUT_MS = Long.getLong("hotel.shutdown.drainTimeoutMs", 20000);
+
+    private final ExecutorService dispatcher;
+    private final Bulkhead reads;
+    private final Bulkhead writes;
+    private final AvailabilityBroadcaster availabilityBroadcaster;
+    private final CatalogueService catalogueService;
+    private final ServerLifecycle lifecycle = new ServerLifecycle();
+    private final DrainFilter drainFilter = new DrainFilter(lifecycle);
+    private final AsyncLogger log = AsyncLogger.getInstance();
+
+    public Router(BookingService bookingService, CatalogueService catalogueService) throws Exception {
+        // Configure server with connection backlog
+        this.server = HttpServer.create(new InetSocketAddress(PORT), BACKLOG);
+        
+        this.dispatcher = Executors.newFixedThreadPool(DISPATCH_THREADS);
+        JvmMetrics.getInstance().monitorExecutor("dispatcher", (ThreadPoolExecutor) dispatcher);
+        this.reads = new Bulkhead("reads", READ_THREADS, READ_QUEUE_CAPACITY);
+        this.writes = new Bulkhead("writes", WRITE_THREADS, WRITE_QUEUE_CAPACITY);
+        this.availabilityBroadcaster = bookingService.getAvailabilityBroadcaster();
+        this.catalogueService = catalogueService;
+        
+        server.setExecutor(dispatcher);
+        
+        // Register handlers
+        addContext("/api/bookings", new BulkheadHandler(new BookingHandler(bookingService), reads, writes));
+        // Catalogue reads are served from memory and never wait on the database, so they skip the bulkheads
+        addContext("/api/hotels", new HotelHandler(catalogueService));
+        addContext("/metrics", new MetricsHandler());
+        addContext("/metrics/db", new DbMetricsHandler());
+        addContext("/metrics/jvm", new JvmMetricsHandler());
+        addContext("/admin/jfr", new FlightRecordingHandler());
+        addContext("/admin/traces", new TraceHandler());
+        // Streams only register with the broadcaster, so they stay on the dispatcher rather than a bulkhead
+        addContext("/api/availability/stream", new AvailabilityStreamHandler(availabilityBroadcaster));
+        // Probes must keep answering while the server drains, so they are not counted or refused
+        server.createContext("/health", new HealthHandler(lifecycle));
+    }
+
+    private void addContext(String path, HttpHandler handler) {
+        server.createContext(path, handler).getFilters().add(drainFilter);
+    }
+
+    public void start() {
+        catalogueService.start();
+        server.start();
+        lifecycle.markReady();
+        System.out.println("Server started on port " + PORT);
+    }
+
+    /**
+     * Drains gracefully with the configured readiness delay and drain timeout
+     * ({@code hotel.shutdown.readinessDelayMs} and {@code hotel.shutdown.drainTimeoutMs}).
+     */
+    public void stop() {
+        drain(READINESS_DELAY_MS, DRAIN_TIMEOUT_MS);
+    }
+
+    /**
+     * Fails the readiness probe and keeps serving for {@code readinessDelayMs} while traffic moves away,
+     * then refuses new requests, closes event streams after sending what they have pending, and gives
+     * in-flight requests up to {@code timeoutMs} to finish before the server and its threads are stopped.
+     */
+    public void drain(long readinessDelayMs, long timeoutMs) {
+        lifecycle.markUnready();
+        try {
+            Thread.sleep(readinessDelayMs);
+            lifecycle.startDraining();
+            log.warn("Draining: " + lifecycle.getInFlight() + " requests in flight");
+            availabilityBroadcaster.close();
+            if (!lifecycle.awaitIdle(timeoutMs)) {
+                log.warn("Drain timed out after " + timeoutMs + " ms with " + lifecycle.getInFlight() + " requests in flight");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catalogueService.close();
+        // Before the server stops, so requests still queued can be answered
+        reads.shutdown();
+        writes.shutdown();
+        server.stop(0);
+        dispatcher.shutdown();
+        try {
+            dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lifecycle.markStopped();
+        log.awaitFlushed(1000);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.hotelbooking.http;
+
+import com.example.hotelbooking.metrics.MetricsRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Readiness state and in-flight exchange count for a graceful drain.
+ *
+ * A server is {@code STARTING} until it accepts traffic and then {@code READY}. Shutting down, it first
+ * turns {@code UNREADY}: requests are still served, but the readiness probe fails so load balancers
+ * move traffic away. {@code DRAINING} then refuses new exchanges and waits for the ones in flight,
+ * and {@code STOPPED} is reported once the server is closed.
+ */
+public class ServerLifecycle {
+    public enum State {
+        STARTING,
+        READY,
+        UNREADY,
+        DRAINING,
+        STOPPED
+    }
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile State state = State.STARTING;
+
+    public ServerLifecycle() {
+        MetricsRegistry metricsRegistry = MetricsRegistry.getInstance();
+        metricsRegistry.registerGauge("server.in_flight", inFlight::get);
+        metricsRegistry.registerGauge("server.state", () -> state.ordinal());
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isReady() {
+        return state == State.READY;
+    }
+
+    public boolean isLive() {
+        return state != State.STOPPED;
+    }
+
+    public void markReady() {
+        state = State.READY;
+    }
+
+    public void markUnready() {
+        state = State.UNREADY;
+    }
+
+    public void startDraining() {
+        state = State.DRAINING;
+    }
+
+    public void markStopped() {
+        state = State.STOPPED;
+    }
+
+    /**
+     * Counts a new exchange, or returns false once draining has started.
+     * Every successful call must be matched by one {@link #exit()}.
+     */
+    public boolean tryEnter() {
+        inFlight.incrementAndGet();
+        // Checked after counting, so a drain that sees zero in flight can never miss an exchange
+        if (state.compareTo(State.DRAINING) >= 0) {
+            exit();
+            return false;
+        }
+        return true;
+    }
+
+    public void exit() {
+        if (inFlight.decrementAndGet() == 0 && state.compareTo(State.DRAINING) >= 0) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Waits for every exchange in flight to finish. Returns false if some were still running at the timeout.
+     */
+    public synchronized boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (inFlight.get() > 0) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                return false;
+            }
+            wait(remainingMillis);
+        }
+        return true;
+    }
+}
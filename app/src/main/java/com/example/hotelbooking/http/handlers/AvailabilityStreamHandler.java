@@ -0,0 +1,92 @@
+package com.example.hotelbooking.http.handlers;
+
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+import com.example.hotelbooking.service.AvailabilityBroadcaster;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Server-Sent Events stream of availability changes:
+ * {@code GET /api/availability/stream?hotelId=1} or {@code ?roomIds=1,2,3}.
+ *
+ * The handler only sends the headers and registers the stream; events are written later by the
+ * broadcaster's flusher threads, so an open stream holds no request thread.
+ */
+public class AvailabilityStreamHandler implements HttpHandler {
+    private static final int MAX_ROOMS = 100;
+    private static final int MAX_SUBSCRIBERS = 10_000;
+    // Reconnect delay suggested to clients, in milliseconds
+    private static final byte[] PREAMBLE = "retry: 3000\n: connected\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final AvailabilityBroadcaster broadcaster;
+    private final Counter rejected;
+
+    public AvailabilityStreamHandler(AvailabilityBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+        this.rejected = MetricsRegistry.getInstance().counter("sse.rejected");
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "GET");
+            sendError(exchange, 405, "Method Not Allowed");
+            return;
+        }
+        Long hotelId = null;
+        List<Long> roomIds = new ArrayList<>();
+        try {
+            String query = exchange.getRequestURI().getRawQuery();
+            if (query != null) {
+                for (String param : query.split("&")) {
+                    if (param.startsWith("hotelId=")) {
+                        hotelId = Long.parseLong(param.substring(8));
+                    } else if (param.startsWith("roomIds=")) {
+                        for (String id : param.substring(8).split(",")) {
+                            if (!id.isEmpty()) {
+                                roomIds.add(Long.parseLong(id));
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (NumberFormatException e) {
+            sendError(exchange, 400, "Bad Request: " + e.getMessage());
+            return;
+        }
+        if ((hotelId == null && roomIds.isEmpty()) || roomIds.size() > MAX_ROOMS) {
+            sendError(exchange, 400, "Bad Request: expected hotelId or between 1 and " + MAX_ROOMS + " roomIds");
+            return;
+        }
+        if (broadcaster.getSubscriberCount() >= MAX_SUBSCRIBERS) {
+            rejected.increment();
+            exchange.getResponseHeaders().set("Retry-After", "10");
+            sendError(exchange, 503, "Service Unavailable: too many open streams");
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        out.write(PREAMBLE);
+        out.flush();
+        broadcaster.subscribe(hotelId, roomIds, out, exchange::close);
+    }
+
+    private void sendError(HttpExchange exchange, int code, String message) throws IOException {
+        byte[] response = ("{\"error\": \"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, response.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(response);
+        }
+    }
+}
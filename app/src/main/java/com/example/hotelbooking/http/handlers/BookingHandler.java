@@ -0,0 +1,453 @@
+package com.example.hotelbooking.http.handlers;
+
+import com.example.hotelbooking.context.Deadline;
+import com.example.hotelbooking.context.DeadlineExceededException;
+import com.example.hotelbooking.jfr.AdmissionEvent;
+import com.example.hotelbooking.jfr.ResponseWriteEvent;
+import com.example.hotelbooking.logging.AsyncLogger;
+import com.example.hotelbooking.model.Booking;
+import com.example.hotelbooking.service.BookingLookup;
+import com.example.hotelbooking.tracing.Trace;
+import com.example.hotelbooking.tracing.TraceStore;
+import com.example.hotelbooking.service.BookingService;
+import com.example.hotelbooking.service.CachedResponse;
+import com.example.hotelbooking.service.CircuitOpenException;
+import com.example.hotelbooking.http.Compression;
+import com.example.hotelbooking.http.Compression.Encoding;
+import com.example.hotelbooking.http.ETags;
+import com.example.hotelbooking.http.Endpoint;
+import com.example.hotelbooking.http.RouteMatch;
+import com.example.hotelbooking.http.HttpMetrics;
+import com.example.hotelbooking.http.RouteTable;
+import com.example.hotelbooking.metrics.JvmMetrics;
+import com.example.hotelbooking.metrics.Labels;
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+import com.example.hotelbooking.dto.BookingRequest;
+import com.example.hotelbooking.dto.BookingResponse;
+import com.example.hotelbooking.dto.BookingJsonCodec;
+import com.example.hotelbooking.dto.BookingBinaryCodec;
+import java.util.ArrayList;
+import java.util.List;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class BookingHandler implements HttpHandler {
+    private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
+    private final BookingJsonCodec bookingCodec = new BookingJsonCodec();
+    private final BookingBinaryCodec bookingBinaryCodec = new BookingBinaryCodec();
+    private final MetricsRegistry metricsRegistry;
+    private final AsyncLogger log = AsyncLogger.getInstance();
+    private final RouteTable routes;
+    private final HttpMetrics httpMetrics = HttpMetrics.getInstance();
+    private final TraceStore traceStore = TraceStore.getInstance();
+    private final Counter successfulRequests = MetricsRegistry.getInstance().counter("http.requests.success");
+    private final Counter failedRequests = MetricsRegistry.getInstance().counter("http.requests.error");
+    private final Counter createRequests = MetricsRegistry.getInstance().counter("booking.create.requests");
+    private final Counter updateRequests = MetricsRegistry.getInstance().counter("booking.update.requests");
+    private final Counter cancelRequests = MetricsRegistry.getInstance().counter("booking.cancel.requests");
+    private final Counter userRequests = MetricsRegistry.getInstance().counter("booking.user.requests");
+    private final Counter getRequests = MetricsRegistry.getInstance().counter("booking.get.requests");
+    private final Counter multigetRequests = MetricsRegistry.getInstance().counter("booking.multiget.requests");
+    private final Counter multigetIds = MetricsRegistry.getInstance().counter("booking.multiget.ids");
+    private final Counter circuitOpenResponses = MetricsRegistry.getInstance().counter("http.requests.circuit_open");
+    private final Counter deadlineExceededResponses = MetricsRegistry.getInstance().counter("http.requests.deadline_exceeded");
+    private final Counter notModifiedResponses = MetricsRegistry.getInstance().counter("http.responses.not_modified");
+    // Rate limiter: 833 requests per second (3M per hour)
+    // Configure for 3M requests/hour = ~833 req/sec
+    private final Semaphore rateLimiter = new Semaphore(833);
+    
+    private static final int MAX_BATCH_IDS = 100;
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+    
+    // Timeouts
+    private static final long REQUEST_TIMEOUT_MS = 2000; // 2 seconds
+
+    public BookingHandler(BookingService bookingService) {
+        this.bookingService = bookingService;
+        this.objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())  // Better date handling
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false); // More resilient parsing
+        this.metricsRegistry = MetricsRegistry.getInstance();
+        this.routes = RouteTable.builder()
+            .add("POST", "/api/bookings", timed("booking.create", this::handleCreateBooking))
+            .add("GET", "/api/bookings", timed("booking.multiget", this::handleGetBookings))
+            .add("GET", "/api/bookings/{id}", timed("booking.get", this::handleGetBooking))
+            .add("PUT", "/api/bookings/{id}", timed("booking.update", this::handleUpdateBooking))
+            .add("DELETE", "/api/bookings/{id}", timed("booking.cancel", this::handleCancelBooking))
+            .add("GET", "/api/bookings/user/{userId}", timed("booking.user", this::handleGetUserBookings))
+            .build();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        Deadline deadline = Deadline.forRequest(exchange.getRequestHeaders().getFirst(Deadline.TIMEOUT_HEADER));
+        Trace trace = startTrace(exchange);
+        long start = System.nanoTime();
+        try (Deadline.Scope scope = deadline.attach(); Trace.Scope traceScope = Trace.attach(trace)) {
+            handleWithin(exchange, deadline);
+        } finally {
+            traceStore.finish(trace, exchange.getResponseCode());
+            httpMetrics.countResponse(exchange.getRequestMethod(), exchange.getResponseCode());
+            log.access(exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                    exchange.getResponseCode(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Samples the request for tracing, telling the client the trace id when it is traced.
+     */
+    private Trace startTrace(HttpExchange exchange) {
+        Trace trace = Trace.sample(exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                exchange.getRequestHeaders().getFirst(Trace.SAMPLE_HEADER));
+        if (trace != null) {
+            exchange.getResponseHeaders().set(Trace.ID_HEADER, trace.getId());
+        }
+        return trace;
+    }
+
+    private void handleWithin(HttpExchange exchange, Deadline deadline) throws IOException {
+        Runnable task = () -> {
+            try {
+                processRequest(exchange);
+            } catch (DeadlineExceededException e) {
+                try {
+                    sendDeadlineExceeded(exchange);
+                } catch (IOException ioe) {
+                    log.warn("Failed to send error response: " + ioe.getMessage());
+                }
+            } catch (CircuitOpenException e) {
+                try {
+                    sendDatabaseUnavailable(exchange);
+                } catch (IOException ioe) {
+                    log.warn("Failed to send error response: " + ioe.getMessage());
+                }
+            } catch (Exception e) {
+                log.error("Unhandled error for " + exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath(), e);
+                try {
+                    sendResponse(exchange, 500, "Internal Server Error: " + e.getMessage());
+                } catch (IOException ioe) {
+                    log.warn("Failed to send error response: " + ioe.getMessage());
+                }
+            }
+        };
+
+        try {
+            // Bursts queue in the bulkhead in front of this handler; don't start work that already timed out there
+            if (deadline.isExpired()) {
+                sendDeadlineExceeded(exchange);
+                return;
+            }
+
+            // Try to acquire rate limit permit, waiting no longer than the deadline allows
+            AdmissionEvent admission = AdmissionEvent.start();
+            Trace.Span admissionSpan = Trace.span("admission");
+            boolean admitted = rateLimiter.tryAcquire(1, Deadline.boundedWaitMillis(REQUEST_TIMEOUT_MS), TimeUnit.MILLISECONDS);
+            admission.finish(AdmissionEvent.RATE_LIMITER, exchange.getRequestMethod(), exchange.getRequestURI().getPath(), admitted);
+            admissionSpan.close();
+            if (!admitted) {
+                if (deadline.isExpired()) {
+                    sendDeadlineExceeded(exchange);
+                } else {
+                    sendResponse(exchange, 429, "Too Many Requests");
+                }
+                return;
+            }
+
+            try {
+                task.run();
+            } finally {
+                rateLimiter.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sendResponse(exchange, 503, "Service Interrupted");
+        }
+    }
+
+    private void processRequest(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+
+        httpMetrics.countRequest(method);
+
+        try {
+            RouteMatch match = routes.match(method, path);
+            switch (match.getOutcome()) {
+                case FOUND:
+                    if (isRead(method) && bookingService.isDegraded()) {
+                        // Reads may come from the degraded-mode cache while the database is unavailable
+                        exchange.getResponseHeaders().set("Warning", STALE_WARNING);
+                    }
+                    match.getEndpoint().handle(exchange, match);
+                    break;
+                case METHOD_NOT_ALLOWED:
+                    exchange.getResponseHeaders().set("Allow", match.getAllowedMethods());
+                    sendResponse(exchange, 405, "Method Not Allowed");
+                    break;
+                default:
+                    sendResponse(exchange, 404, "Not Found");
+            }
+            successfulRequests.increment();
+        } catch (Exception e) {
+            failedRequests.increment();
+            throw e;
+        }
+    }
+    private void handleCreateBooking(HttpExchange exchange, RouteMatch match) throws IOException {
+        createRequests.increment();
+        BookingRequest request = readBookingRequest(exchange);
+        Booking booking = bookingService.createBooking(request);
+        sendBooking(exchange, convertToResponse(booking));
+    }
+
+    private void handleUpdateBooking(HttpExchange exchange, RouteMatch match) throws IOException {
+        updateRequests.increment();
+        long bookingId = match.getLong(0);
+        BookingRequest request = readBookingRequest(exchange);
+        Booking booking = bookingService.updateBooking(bookingId, request.getCheckInDate(), request.getCheckOutDate());
+        sendBooking(exchange, convertToResponse(booking));
+    }
+
+    private void handleCancelBooking(HttpExchange exchange, RouteMatch match) throws IOException {
+        cancelRequests.increment();
+        long bookingId = match.getLong(0);
+        bookingService.cancelBooking(bookingId);
+        sendResponse(exchange, 200, "");
+    }
+
+    private void handleGetUserBookings(HttpExchange exchange, RouteMatch match) throws IOException {
+        userRequests.increment();
+        long userId = match.getLong(0);
+        long version = bookingService.getUserBookingsVersion(userId);
+        String etag = ETags.forUserBookings(userId, version);
+        if (acceptsBinary(exchange)) {
+            // The binary listing is its own representation, validated by its own tag
+            String binaryEtag = ETags.binaryVariant(etag);
+            byte[] body = bookingBinaryCodec.writeResponses(toResponses(bookingService.getUserBookings(userId)));
+            if (notModified(exchange, binaryEtag, body.length)) {
+                return;
+            }
+            sendBody(exchange, 200, body, BookingBinaryCodec.CONTENT_TYPE, binaryEtag);
+            return;
+        }
+        CachedResponse cached = bookingService.getCachedUserBookingsResponse(userId, version);
+        if (cached == null) {
+            // Degraded before or after the load means the listing may have come from the stale cache
+            boolean degraded = bookingService.isDegraded();
+            List<Booking> bookings = bookingService.getUserBookings(userId);
+            cached = new CachedResponse(version, bookingCodec.writeResponses(toResponses(bookings)));
+            // A degraded-mode listing may be stale, so it is not filed under the current version
+            if (!degraded && !bookingService.isDegraded()) {
+                bookingService.cacheUserBookingsResponse(userId, cached);
+            }
+        }
+        if (notModified(exchange, etag, cached.getBody().length)) {
+            return;
+        }
+        sendCachedResponse(exchange, 200, cached, etag);
+    }
+
+    private void handleGetBooking(HttpExchange exchange, RouteMatch match) throws IOException {
+        getRequests.increment();
+        long bookingId = match.getLong(0);
+        // Version first, so bytes built from an older booking are never filed under a newer version
+        long version = bookingService.getBookingVersion(bookingId);
+        String etag = ETags.forBooking(bookingId, version);
+        if (acceptsBinary(exchange)) {
+            // Binary encoding is cheap enough that internal clients skip the JSON response cache
+            String binaryEtag = ETags.binaryVariant(etag);
+            byte[] body = bookingBinaryCodec.writeResponse(convertToResponse(bookingService.getBooking(bookingId)));
+            if (notModified(exchange, binaryEtag, body.length)) {
+                return;
+            }
+            sendBody(exchange, 200, body, BookingBinaryCodec.CONTENT_TYPE, binaryEtag);
+            return;
+        }
+        CachedResponse cached = bookingService.getCachedBookingResponse(bookingId, version);
+        if (cached == null) {
+            boolean degraded = bookingService.isDegraded();
+            Booking booking = bookingService.getBooking(bookingId);
+            cached = new CachedResponse(version, bookingCodec.writeResponse(convertToResponse(booking)));
+            // Same rule as listings: a booking read while degraded may be stale
+            if (!degraded && !bookingService.isDegraded()) {
+                bookingService.cacheBookingResponse(bookingId, cached);
+            }
+        }
+        if (notModified(exchange, etag, cached.getBody().length)) {
+            return;
+        }
+        sendCachedResponse(exchange, 200, cached, etag);
+    }
+
+    private void handleGetBookings(HttpExchange exchange, RouteMatch match) throws IOException {
+        multigetRequests.increment();
+        List<Long> ids = extractIds(exchange.getRequestURI().getRawQuery());
+        multigetIds.add(ids.size());
+        BookingLookup lookup = bookingService.getBookings(ids);
+        sendJson(exchange, 200, bookingCodec.writeBatch(toResponses(lookup.getBookings()), lookup.getMissingIds()));
+    }
+
+    private Endpoint timed(String name, Endpoint endpoint) {
+        return Endpoint.timed(name, metricsRegistry.histogram("http.request.latency", Labels.of("endpoint", name)),
+                JvmMetrics.getInstance().requestAllocation(name), endpoint);
+    }
+
+    private BookingRequest readBookingRequest(HttpExchange exchange) throws IOException {
+        try (InputStream is = exchange.getRequestBody()) {
+            if (sentBinary(exchange)) {
+                return bookingBinaryCodec.readRequest(is.readAllBytes());
+            }
+            return bookingCodec.readRequest(is);
+        }
+    }
+
+    private void sendDatabaseUnavailable(HttpExchange exchange) throws IOException {
+        circuitOpenResponses.increment();
+        exchange.getResponseHeaders().set("Retry-After", "5");
+        sendResponse(exchange, 503, "Service Unavailable: database temporarily unavailable");
+    }
+
+    private void sendDeadlineExceeded(HttpExchange exchange) throws IOException {
+        deadlineExceededResponses.increment();
+        sendResponse(exchange, 504, "Gateway Timeout: request deadline exceeded");
+    }
+
+    private void sendResponse(HttpExchange exchange, int statusCode, Object response) throws IOException {
+        sendJson(exchange, statusCode, objectMapper.writeValueAsBytes(response));
+    }
+
+    private void sendBooking(HttpExchange exchange, BookingResponse response) throws IOException {
+        if (acceptsBinary(exchange)) {
+            sendBody(exchange, 200, bookingBinaryCodec.writeResponse(response), BookingBinaryCodec.CONTENT_TYPE);
+        } else {
+            sendJson(exchange, 200, bookingCodec.writeResponse(response));
+        }
+    }
+
+    private void sendJson(HttpExchange exchange, int statusCode, byte[] responseBytes) throws IOException {
+        sendBody(exchange, statusCode, responseBytes, "application/json");
+    }
+
+    private void sendBody(HttpExchange exchange, int statusCode, byte[] responseBytes, String contentType) throws IOException {
+        sendBody(exchange, statusCode, responseBytes, contentType, null);
+    }
+
+    /**
+     * Sends a body, tagged with the variant of {@code etag} for its coding when one is given.
+     * Bookings are negotiated on Accept as well as Accept-Encoding, so shared caches must key on both.
+     */
+    private void sendBody(HttpExchange exchange, int statusCode, byte[] responseBytes, String contentType, String etag) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Vary", "Accept, Accept-Encoding");
+        ResponseWriteEvent write = ResponseWriteEvent.start();
+        Trace.Span span = Trace.span("response.write");
+        Compression.send(exchange, statusCode, responseBytes, etag);
+        write.finish(statusCode, responseBytes.length);
+        span.close();
+    }
+
+    private void sendCachedResponse(HttpExchange exchange, int statusCode, CachedResponse response, String etag) throws IOException {
+        Encoding encoding = Compression.select(exchange, response.getBody().length);
+        byte[] responseBytes = response.getBody(encoding);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("Vary", "Accept, Accept-Encoding");
+        if (encoding != Encoding.IDENTITY) {
+            Compression.record(encoding, response.getBody().length, responseBytes.length);
+            exchange.getResponseHeaders().set("Content-Encoding", encoding.token());
+        }
+        exchange.getResponseHeaders().set("ETag", ETags.variant(etag, encoding));
+        ResponseWriteEvent write = ResponseWriteEvent.start();
+        Trace.Span span = Trace.span("response.write");
+        exchange.sendResponseHeaders(statusCode, responseBytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(responseBytes);
+        }
+        write.finish(statusCode, responseBytes.length);
+        span.close();
+    }
+
+    /**
+     * Answers 304 when the client already holds the current representation. The 304 repeats the
+     * tag a 200 would have carried, which depends on the coding chosen for a body of this length.
+     */
+    private boolean notModified(HttpExchange exchange, String etag, int length) throws IOException {
+        if (!ETags.matches(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+            return false;
+        }
+        notModifiedResponses.increment();
+        exchange.getResponseHeaders().set("Vary", "Accept, Accept-Encoding");
+        exchange.getResponseHeaders().set("ETag", ETags.variant(etag, Compression.select(exchange, length)));
+        exchange.sendResponseHeaders(304, -1);
+        exchange.close();
+        return true;
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    private boolean acceptsBinary(HttpExchange exchange) {
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        return accept != null && accept.contains(BookingBinaryCodec.CONTENT_TYPE);
+    }
+
+    private boolean sentBinary(HttpExchange exchange) {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        return contentType != null && contentType.startsWith(BookingBinaryCodec.CONTENT_TYPE);
+    }
+
+    /**
+     * Parses the comma-separated {@code ids} query parameter of a multi-get.
+     */
+    private List<Long> extractIds(String query) {
+        List<Long> ids = new ArrayList<>();
+        if (query != null) {
+            for (String param : query.split("&")) {
+                if (!param.startsWith("ids=")) {
+                    continue;
+                }
+                for (String id : param.substring(4).split(",")) {
+                    if (!id.isEmpty()) {
+                        ids.add(Long.parseLong(id));
+                    }
+                }
+            }
+        }
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("Expected between 1 and " + MAX_BATCH_IDS + " ids");
+        }
+        return ids;
+    }
+
+    private List<BookingResponse> toResponses(List<Booking> bookings) {
+        List<BookingResponse> responses = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            responses.add(convertToResponse(booking));
+        }
+        return responses;
+    }
+
+    private BookingResponse convertToResponse(Booking booking) {
+        BookingResponse response = new BookingResponse();
+        response.setId(booking.getId());
+        response.setUserName(booking.getUser().getName());
+        response.setHotelName(booking.getRoom().getHotel().getName());
+        response.setRoomNumber(booking.getRoom().getRoomNumber());
+        response.setCheckInDate(booking.getCheckInDate());
+        response.setCheckOutDate(booking.getCheckOutDate());
+        response.setTotalPrice(booking.getTotalPrice());
+        response.setStatus(booking.getStatus());
+        return response;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.hotelbooking.http.handlers;
+
+import com.example.hotelbooking.db.StatementProfiler;
+import com.example.hotelbooking.db.StatementStats;
+import com.example.hotelbooking.http.Compression;
+import com.example.hotelbooking.metrics.Histogram;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /metrics/db}: connection checkout wait per pool, and the statements with the most
+ * total and the highest p99 execution time since startup, with the plan of a recent slow run
+ * where one was captured. {@code ?limit=} sets how many statements are listed (10 by default).
+ */
+public class DbMetricsHandler implements HttpHandler {
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StatementProfiler profiler;
+
+    public DbMetricsHandler() {
+        this.profiler = StatementProfiler.getInstance();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            sendResponse(exchange, 405, Map.of("error", "Method Not Allowed"));
+            return;
+        }
+        int limit;
+        try {
+            limit = parseLimit(exchange.getRequestURI().getRawQuery());
+        } catch (NumberFormatException e) {
+            sendResponse(exchange, 400, Map.of("error", "limit must be a number"));
+            return;
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("slowThresholdMs", profiler.getSlowThresholdMillis());
+        Map<String, Object> checkout = new LinkedHashMap<>();
+        for (Map.Entry<String, Histogram> pool : profiler.getCheckoutWaits().entrySet()) {
+            checkout.put(pool.getKey(), latency(pool.getValue().snapshot()));
+        }
+        report.put("checkoutWait", checkout);
+        report.put("topByTotalTime", statements(profiler.top(Comparator.comparingLong(Histogram.Snapshot::getSum), limit)));
+        report.put("topByP99", statements(profiler.top(
+                Comparator.comparingLong(snapshot -> snapshot.getValueAtQuantile(0.99)), limit)));
+        sendResponse(exchange, 200, report);
+    }
+
+    private static int parseLimit(String query) {
+        if (query != null) {
+            for (String param : query.split("&")) {
+                if (param.startsWith("limit=")) {
+                    return Math.max(1, Math.min(MAX_LIMIT, Integer.parseInt(param.substring("limit=".length()))));
+                }
+            }
+        }
+        return DEFAULT_LIMIT;
+    }
+
+    private static List<Map<String, Object>> statements(List<StatementStats> statements) {
+        List<Map<String, Object>> entries = new ArrayList<>(statements.size());
+        for (StatementStats stats : statements) {
+            Histogram.Snapshot snapshot = stats.snapshot();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("sql", stats.getTemplate());
+            entry.put("totalMs", snapshot.getSum() / 1000);
+            entry.putAll(latency(snapshot));
+            entry.put("slowCount", stats.getSlowCount());
+            if (stats.getPlan() != null) {
+                entry.put("plan", stats.getPlan());
+                entry.put("planCapturedAt", stats.getPlanCapturedAtMillis());
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private static Map<String, Object> latency(Histogram.Snapshot snapshot) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("count", snapshot.getCount());
+        latency.put("meanUs", snapshot.getCount() == 0 ? 0 : snapshot.getSum() / snapshot.getCount());
+        latency.put("p50Us", snapshot.getValueAtQuantile(0.5));
+        latency.put("p99Us", snapshot.getValueAtQuantile(0.99));
+        latency.put("maxUs", snapshot.getMax());
+        return latency;
+    }
+
+    private void sendResponse(HttpExchange exchange, int statusCode, Object response) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        Compression.send(exchange, statusCode, objectMapper.writeValueAsBytes(response));
+    }
+}
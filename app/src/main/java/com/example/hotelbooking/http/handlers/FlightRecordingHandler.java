@@ -0,0 +1,106 @@
+package com.example.hotelbooking.http.handlers;
+
+import com.example.hotelbooking.http.AdminAccess;
+import com.example.hotelbooking.jfr.FlightRecordings;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Controls the JDK Flight Recorder recording of booking events.
+ * <ul>
+ *   <li>{@code GET /admin/jfr}: state of the recording</li>
+ *   <li>{@code POST /admin/jfr/start?settings=profile&maxAgeSeconds=600}: starts one
+ *       ({@code default} settings and 10 minutes unless given)</li>
+ *   <li>{@code GET /admin/jfr/dump}: downloads what it holds as a {@code .jfr} file, for JDK Mission
+ *       Control or {@code jfr print}</li>
+ *   <li>{@code POST /admin/jfr/stop}: stops it, keeping the data for a last dump</li>
+ * </ul>
+ */
+public class FlightRecordingHandler implements HttpHandler {
+    private static final long DEFAULT_MAX_AGE_SECONDS = 600;
+
+    private final FlightRecordings recordings;
+
+    public FlightRecordingHandler() {
+        this.recordings = FlightRecordings.getInstance();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!AdminAccess.isAllowed(exchange)) {
+            sendJson(exchange, 403, "{\"error\": \"Forbidden\"}");
+            return;
+        }
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        try {
+            if ("/admin/jfr".equals(path) && "GET".equals(method)) {
+                sendState(exchange, 200);
+            } else if ("/admin/jfr/start".equals(path) && "POST".equals(method)) {
+                String query = exchange.getRequestURI().getRawQuery();
+                String settings = param(query, "settings", "default");
+                long maxAgeSeconds = Long.parseLong(param(query, "maxAgeSeconds", Long.toString(DEFAULT_MAX_AGE_SECONDS)));
+                boolean started = recordings.start(settings, Duration.ofSeconds(maxAgeSeconds));
+                sendState(exchange, started ? 200 : 409);
+            } else if ("/admin/jfr/stop".equals(path) && "POST".equals(method)) {
+                sendState(exchange, recordings.stop() ? 200 : 409);
+            } else if ("/admin/jfr/dump".equals(path) && "GET".equals(method)) {
+                sendDump(exchange);
+            } else {
+                sendJson(exchange, 404, "{\"error\": \"Not Found\"}");
+            }
+        } catch (IllegalArgumentException e) {
+            sendJson(exchange, 400, "{\"error\": \"" + String.valueOf(e.getMessage()).replace("\"", "'") + "\"}");
+        }
+    }
+
+    private void sendDump(HttpExchange exchange) throws IOException {
+        Path file = recordings.dump();
+        if (file == null) {
+            sendState(exchange, 409);
+            return;
+        }
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+            exchange.getResponseHeaders().set("Content-Disposition", "attachment; filename=\"hotel-booking.jfr\"");
+            exchange.sendResponseHeaders(200, Files.size(file));
+            try (OutputStream os = exchange.getResponseBody()) {
+                Files.copy(file, os);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void sendState(HttpExchange exchange, int code) throws IOException {
+        sendJson(exchange, code, "{\"state\": \"" + recordings.getState() + "\"}");
+    }
+
+    private static String param(String query, String name, String defaultValue) {
+        if (query != null) {
+            for (String param : query.split("&")) {
+                if (param.startsWith(name + "=")) {
+                    return param.substring(name.length() + 1);
+                }
+            }
+        }
+        return defaultValue;
+    }
+
+    private void sendJson(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] response = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(code, response.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(response);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.hotelbooking.http.handlers;
+
+import com.example.hotelbooking.http.ServerLifecycle;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Load balancer probes. {@code GET /health/live} fails only once the server has stopped;
+ * {@code GET /health/ready} fails as soon as shutdown begins, before any request is refused.
+ *
+ * Probes are not access-logged and bypass the drain filter, so they keep answering while the server drains.
+ */
+public class HealthHandler implements HttpHandler {
+    private final ServerLifecycle lifecycle;
+
+    public HealthHandler(ServerLifecycle lifecycle) {
+        this.lifecycle = lifecycle;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+            send(exchange, 405, "{\"error\": \"Method Not Allowed\"}");
+            return;
+        }
+        String path = exchange.getRequestURI().getPath();
+        ServerLifecycle.State state = lifecycle.getState();
+        String body = "{\"status\": \"" + state + "\", \"inFlight\": " + lifecycle.getInFlight() + "}";
+        if ("/health/live".equals(path)) {
+            send(exchange, lifecycle.isLive() ? 200 : 503, body);
+        } else if ("/health/ready".equals(path)) {
+            send(exchange, lifecycle.isReady() ? 200 : 503, body);
+        } else {
+            send(exchange, 404, "{\"error\": \"Not Found\"}");
+        }
+    }
+
+    private void send(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] response = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(code, -1);
+            exchange.close();
+            return;
+        }
+        exchange.sendResponseHeaders(code, response.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(response);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.hotelbooking.http.handlers;
+
+import com.example.hotelbooking.http.Compression;
+import com.example.hotelbooking.http.Compression.Encoding;
+import com.example.hotelbooking.http.ETags;
+import com.example.hotelbooking.http.RouteMatch;
+import com.example.hotelbooking.http.HttpMetrics;
+import com.example.hotelbooking.http.RouteTable;
+import com.example.hotelbooking.logging.AsyncLogger;
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+import com.example.hotelbooking.service.CachedResponse;
+import com.example.hotelbooking.service.CatalogueService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read-only hotel and room catalogue: {@code GET /api/hotels} and {@code GET /api/hotels/{id}/rooms}.
+ *
+ * Every response is a pre-serialized body from the current catalogue snapshot, so requests do no
+ * database or serialization work and are answered on the dispatcher threads without a bulkhead.
+ */
+public class HotelHandler implements HttpHandler {
+    private final CatalogueService catalogueService;
+    private final MetricsRegistry metricsRegistry;
+    private final AsyncLogger log = AsyncLogger.getInstance();
+    private final RouteTable routes;
+    private final HttpMetrics httpMetrics = HttpMetrics.getInstance();
+    private final Counter hotelsRequests = MetricsRegistry.getInstance().counter("catalogue.hotels.requests");
+    private final Counter roomsRequests = MetricsRegistry.getInstance().counter("catalogue.rooms.requests");
+    private final Counter notModifiedResponses = MetricsRegistry.getInstance().counter("http.responses.not_modified");
+
+    public HotelHandler(CatalogueService catalogueService) {
+        this.catalogueService = catalogueService;
+        this.metricsRegistry = MetricsRegistry.getInstance();
+        this.routes = RouteTable.builder()
+            .add("GET", "/api/hotels", this::handleGetHotels)
+            .add("HEAD", "/api/hotels", this::handleGetHotels)
+            .add("GET", "/api/hotels/{id}/rooms", this::handleGetRooms)
+            .add("HEAD", "/api/hotels/{id}/rooms", this::handleGetRooms)
+            .build();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try {
+            httpMetrics.countRequest(exchange.getRequestMethod());
+            RouteMatch match = routes.match(exchange.getRequestMethod(), exchange.getRequestURI().getPath());
+            switch (match.getOutcome()) {
+                case FOUND:
+                    match.getEndpoint().handle(exchange, match);
+                    break;
+                case METHOD_NOT_ALLOWED:
+                    exchange.getResponseHeaders().set("Allow", match.getAllowedMethods());
+                    sendError(exchange, 405, "Method Not Allowed");
+                    break;
+                default:
+                    sendError(exchange, 404, "Not Found");
+            }
+        } catch (Exception e) {
+            log.error("Unhandled error for " + exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath(), e);
+            if (exchange.getResponseCode() < 0) {
+                sendError(exchange, 500, "Internal Server Error");
+            }
+        } finally {
+            httpMetrics.countResponse(exchange.getRequestMethod(), exchange.getResponseCode());
+            log.access(exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                    exchange.getResponseCode(), System.nanoTime() - start);
+        }
+    }
+
+    private void handleGetHotels(HttpExchange exchange, RouteMatch match) throws IOException {
+        hotelsRequests.increment();
+        CachedResponse hotels = catalogueService.getCatalogue().getHotels();
+        sendCatalogue(exchange, hotels, ETags.forHotels(hotels.getVersion()));
+    }
+
+    private void handleGetRooms(HttpExchange exchange, RouteMatch match) throws IOException {
+        roomsRequests.increment();
+        long hotelId = match.getLong(0);
+        CachedResponse rooms = catalogueService.getCatalogue().getRooms(hotelId);
+        if (rooms == null) {
+            sendError(exchange, 404, "Hotel not found: " + hotelId);
+            return;
+        }
+        sendCatalogue(exchange, rooms, ETags.forHotelRooms(hotelId, rooms.getVersion()));
+    }
+
+    private void sendCatalogue(HttpExchange exchange, CachedResponse response, String etag) throws IOException {
+        // Chosen first, so a 304 repeats the same variant tag the 200 would have carried
+        Encoding encoding = Compression.select(exchange, response.getBody().length);
+        exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        if (ETags.matches(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+            notModifiedResponses.increment();
+            exchange.getResponseHeaders().set("ETag", ETags.variant(etag, encoding));
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] responseBytes = response.getBody(encoding);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (encoding != Encoding.IDENTITY) {
+            Compression.record(encoding, response.getBody().length, responseBytes.length);
+            exchange.getResponseHeaders().set("Content-Encoding", encoding.token());
+        }
+        exchange.getResponseHeaders().set("ETag", ETags.variant(etag, encoding));
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            return;
+        }
+        exchange.sendResponseHeaders(200, responseBytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(responseBytes);
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int code, String message) throws IOException {
+        byte[] response = ("{\"error\": \"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, response.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(response);
+        }
+    }
+}
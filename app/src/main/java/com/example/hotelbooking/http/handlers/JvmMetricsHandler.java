@@ -0,0 +1,119 @@
+package com.example.hotelbooking.http.handlers;
+
+import com.example.hotelbooking.http.Compression;
+import com.example.hotelbooking.metrics.AllocationMeter;
+import com.example.hotelbooking.metrics.Histogram;
+import com.example.hotelbooking.metrics.JvmMetrics;
+import com.example.hotelbooking.metrics.WindowedCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@code GET /metrics/jvm}: heap and buffer usage, collections and their pauses, the allocation
+ * rate, allocation per request by endpoint and by thread pool, thread counts and executor queue
+ * depths, for telling GC and allocation trouble from slow dependencies during a latency incident.
+ */
+public class JvmMetricsHandler implements HttpHandler {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JvmMetrics jvmMetrics;
+
+    public JvmMetricsHandler() {
+        this.jvmMetrics = JvmMetrics.getInstance();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            sendResponse(exchange, 405, Map.of("error", "Method Not Allowed"));
+            return;
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        Map<String, Object> memory = new LinkedHashMap<>();
+        memory.put("heap", usage(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage()));
+        memory.put("nonHeap", usage(ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage()));
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            Map<String, Object> buffers = new LinkedHashMap<>();
+            buffers.put("count", pool.getCount());
+            buffers.put("usedBytes", pool.getMemoryUsed());
+            buffers.put("capacityBytes", pool.getTotalCapacity());
+            memory.put(pool.getName(), buffers);
+        }
+        report.put("memory", memory);
+        report.put("gc", collections());
+
+        Map<String, Object> allocation = new LinkedHashMap<>();
+        allocation.put("bytesPerSecond", rates(jvmMetrics.getAllocatedBytes()));
+        Map<String, Object> perRequest = new TreeMap<>();
+        for (Map.Entry<String, AllocationMeter> endpoint : jvmMetrics.getEndpointAllocations().entrySet()) {
+            double bytes = endpoint.getValue().getBytesPerCall(WindowedCounter.ONE_MINUTE);
+            if (!Double.isNaN(bytes)) {
+                perRequest.put(endpoint.getKey(), Math.round(bytes));
+            }
+        }
+        allocation.put("bytesPerRequest1m", perRequest);
+        allocation.put("bytesByThreadPool", jvmMetrics.getAllocatedBytesByThreadPool());
+        report.put("allocation", allocation);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Map<String, Object> threadCounts = new LinkedHashMap<>();
+        threadCounts.put("live", threads.getThreadCount());
+        threadCounts.put("daemon", threads.getDaemonThreadCount());
+        threadCounts.put("peak", threads.getPeakThreadCount());
+        report.put("threads", threadCounts);
+        report.put("queueDepths", jvmMetrics.getQueueDepths());
+        sendResponse(exchange, 200, report);
+    }
+
+    private Map<String, Object> collections() {
+        Map<String, Object> collectors = new LinkedHashMap<>();
+        Map<String, Histogram> pauses = jvmMetrics.getGcPauses();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("count", collector.getCollectionCount());
+            entry.put("totalMs", collector.getCollectionTime());
+            Histogram pause = pauses.get(collector.getName());
+            if (pause != null) {
+                Histogram.Snapshot snapshot = pause.snapshot();
+                entry.put("p50PauseUs", snapshot.getValueAtQuantile(0.5));
+                entry.put("p99PauseUs", snapshot.getValueAtQuantile(0.99));
+                entry.put("maxPauseUs", snapshot.getMax());
+            }
+            collectors.put(collector.getName(), entry);
+        }
+        return collectors;
+    }
+
+    private static Map<String, Object> usage(MemoryUsage usage) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("usedBytes", usage.getUsed());
+        entry.put("committedBytes", usage.getCommitted());
+        entry.put("maxBytes", usage.getMax());
+        return entry;
+    }
+
+    private static Map<String, Object> rates(WindowedCounter counter) {
+        Map<String, Object> rates = new LinkedHashMap<>();
+        rates.put("1s", Math.round(counter.rate(WindowedCounter.ONE_SECOND)));
+        rates.put("1m", Math.round(counter.rate(WindowedCounter.ONE_MINUTE)));
+        rates.put("5m", Math.round(counter.rate(WindowedCounter.FIVE_MINUTES)));
+        return rates;
+    }
+
+    private void sendResponse(HttpExchange exchange, int statusCode, Object response) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        Compression.send(exchange, statusCode, objectMapper.writeValueAsBytes(response));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.hotelbooking.http.handlers;
+
+import com.example.hotelbooking.http.Compression;
+import com.example.hotelbooking.metrics.JsonMetricsWriter;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+import com.example.hotelbooking.metrics.PrometheusTextWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * Serves the metrics registry as JSON, or in the Prometheus text format when the client asks for
+ * {@code text/plain} or OpenMetrics in {@code Accept} (as Prometheus scrapers do) or passes
+ * {@code ?format=prometheus}.
+ */
+public class MetricsHandler implements HttpHandler {
+    private final ObjectMapper objectMapper;
+    private final MetricsRegistry metricsRegistry;
+    private final JsonMetricsWriter jsonWriter = new JsonMetricsWriter();
+    private final PrometheusTextWriter prometheusWriter = new PrometheusTextWriter();
+
+    public MetricsHandler() {
+        this.objectMapper = new ObjectMapper();
+        this.metricsRegistry = MetricsRegistry.getInstance();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            sendResponse(exchange, 405, "Method Not Allowed");
+            return;
+        }
+
+        try {
+            exchange.getResponseHeaders().set("Vary", "Accept, Accept-Encoding");
+            if (wantsPrometheus(exchange)) {
+                send(exchange, 200, PrometheusTextWriter.CONTENT_TYPE, prometheusWriter.write(metricsRegistry));
+            } else {
+                send(exchange, 200, JsonMetricsWriter.CONTENT_TYPE, jsonWriter.write(metricsRegistry));
+            }
+        } catch (Exception e) {
+            sendResponse(exchange, 500, "Internal Server Error: " + e.getMessage());
+        }
+    }
+
+    private static boolean wantsPrometheus(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null && query.contains("format=")) {
+            return query.contains("format=prometheus");
+        }
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        return accept != null && !accept.contains("application/json")
+                && (accept.contains("text/plain") || accept.contains("application/openmetrics-text"));
+    }
+
+    private void send(HttpExchange exchange, int statusCode, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        Compression.send(exchange, statusCode, body);
+    }
+
+    private void sendResponse(HttpExchange exchange, int statusCode, Object response) throws IOException {
+        send(exchange, statusCode, "application/json", objectMapper.writeValueAsBytes(response));
+    }
+}
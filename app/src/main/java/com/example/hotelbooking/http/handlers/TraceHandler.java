@@ -0,0 +1,115 @@
+package com.example.hotelbooking.http.handlers;
+
+import com.example.hotelbooking.http.AdminAccess;
+import com.example.hotelbooking.http.Compression;
+import com.example.hotelbooking.tracing.Trace;
+import com.example.hotelbooking.tracing.TraceStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the slow traces kept by the {@link TraceStore}.
+ * <ul>
+ *   <li>{@code GET /admin/traces?limit=20}: the most recent ones, newest first, without spans</li>
+ *   <li>{@code GET /admin/traces/{id}}: one trace with its spans; the id is also returned to
+ *       traced requests in the {@code X-Trace-Id} header</li>
+ * </ul>
+ */
+public class TraceHandler implements HttpHandler {
+    private static final String PREFIX = "/admin/traces";
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TraceStore store;
+
+    public TraceHandler() {
+        this.store = TraceStore.getInstance();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!AdminAccess.isAllowed(exchange)) {
+            sendResponse(exchange, 403, Map.of("error", "Forbidden"));
+            return;
+        }
+        if (!exchange.getRequestMethod().equals("GET")) {
+            sendResponse(exchange, 405, Map.of("error", "Method Not Allowed"));
+            return;
+        }
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals(PREFIX) || path.equals(PREFIX + "/")) {
+            int limit;
+            try {
+                limit = parseLimit(exchange.getRequestURI().getRawQuery());
+            } catch (NumberFormatException e) {
+                sendResponse(exchange, 400, Map.of("error", "limit must be a number"));
+                return;
+            }
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("slowThresholdMs", store.getSlowThresholdMillis());
+            List<Map<String, Object>> traces = new ArrayList<>();
+            for (Trace trace : store.recent(limit)) {
+                traces.add(summary(trace));
+            }
+            report.put("traces", traces);
+            sendResponse(exchange, 200, report);
+            return;
+        }
+        Trace trace = store.find(path.substring(PREFIX.length() + 1));
+        if (trace == null) {
+            sendResponse(exchange, 404, Map.of("error", "Trace not found"));
+            return;
+        }
+        Map<String, Object> detail = summary(trace);
+        List<Map<String, Object>> spans = new ArrayList<>(trace.getSpans().size());
+        for (Trace.Span span : trace.getSpans()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", span.getName());
+            entry.put("depth", span.getDepth());
+            entry.put("startUs", span.getStartOffsetNanos() / 1000);
+            entry.put("durationUs", span.getDurationNanos() < 0 ? -1 : span.getDurationNanos() / 1000);
+            spans.add(entry);
+        }
+        detail.put("spans", spans);
+        if (trace.getDroppedSpans() > 0) {
+            detail.put("droppedSpans", trace.getDroppedSpans());
+        }
+        sendResponse(exchange, 200, detail);
+    }
+
+    private static Map<String, Object> summary(Trace trace) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("id", trace.getId());
+        summary.put("request", trace.getName());
+        summary.put("status", trace.getStatus());
+        summary.put("startedAt", trace.getStartEpochMillis());
+        summary.put("durationUs", trace.getDurationNanos() / 1000);
+        summary.put("spanCount", trace.getSpans().size());
+        return summary;
+    }
+
+    private static int parseLimit(String query) {
+        if (query != null) {
+            for (String param : query.split("&")) {
+                if (param.startsWith("limit=")) {
+                    return Math.max(1, Integer.parseInt(param.substring("limit=".length())));
+                }
+            }
+        }
+        return DEFAULT_LIMIT;
+    }
+
+    private void sendResponse(HttpExchange exchange, int statusCode, Object response) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        Compression.send(exchange, statusCode, objectMapper.writeValueAsBytes(response));
+    }
+}
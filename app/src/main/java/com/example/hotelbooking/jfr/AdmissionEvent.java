@@ -0,0 +1,55 @@
+package com.example.hotelbooking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Time a request spent waiting to be let in: queued for a bulkhead thread, or waiting for a
+ * rate limiter permit.
+ *
+ * Like the other booking events, it is created and begun by {@code start()} and committed by
+ * {@code finish(...)} only if enabled, so a disabled event costs a flag check: the object never
+ * escapes and the JIT removes it.
+ */
+@Name("hotel.Admission")
+@Label("Request Admission")
+@Category({"Hotel Booking", "HTTP"})
+// Recorded several times per request; the stage says more than a stack trace would
+@StackTrace(false)
+@Description("Wait for a bulkhead thread or a rate limiter permit")
+public class AdmissionEvent extends Event {
+    public static final String BULKHEAD_QUEUE = "bulkhead-queue";
+    public static final String RATE_LIMITER = "rate-limiter";
+
+    @Label("Stage")
+    public String stage;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Admitted")
+    public boolean admitted;
+
+    public static AdmissionEvent start() {
+        AdmissionEvent event = new AdmissionEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String stage, String method, String path, boolean admitted) {
+        if (shouldCommit()) {
+            this.stage = stage;
+            this.method = method;
+            this.path = path;
+            this.admitted = admitted;
+            commit();
+        }
+    }
+}
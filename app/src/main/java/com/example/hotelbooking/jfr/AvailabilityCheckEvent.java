@@ -0,0 +1,47 @@
+package com.example.hotelbooking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.time.LocalDate;
+
+@Name("hotel.AvailabilityCheck")
+@Label("Availability Check")
+@Category({"Hotel Booking", "Service"})
+@Description("Check that a room is free for a stay, against the availability cache and then the database")
+public class AvailabilityCheckEvent extends Event {
+    @Label("Room Id")
+    public long roomId;
+
+    @Label("Check-in")
+    public String checkIn;
+
+    @Label("Check-out")
+    public String checkOut;
+
+    @Label("Answered From Cache")
+    public boolean fromCache;
+
+    @Label("Available")
+    public boolean available;
+
+    public static AvailabilityCheckEvent start() {
+        AvailabilityCheckEvent event = new AvailabilityCheckEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(long roomId, LocalDate checkIn, LocalDate checkOut, boolean fromCache, boolean available) {
+        if (shouldCommit()) {
+            this.roomId = roomId;
+            this.checkIn = checkIn.toString();
+            this.checkOut = checkOut.toString();
+            this.fromCache = fromCache;
+            this.available = available;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.hotelbooking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("hotel.CacheLookup")
+@Label("Cache Lookup")
+@Category({"Hotel Booking", "Cache"})
+@StackTrace(false)
+@Description("Lookup in one of the in-process caches")
+public class CacheLookupEvent extends Event {
+    @Label("Cache")
+    public String cache;
+
+    @Label("Keys")
+    public int keys;
+
+    @Label("Hits")
+    public int hits;
+
+    public static CacheLookupEvent start() {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String cache, int keys, int hits) {
+        if (shouldCommit()) {
+            this.cache = cache;
+            this.keys = keys;
+            this.hits = hits;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.hotelbooking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("hotel.DaoCall")
+@Label("DAO Call")
+@Category({"Hotel Booking", "Database"})
+@Description("One BookingDao call, connection checkout included")
+public class DaoCallEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    public static DaoCallEvent start() {
+        DaoCallEvent event = new DaoCallEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String operation) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.hotelbooking.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The one flight recording the admin endpoint controls. It uses a JDK settings file
+ * ({@code default} or {@code profile}) plus the booking events, which have no threshold, and
+ * keeps a rolling window of {@code maxAge} on disk until stopped.
+ */
+public final class FlightRecordings {
+    private static final List<Class<? extends jdk.jfr.Event>> EVENTS = List.of(
+            AdmissionEvent.class, CacheLookupEvent.class, AvailabilityCheckEvent.class,
+            DaoCallEvent.class, ResponseWriteEvent.class);
+    private static final FlightRecordings INSTANCE = new FlightRecordings();
+
+    private Recording recording;
+
+    public static FlightRecordings getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts a recording, or returns false when one is already running.
+     *
+     * @throws IllegalArgumentException if {@code settings} is not a known JDK configuration
+     */
+    public synchronized boolean start(String settings, Duration maxAge) throws IOException {
+        if (isRunning()) {
+            return false;
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (ParseException | IOException e) {
+            throw new IllegalArgumentException("Unknown recording settings: " + settings, e);
+        }
+        close();
+        Recording started = new Recording(configuration);
+        started.setName("hotel-booking");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        for (Class<? extends jdk.jfr.Event> event : EVENTS) {
+            started.enable(event).withoutThreshold();
+        }
+        started.start();
+        recording = started;
+        return true;
+    }
+
+    /**
+     * Writes what the recording holds so far to a temporary file, which the caller deletes, or
+     * returns null when there is no recording. The recording keeps running.
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            return null;
+        }
+        Path file = Files.createTempFile("hotel-booking-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Stops the recording, keeping its data for a last dump, or returns false when none is running.
+     */
+    public synchronized boolean stop() {
+        if (!isRunning()) {
+            return false;
+        }
+        recording.stop();
+        return true;
+    }
+
+    public synchronized String getState() {
+        return recording == null ? "NONE" : recording.getState().name();
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    private void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
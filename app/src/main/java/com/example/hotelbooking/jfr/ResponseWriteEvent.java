@@ -0,0 +1,37 @@
+package com.example.hotelbooking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("hotel.ResponseWrite")
+@Label("Response Write")
+@Category({"Hotel Booking", "HTTP"})
+@StackTrace(false)
+@Description("Sending response headers and body, compression included")
+public class ResponseWriteEvent extends Event {
+    @Label("Status")
+    public int status;
+
+    @Label("Body Size")
+    @DataAmount
+    public long bytes;
+
+    public static ResponseWriteEvent start() {
+        ResponseWriteEvent event = new ResponseWriteEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(int status, long bytes) {
+        if (shouldCommit()) {
+            this.status = status;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.hotelbooking.logging;
+
+import com.example.hotelbooking.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Access and error log that never blocks the calling thread.
+ *
+ * Request threads only drop a record into a {@link LogRing}. A single background thread formats
+ * the records (stack traces included), collects them in one buffer and writes that buffer to a
+ * rotating file. If the writer falls behind and the ring fills up, new records are dropped and
+ * counted as {@code log.dropped} rather than slowing requests down.
+ *
+ * The default instance writes to {@code logs/hotel-booking.log}; the
+ * {@code hotel.log.file}, {@code hotel.log.maxBytes} and {@code hotel.log.backups}
+ * system properties override the file, its size limit and the number of rotated files kept.
+ * It is not closed by a shutdown hook of its own, since hooks run concurrently and it would stop
+ * before the server has finished logging its drain; whoever owns shutdown closes it last.
+ */
+public final class AsyncLogger implements AutoCloseable {
+    private static final int RING_CAPACITY = 16384;
+    private static final int BATCH_SIZE = 512;
+    private static final int BUFFER_BYTES = 256 * 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static volatile AsyncLogger instance;
+
+    private final LogRing ring;
+    private final RotatingFileWriter writer;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final StringBuilder line = new StringBuilder(256);
+    private final LongAdder failedWrites = new LongAdder();
+    private final Thread consumer;
+    private volatile boolean running = true;
+    // Every record below this sequence has been handed to the file
+    private volatile long written;
+
+    public AsyncLogger(Path file, int capacity, long maxFileBytes, int backups) throws IOException {
+        this.ring = new LogRing(capacity);
+        this.writer = new RotatingFileWriter(file, maxFileBytes, backups);
+        this.consumer = new Thread(this::consume, "async-log-writer");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    public static AsyncLogger getInstance() {
+        AsyncLogger logger = instance;
+        if (logger == null) {
+            synchronized (AsyncLogger.class) {
+                logger = instance;
+                if (logger == null) {
+                    logger = createDefault();
+                    instance = logger;
+                }
+            }
+        }
+        return logger;
+    }
+
+    private static AsyncLogger createDefault() {
+        Path file = Paths.get(System.getProperty("hotel.log.file", "logs/hotel-booking.log"));
+        long maxBytes = Long.getLong("hotel.log.maxBytes", 50L * 1024 * 1024);
+        int backups = Integer.getInteger("hotel.log.backups", 5);
+        try {
+            AsyncLogger logger = new AsyncLogger(file, RING_CAPACITY, maxBytes, backups);
+            MetricsRegistry metricsRegistry = MetricsRegistry.getInstance();
+            metricsRegistry.registerGauge("log.dropped", logger::getDropped);
+            metricsRegistry.registerGauge("log.pending", logger.ring::pending);
+            metricsRegistry.registerGauge("log.rotation_failures", logger::getRotationFailures);
+            return logger;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open log file " + file, e);
+        }
+    }
+
+    public void access(String method, String path, int status, long durationNanos) {
+        ring.offer(LogRing.ACCESS, method, path, status, durationNanos, null, null);
+    }
+
+    public void warn(String message) {
+        ring.offer(LogRing.WARN, null, null, 0, 0, message, null);
+    }
+
+    public void error(String message, Throwable error) {
+        ring.offer(LogRing.ERROR, null, null, 0, 0, message, error);
+    }
+
+    /**
+     * Records lost because the ring was full or the file could not be written.
+     */
+    public long getDropped() {
+        return ring.dropped() + failedWrites.sum();
+    }
+
+    /**
+     * Times the log file could not be rotated; it keeps growing until a later rotation succeeds.
+     */
+    public long getRotationFailures() {
+        return writer.getRotationFailures();
+    }
+
+    private void consume() {
+        while (running || ring.pending() > 0) {
+            int drained = ring.drain(this::format, BATCH_SIZE);
+            if (drained == 0) {
+                flush();
+                written = ring.consumedSequence();
+                if (!running) {
+                    // Only records claimed but never published remain; don't wait on them
+                    break;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        flush();
+    }
+
+    private void format(LogRing.LogRecord record) {
+        line.setLength(0);
+        line.append(Instant.ofEpochMilli(record.timestampMillis)).append(' ');
+        switch (record.kind) {
+            case LogRing.ACCESS:
+                line.append("ACCESS ").append(record.method).append(' ').append(record.path)
+                    .append(' ').append(record.status)
+                    .append(' ').append(TimeUnit.NANOSECONDS.toMicros(record.durationNanos)).append("us");
+                break;
+            case LogRing.WARN:
+                line.append("WARN [").append(record.threadName).append("] ").append(record.message);
+                break;
+            default:
+                line.append("ERROR [").append(record.threadName).append("] ").append(record.message);
+                if (record.error != null) {
+                    StringWriter trace = new StringWriter();
+                    record.error.printStackTrace(new PrintWriter(trace));
+                    line.append(System.lineSeparator()).append(trace.toString().stripTrailing());
+                }
+        }
+        line.append('\n');
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > buffer.remaining()) {
+            flush();
+        }
+        if (bytes.length > buffer.capacity()) {
+            write(ByteBuffer.wrap(bytes));
+        } else {
+            buffer.put(bytes);
+        }
+    }
+
+    private void flush() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        write(buffer);
+        buffer.clear();
+    }
+
+    private void write(ByteBuffer bytes) {
+        try {
+            writer.write(bytes);
+        } catch (IOException e) {
+            // Nowhere left to report it; count the lost batch like any other drop
+            failedWrites.increment();
+            bytes.position(bytes.limit());
+        }
+    }
+
+    /**
+     * Waits until everything logged before the call has been written to the file.
+     * Returns false if that took longer than the timeout.
+     */
+    public boolean awaitFlushed(long timeoutMillis) {
+        long target = ring.claimedSequence();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (written < target) {
+            if (!consumer.isAlive() || System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Stops the writer thread after it has written everything already logged.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+            writer.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Already shutting down
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.hotelbooking.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring of preallocated log records.
+ *
+ * Producers claim a sequence with a CAS and fill the slot in place, so logging never takes a lock
+ * and never allocates a record. When the consumer has fallen a whole ring behind, the record is
+ * dropped and counted rather than making the request thread wait.
+ */
+final class LogRing {
+    static final byte ACCESS = 0;
+    static final byte WARN = 1;
+    static final byte ERROR = 2;
+
+    private final LogRecord[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    // Every sequence below this has been consumed and its slot may be reused
+    private volatile long consumed;
+
+    LogRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new LogRecord[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new LogRecord();
+        }
+    }
+
+    boolean offer(byte kind, String method, String path, int status, long durationNanos,
+                  String message, Throwable error) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                dropped.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        LogRecord record = slots[(int) (sequence & mask)];
+        record.kind = kind;
+        record.timestampMillis = System.currentTimeMillis();
+        record.method = method;
+        record.path = path;
+        record.status = status;
+        record.durationNanos = durationNanos;
+        record.message = message;
+        record.error = error;
+        record.threadName = Thread.currentThread().getName();
+        // Publishing the sequence last makes the fields above visible to the consumer
+        record.sequence = sequence;
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} published records to the consumer, in claim order.
+     * Stops early at a slot that has been claimed but not yet filled. Single consumer only.
+     */
+    int drain(Consumer<LogRecord> consumer, int max) {
+        long next = consumed;
+        int count = 0;
+        while (count < max) {
+            LogRecord record = slots[(int) (next & mask)];
+            if (record.sequence != next) {
+                break;
+            }
+            consumer.accept(record);
+            record.clear();
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            consumed = next;
+        }
+        return count;
+    }
+
+    long pending() {
+        return claimed.get() - consumed;
+    }
+
+    /**
+     * Sequence of the next record to be claimed; everything logged so far is below it.
+     */
+    long claimedSequence() {
+        return claimed.get();
+    }
+
+    long consumedSequence() {
+        return consumed;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * One preallocated slot. Fields are written by the claiming producer and read by the consumer
+     * once {@link #sequence} shows the slot was published for the sequence it expects.
+     */
+    static final class LogRecord {
+        volatile long sequence = -1;
+        byte kind;
+        long timestampMillis;
+        String method;
+        String path;
+        int status;
+        long durationNanos;
+        String message;
+        Throwable error;
+        String threadName;
+
+        private void clear() {
+            method = null;
+            path = null;
+            message = null;
+            error = null;
+            threadName = null;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.hotelbooking.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends buffers to a log file and rolls it over once it passes a size limit.
+ * The current file keeps its name; older ones become {@code name.1}, {@code name.2}, ...
+ * up to the number of backups kept. Not thread-safe: only the log writer thread uses it.
+ */
+final class RotatingFileWriter implements AutoCloseable {
+    private final Path file;
+    private final long maxBytes;
+    private final int backups;
+    private FileChannel channel;
+    private long rotateAt;
+    private volatile long rotationFailures;
+
+    RotatingFileWriter(Path file, long maxBytes, int backups) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.backups = backups;
+        this.rotateAt = maxBytes;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = open();
+    }
+
+    /**
+     * Writes the buffer's remaining bytes in one go, rotating first if the file is full.
+     */
+    void write(ByteBuffer buffer) throws IOException {
+        if (channel.size() >= rotateAt) {
+            rotate();
+        }
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Times rotation failed and the current file was kept instead.
+     */
+    long getRotationFailures() {
+        return rotationFailures;
+    }
+
+    /**
+     * Rolls the files over. The current file is reopened whatever happens; if a rename failed it
+     * simply keeps growing, and rotation is tried again once it has grown by another maxBytes.
+     */
+    private void rotate() throws IOException {
+        channel.close();
+        boolean rotated = false;
+        try {
+            for (int i = backups - 1; i >= 1; i--) {
+                Path older = backup(i);
+                if (Files.exists(older)) {
+                    Files.move(older, backup(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            if (backups > 0) {
+                Files.move(file, backup(1), StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.delete(file);
+            }
+            rotated = true;
+        } catch (IOException e) {
+            rotationFailures++;
+        } finally {
+            channel = open();
+        }
+        rotateAt = rotated ? maxBytes : channel.size() + maxBytes;
+    }
+
+    private Path backup(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.hotelbooking.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Heap bytes allocated by the calling thread between {@link #start()} and {@link #finish(long)},
+ * summed per window together with the number of measured calls, so bytes per call can be read
+ * over the last 1 s, 1 min or 5 min.
+ *
+ * Relies on HotSpot's per-thread allocation counter; where it is unavailable or turned off,
+ * {@link #start()} returns -1 and nothing is recorded.
+ */
+public final class AllocationMeter {
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+
+    private final WindowedCounter bytes;
+    private final WindowedCounter calls;
+    private final WindowedRatio bytesPerCall;
+
+    AllocationMeter(WindowedCounter bytes, WindowedCounter calls, WindowedRatio bytesPerCall) {
+        this.bytes = bytes;
+        this.calls = calls;
+        this.bytesPerCall = bytesPerCall;
+    }
+
+    /**
+     * Bytes the calling thread has allocated so far, or -1 when that cannot be measured.
+     */
+    public static long currentThreadAllocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    public long start() {
+        return currentThreadAllocatedBytes();
+    }
+
+    public void finish(long allocatedAtStart) {
+        if (allocatedAtStart < 0) {
+            return;
+        }
+        long allocated = currentThreadAllocatedBytes() - allocatedAtStart;
+        if (allocated >= 0) {
+            bytes.add(allocated);
+            calls.increment();
+        }
+    }
+
+    /**
+     * Mean bytes allocated per call over the last {@code seconds}, or NaN when there were none.
+     */
+    public double getBytesPerCall(int seconds) {
+        return bytesPerCall.get(seconds);
+    }
+
+    static Map<String, Long> allocatedBytesByThreadPool() {
+        Map<String, Long> byPool = new TreeMap<>();
+        if (THREADS == null) {
+            return byPool;
+        }
+        long[] ids = THREADS.getAllThreadIds();
+        ThreadInfo[] threads = THREADS.getThreadInfo(ids);
+        long[] allocated = THREADS.getThreadAllocatedBytes(ids);
+        for (int i = 0; i < ids.length; i++) {
+            // Threads that ended since their ids were listed have no info and report -1
+            if (threads[i] != null && allocated[i] >= 0) {
+                byPool.merge(threads[i].getThreadName().replaceFirst("-?\\d+$", ""), allocated[i], Long::sum);
+            }
+        }
+        return byPool;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled() ? threads : null;
+    }
+}
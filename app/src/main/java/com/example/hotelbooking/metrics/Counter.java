@@ -0,0 +1,25 @@
+package com.example.hotelbooking.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A counter series bound once through {@link MetricsRegistry#counter}, so incrementing it does no
+ * name building, hashing or lookup.
+ */
+public final class Counter {
+    private final LongAdder adder = new LongAdder();
+
+    Counter() {}
+
+    public void increment() {
+        adder.increment();
+    }
+
+    public void add(long delta) {
+        adder.add(delta);
+    }
+
+    public long get() {
+        return adder.sum();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.hotelbooking.metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with HdrHistogram-style log-linear buckets, in microseconds.
+ *
+ * Values below 16 get a bucket each; above that every power of two is split into 16 linear
+ * sub-buckets, so a recorded value is kept to within 1/16 of itself up to about 71 minutes.
+ * Each thread records into its own bucket array with plain single-writer stores, so recording
+ * never contends or allocates; readers merge the arrays when they take a snapshot.
+ */
+public final class Histogram {
+    static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 32;
+    static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    // Count arrays carry the sum of recorded values in one extra slot after the buckets
+    private static final int SUM = BUCKETS;
+
+    private final List<Recorder> recorders = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Recorder> local = ThreadLocal.withInitial(this::register);
+    // Counts of threads that have exited, and the merged counts at the last interval snapshot
+    private final long[] retired = new long[BUCKETS + 1];
+    private long[] lastInterval = new long[BUCKETS + 1];
+
+    public void recordNanos(long nanos) {
+        record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void record(long micros) {
+        Recorder recorder = local.get();
+        int index = bucketIndex(micros);
+        recorder.counts.lazySet(index, recorder.counts.get(index) + 1);
+        recorder.counts.lazySet(SUM, recorder.counts.get(SUM) + Math.max(0, micros));
+    }
+
+    /**
+     * Everything recorded since the histogram was created.
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(merge());
+    }
+
+    /**
+     * Everything recorded since the previous call, so successive calls cover consecutive intervals.
+     */
+    public synchronized Snapshot intervalSnapshot() {
+        long[] total = merge();
+        long[] interval = new long[BUCKETS + 1];
+        for (int i = 0; i <= BUCKETS; i++) {
+            interval[i] = total[i] - lastInterval[i];
+        }
+        lastInterval = total;
+        return new Snapshot(interval);
+    }
+
+    private long[] merge() {
+        long[] total = retired.clone();
+        for (Recorder recorder : recorders) {
+            boolean exited = !recorder.owner.isAlive();
+            for (int i = 0; i <= BUCKETS; i++) {
+                long count = recorder.counts.get(i);
+                total[i] += count;
+                if (exited) {
+                    retired[i] += count;
+                }
+            }
+            if (exited) {
+                // The owner can no longer record, so its counts are folded in once and the array dropped
+                recorders.remove(recorder);
+            }
+        }
+        return total;
+    }
+
+    private Recorder register() {
+        Recorder recorder = new Recorder(Thread.currentThread());
+        recorders.add(recorder);
+        return recorder;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return value < 0 ? 0 : (int) value;
+        }
+        long clamped = Math.min(value, MAX_VALUE);
+        int shift = 63 - Long.numberOfLeadingZeros(clamped) - SUB_BUCKET_BITS;
+        // The top SUB_BUCKET_BITS + 1 bits pick the sub-bucket; the leading one is implied by the shift
+        return shift * SUB_BUCKETS + (int) (clamped >>> shift);
+    }
+
+    /**
+     * Highest value that falls in the bucket, which is what quantiles report.
+     */
+    static long bucketHighValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long low = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return low + (1L << shift) - 1;
+    }
+
+    private static final class Recorder {
+        final Thread owner;
+        final AtomicLongArray counts = new AtomicLongArray(BUCKETS + 1);
+
+        Recorder(Thread owner) {
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * Merged bucket counts at one point in time.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+
+        Snapshot(long[] counts) {
+            this.counts = counts;
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                total += counts[i];
+            }
+            this.count = total;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Sum of all recorded values, exact rather than bucketed.
+         */
+        public long getSum() {
+            return counts[SUM];
+        }
+
+        /**
+         * The value at or below which the given fraction (0 to 1) of recordings fall, or 0 when empty.
+         */
+        public long getValueAtQuantile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return bucketHighValue(i);
+                }
+            }
+            return getMax();
+        }
+
+        public long getMax() {
+            for (int i = BUCKETS - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return bucketHighValue(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
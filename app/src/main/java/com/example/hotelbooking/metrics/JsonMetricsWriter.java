@@ -0,0 +1,74 @@
+package com.example.hotelbooking.metrics;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Writes the registry as one flat JSON object, reading each series straight from the registry.
+ * Label values are appended to the name with dots ({@code http.requests} with {@code method="get"}
+ * is {@code http.requests.get}). Each histogram gives {@code <name>_us.count} for everything recorded
+ * and {@code .p50}, {@code .p90}, {@code .p99}, {@code .p999} and {@code .max} in microseconds for
+ * the last completed interval. Windowed counters give per-second rates as {@code <name>_rate_1m}
+ * (also {@code _1s} and {@code _5m}) and ratios {@code <name>_1m}, omitted while a window is empty.
+ */
+public class JsonMetricsWriter {
+    public static final String CONTENT_TYPE = "application/json";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String[] QUANTILE_SUFFIXES = {".p50", ".p90", ".p99", ".p999"};
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public byte[] write(MetricsRegistry registry) throws IOException {
+        ByteArrayBuilder buffer = new ByteArrayBuilder(16 * 1024);
+        try (JsonGenerator gen = jsonFactory.createGenerator(buffer)) {
+            gen.writeStartObject();
+            for (Map.Entry<String, Map<Labels, Counter>> family : registry.counterFamilies().entrySet()) {
+                for (Map.Entry<Labels, Counter> series : family.getValue().entrySet()) {
+                    gen.writeNumberField(family.getKey() + series.getKey().jsonSuffix(), series.getValue().get());
+                }
+            }
+            for (Map.Entry<String, LongSupplier> gauge : registry.gauges().entrySet()) {
+                gen.writeNumberField(gauge.getKey(), gauge.getValue().getAsLong());
+            }
+            for (Map.Entry<String, Map<Labels, Histogram>> family : registry.histogramFamilies().entrySet()) {
+                for (Map.Entry<Labels, Histogram> series : family.getValue().entrySet()) {
+                    String prefix = family.getKey() + "_us" + series.getKey().jsonSuffix();
+                    Histogram.Snapshot interval = registry.lastInterval(series.getValue());
+                    gen.writeNumberField(prefix + ".count", series.getValue().snapshot().getCount());
+                    for (int i = 0; i < QUANTILES.length; i++) {
+                        gen.writeNumberField(prefix + QUANTILE_SUFFIXES[i], interval.getValueAtQuantile(QUANTILES[i]));
+                    }
+                    gen.writeNumberField(prefix + ".max", interval.getMax());
+                }
+            }
+            for (Map.Entry<String, Map<Labels, WindowedCounter>> family : registry.windowedCounterFamilies().entrySet()) {
+                for (Map.Entry<Labels, WindowedCounter> series : family.getValue().entrySet()) {
+                    for (int i = 0; i < WindowedCounter.REPORTED_WINDOWS.length; i++) {
+                        gen.writeNumberField(family.getKey() + "_rate_" + WindowedCounter.REPORTED_WINDOW_NAMES[i]
+                                + series.getKey().jsonSuffix(), series.getValue().rate(WindowedCounter.REPORTED_WINDOWS[i]));
+                    }
+                }
+            }
+            for (Map.Entry<String, Map<Labels, WindowedRatio>> family : registry.ratioFamilies().entrySet()) {
+                for (Map.Entry<Labels, WindowedRatio> series : family.getValue().entrySet()) {
+                    for (int i = 0; i < WindowedCounter.REPORTED_WINDOWS.length; i++) {
+                        double ratio = series.getValue().get(WindowedCounter.REPORTED_WINDOWS[i]);
+                        // No traffic in the window, so there is no ratio to report
+                        if (!Double.isNaN(ratio)) {
+                            gen.writeNumberField(family.getKey() + "_" + WindowedCounter.REPORTED_WINDOW_NAMES[i]
+                                    + series.getKey().jsonSuffix(), ratio);
+                        }
+                    }
+                }
+            }
+            gen.writeEndObject();
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.hotelbooking.metrics;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Runtime telemetry for the metrics registry: garbage collection pauses, allocation, memory,
+ * threads and executor queues.
+ *
+ * Pauses are recorded from GC notifications as {@code jvm.gc.pause{gc}} histograms. The same
+ * notifications give the allocation rate, {@code jvm.gc.allocated_bytes}: the growth of the young
+ * generation (the whole heap for single-generation collectors) between collections, so it only
+ * moves when a collection happens. Heap, non-heap, direct and mapped buffer usage and thread
+ * counts are gauges under {@code jvm.}, and each endpoint's allocation per request is reported
+ * as {@code http.request.allocated_bytes_per_request{endpoint}}.
+ */
+public final class JvmMetrics {
+    private static final JvmMetrics INSTANCE = new JvmMetrics(MetricsRegistry.getInstance());
+
+    private final MetricsRegistry registry;
+    private final Map<String, Histogram> gcPauses = new ConcurrentHashMap<>();
+    private final Map<String, AllocationMeter> endpointAllocations = new ConcurrentHashMap<>();
+    private final WindowedCounter allocatedBytes;
+    // Pools whose growth between collections is allocation; the young generation where there is one
+    private final List<String> allocationPools;
+    private long usedAfterLastCollection;
+
+    private JvmMetrics(MetricsRegistry registry) {
+        this.registry = registry;
+        this.allocatedBytes = registry.windowedCounter("jvm.gc.allocated_bytes");
+        this.allocationPools = allocationPools();
+        registerMemoryGauges();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                ((NotificationEmitter) collector).addNotificationListener(
+                        (notification, handback) -> onCollection(
+                                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData())),
+                        notification -> GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION
+                                .equals(notification.getType()),
+                        null);
+            }
+        }
+    }
+
+    public static JvmMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the allocation meter of an endpoint, creating it on first use.
+     */
+    public AllocationMeter requestAllocation(String endpoint) {
+        return endpointAllocations.computeIfAbsent(endpoint, name -> {
+            Labels labels = Labels.of("endpoint", name);
+            WindowedCounter bytes = registry.windowedCounter("http.request.allocated_bytes", labels);
+            WindowedCounter requests = registry.windowedCounter("http.request.measured", labels);
+            return new AllocationMeter(bytes, requests,
+                    registry.ratio("http.request.allocated_bytes_per_request", labels, bytes, requests));
+        });
+    }
+
+    /**
+     * Reports {@code executor.<name>.active} and {@code .queued} for an executor that has no
+     * gauges of its own.
+     */
+    public void monitorExecutor(String name, ThreadPoolExecutor executor) {
+        registry.registerGauge("executor." + name + ".active", executor::getActiveCount);
+        registry.registerGauge("executor." + name + ".queued", () -> executor.getQueue().size());
+    }
+
+    /**
+     * Every queue depth gauge in the registry, bulkheads included, by gauge name.
+     */
+    public Map<String, Long> getQueueDepths() {
+        Map<String, Long> depths = new TreeMap<>();
+        for (Map.Entry<String, LongSupplier> gauge : registry.gauges().entrySet()) {
+            if (gauge.getKey().endsWith(".queued")) {
+                depths.put(gauge.getKey(), gauge.getValue().getAsLong());
+            }
+        }
+        return depths;
+    }
+
+    /**
+     * Pause histograms by collector name, for collectors that have paused since startup.
+     */
+    public Map<String, Histogram> getGcPauses() {
+        return Collections.unmodifiableMap(gcPauses);
+    }
+
+    public Map<String, AllocationMeter> getEndpointAllocations() {
+        return Collections.unmodifiableMap(endpointAllocations);
+    }
+
+    public WindowedCounter getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Bytes allocated by the live threads of each pool, threads being grouped by their name
+     * without its trailing number.
+     */
+    public Map<String, Long> getAllocatedBytesByThreadPool() {
+        return AllocationMeter.allocatedBytesByThreadPool();
+    }
+
+    private synchronized void onCollection(GarbageCollectionNotificationInfo info) {
+        GcInfo gcInfo = info.getGcInfo();
+        // ZGC and Shenandoah also report whole collection cycles, which run alongside the application
+        if (!info.getGcName().endsWith(" Cycles")) {
+            gcPauses.computeIfAbsent(info.getGcName(),
+                    name -> registry.histogram("jvm.gc.pause", Labels.of("gc", name)))
+                    .record(TimeUnit.MILLISECONDS.toMicros(gcInfo.getDuration()));
+        }
+        long usedBefore = used(gcInfo.getMemoryUsageBeforeGc());
+        if (usedBefore > usedAfterLastCollection) {
+            allocatedBytes.add(usedBefore - usedAfterLastCollection);
+        }
+        usedAfterLastCollection = used(gcInfo.getMemoryUsageAfterGc());
+    }
+
+    private long used(Map<String, MemoryUsage> usageByPool) {
+        long used = 0;
+        for (String pool : allocationPools) {
+            MemoryUsage usage = usageByPool.get(pool);
+            if (usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return used;
+    }
+
+    private static List<String> allocationPools() {
+        List<String> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP) {
+                continue;
+            }
+            if (pool.getName().contains("Eden")) {
+                return List.of(pool.getName());
+            }
+            heapPools.add(pool.getName());
+        }
+        return heapPools;
+    }
+
+    private void registerMemoryGauges() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        registry.registerGauge("jvm.memory.heap.used", () -> memory.getHeapMemoryUsage().getUsed());
+        registry.registerGauge("jvm.memory.heap.committed", () -> memory.getHeapMemoryUsage().getCommitted());
+        registry.registerGauge("jvm.memory.heap.max", () -> memory.getHeapMemoryUsage().getMax());
+        registry.registerGauge("jvm.memory.nonheap.used", () -> memory.getNonHeapMemoryUsage().getUsed());
+        registry.registerGauge("jvm.memory.nonheap.committed", () -> memory.getNonHeapMemoryUsage().getCommitted());
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            // Newer JDKs add a pool for non-volatile mapped memory, with a name unfit for a metric
+            if (!pool.getName().equals("direct") && !pool.getName().equals("mapped")) {
+                continue;
+            }
+            String prefix = "jvm.buffer." + pool.getName();
+            registry.registerGauge(prefix + ".count", pool::getCount);
+            registry.registerGauge(prefix + ".used", pool::getMemoryUsed);
+            registry.registerGauge(prefix + ".capacity", pool::getTotalCapacity);
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        registry.registerGauge("jvm.threads.live", threads::getThreadCount);
+        registry.registerGauge("jvm.threads.daemon", threads::getDaemonThreadCount);
+        registry.registerGauge("jvm.threads.peak", threads::getPeakThreadCount);
+    }
+}
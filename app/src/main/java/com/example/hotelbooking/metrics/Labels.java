@@ -0,0 +1,113 @@
+package com.example.hotelbooking.metrics;
+
+import java.util.Arrays;
+
+/**
+ * An ordered set of label name/value pairs identifying one series of a metric, such as
+ * {@code method="get"} on {@code http.requests}. Immutable; the exposition text is rendered once,
+ * so scrapes do no escaping.
+ */
+public final class Labels {
+    public static final Labels EMPTY = new Labels(new String[0], new String[0]);
+
+    private final String[] names;
+    private final String[] values;
+    private final String prometheusText;
+    private final int hash;
+
+    private Labels(String[] names, String[] values) {
+        this.names = names;
+        this.values = values;
+        this.prometheusText = render(null, null);
+        this.hash = 31 * Arrays.hashCode(names) + Arrays.hashCode(values);
+    }
+
+    public static Labels of(String name, String value) {
+        return new Labels(new String[] {name}, new String[] {value});
+    }
+
+    public static Labels of(String name1, String value1, String name2, String value2) {
+        return new Labels(new String[] {name1, name2}, new String[] {value1, value2});
+    }
+
+    public boolean isEmpty() {
+        return names.length == 0;
+    }
+
+    /**
+     * The label values joined with dots, used to flatten a series into a single JSON key.
+     */
+    String jsonSuffix() {
+        StringBuilder suffix = new StringBuilder();
+        for (String value : values) {
+            suffix.append('.').append(value);
+        }
+        return suffix.toString();
+    }
+
+    /**
+     * The labels as Prometheus text, e.g. {@code {method="get"}}, or empty when there are none.
+     */
+    String prometheusText() {
+        return prometheusText;
+    }
+
+    /**
+     * The labels plus one more pair, such as the {@code quantile} of a summary.
+     */
+    String prometheusText(String extraName, String extraValue) {
+        return render(extraName, extraValue);
+    }
+
+    private String render(String extraName, String extraValue) {
+        if (names.length == 0 && extraName == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder("{");
+        for (int i = 0; i < names.length; i++) {
+            appendPair(text, names[i], values[i]);
+        }
+        if (extraName != null) {
+            appendPair(text, extraName, extraValue);
+        }
+        text.setCharAt(text.length() - 1, '}');
+        return text.toString();
+    }
+
+    private static void appendPair(StringBuilder text, String name, String value) {
+        text.append(name).append("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                text.append('\\').append(c);
+            } else if (c == '\n') {
+                text.append("\\n");
+            } else {
+                text.append(c);
+            }
+        }
+        text.append("\",");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Labels)) {
+            return false;
+        }
+        Labels other = (Labels) o;
+        return Arrays.equals(names, other.names) && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return prometheusText;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.hotelbooking.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Custom metrics registry for tracking application metrics
+ * Optimized for high concurrency using LongAdder
+ *
+ * Metrics are handles: components register each counter, histogram and label set once and keep
+ * the returned object, so hot paths never build names or look them up.
+ *
+ * Counters and histograms are grouped into families by name, each holding one series per label set,
+ * so exposition writers can stream a family's series together straight from the registry.
+ */
+public class MetricsRegistry {
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+    // Length of the window histogram quantiles are reported over
+    private static final long INTERVAL_MS = Long.getLong("hotel.metrics.intervalMs", 60_000);
+
+    private final Map<String, Map<Labels, Counter>> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, Map<Labels, Histogram>> histograms = new ConcurrentHashMap<>();
+    private final Map<String, Map<Labels, WindowedCounter>> windowedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Map<Labels, WindowedRatio>> ratios = new ConcurrentHashMap<>();
+    private final Map<Histogram, Histogram.Snapshot> lastIntervals = new ConcurrentHashMap<>();
+    private long intervalStart = System.currentTimeMillis();
+
+    private MetricsRegistry() {}
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the counter with this name, creating it on first use.
+     * Callers look it up once, at construction, and keep it; label sets are resolved the same way.
+     */
+    public Counter counter(String name) {
+        return counter(name, Labels.EMPTY);
+    }
+
+    public Counter counter(String name, Labels labels) {
+        return counters.computeIfAbsent(name, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(labels, k -> new Counter());
+    }
+
+    /**
+     * Returns the windowed counter with this name, creating it on first use. Its 1 s, 1 min and 5 min
+     * rates are reported, and components can read them in-process through the same handle.
+     */
+    public WindowedCounter windowedCounter(String name) {
+        return windowedCounter(name, Labels.EMPTY);
+    }
+
+    public WindowedCounter windowedCounter(String name, Labels labels) {
+        return windowedCounters.computeIfAbsent(name, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(labels, k -> new WindowedCounter());
+    }
+
+    /**
+     * Registers the ratio of two windowed counters under this name, reported over 1 s, 1 min and 5 min.
+     * Registering the same name and labels again returns the ratio already registered.
+     */
+    public WindowedRatio ratio(String name, Labels labels, WindowedCounter numerator, WindowedCounter denominator) {
+        return ratios.computeIfAbsent(name, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(labels, k -> new WindowedRatio(numerator, denominator));
+    }
+
+    /**
+     * Registers a value that is read when metrics are reported, such as a queue depth or pool usage.
+     * Registering the same name again replaces the previous gauge.
+     */
+    public void registerGauge(String name, LongSupplier gauge) {
+        gauges.put(name, gauge);
+    }
+
+    /**
+     * Returns the latency histogram with this name, creating it on first use.
+     * Callers should look it up once and keep it rather than on every recording.
+     */
+    public Histogram histogram(String name) {
+        return histogram(name, Labels.EMPTY);
+    }
+
+    public Histogram histogram(String name, Labels labels) {
+        return histograms.computeIfAbsent(name, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(labels, k -> new Histogram());
+    }
+
+    Map<String, Map<Labels, Counter>> counterFamilies() {
+        return counters;
+    }
+
+    Map<String, LongSupplier> gauges() {
+        return gauges;
+    }
+
+    Map<String, Map<Labels, Histogram>> histogramFamilies() {
+        return histograms;
+    }
+
+    Map<String, Map<Labels, WindowedCounter>> windowedCounterFamilies() {
+        return windowedCounters;
+    }
+
+    Map<String, Map<Labels, WindowedRatio>> ratioFamilies() {
+        return ratios;
+    }
+
+    /**
+     * The histogram's last completed interval. Until one has completed, everything recorded so far.
+     * Intervals are cut when metrics are read, so each is at least INTERVAL_MS long and no
+     * background thread is needed.
+     */
+    Histogram.Snapshot lastInterval(Histogram histogram) {
+        rotateIntervalIfDue();
+        Histogram.Snapshot interval = lastIntervals.get(histogram);
+        return interval != null ? interval : histogram.snapshot();
+    }
+
+    private synchronized void rotateIntervalIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - intervalStart < INTERVAL_MS) {
+            return;
+        }
+        histograms.values().forEach(family ->
+                family.values().forEach(histogram -> lastIntervals.put(histogram, histogram.intervalSnapshot())));
+        intervalStart = now;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.hotelbooking.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Writes the registry in the Prometheus text exposition format (version 0.0.4), reading each
+ * series straight from the registry.
+ *
+ * Dotted names become underscored ({@code http.requests} is {@code http_requests_total}).
+ * Histograms are written as summaries in seconds: quantiles cover the last completed interval,
+ * {@code _sum} and {@code _count} everything recorded, and the interval maximum is a separate
+ * {@code _max} gauge. Windowed counters and ratios are gauges per window, such as
+ * {@code http_throughput_rate_1m} and {@code cache_hit_ratio_5m}.
+ */
+public class PrometheusTextWriter {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.9", "0.99", "0.999"};
+    private static final double MICROS_PER_SECOND = 1_000_000.0;
+
+    // Metric names are fixed at startup, so each is sanitized once
+    private final Map<String, String> counterNames = new ConcurrentHashMap<>();
+    private final Map<String, String> gaugeNames = new ConcurrentHashMap<>();
+    private final Map<String, String> summaryNames = new ConcurrentHashMap<>();
+
+    public byte[] write(MetricsRegistry registry) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(16 * 1024);
+        try (Writer out = new OutputStreamWriter(buffer, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Map<Labels, Counter>> family : registry.counterFamilies().entrySet()) {
+                String name = counterNames.computeIfAbsent(family.getKey(), k -> exposedName(k, "_total"));
+                writeType(out, name, "counter");
+                for (Map.Entry<Labels, Counter> series : family.getValue().entrySet()) {
+                    writeSample(out, name, series.getKey().prometheusText(), Long.toString(series.getValue().get()));
+                }
+            }
+            for (Map.Entry<String, LongSupplier> gauge : registry.gauges().entrySet()) {
+                String name = gaugeNames.computeIfAbsent(gauge.getKey(), k -> exposedName(k, ""));
+                writeType(out, name, "gauge");
+                writeSample(out, name, "", Long.toString(gauge.getValue().getAsLong()));
+            }
+            for (Map.Entry<String, Map<Labels, Histogram>> family : registry.histogramFamilies().entrySet()) {
+                writeSummary(out, registry, summaryNames.computeIfAbsent(family.getKey(), k -> exposedName(k, "_seconds")), family.getValue());
+            }
+            for (Map.Entry<String, Map<Labels, WindowedCounter>> family : registry.windowedCounterFamilies().entrySet()) {
+                for (int i = 0; i < WindowedCounter.REPORTED_WINDOWS.length; i++) {
+                    String name = exposedName(family.getKey() + "_rate_" + WindowedCounter.REPORTED_WINDOW_NAMES[i], "");
+                    writeType(out, name, "gauge");
+                    for (Map.Entry<Labels, WindowedCounter> series : family.getValue().entrySet()) {
+                        writeSample(out, name, series.getKey().prometheusText(),
+                                Double.toString(series.getValue().rate(WindowedCounter.REPORTED_WINDOWS[i])));
+                    }
+                }
+            }
+            for (Map.Entry<String, Map<Labels, WindowedRatio>> family : registry.ratioFamilies().entrySet()) {
+                for (int i = 0; i < WindowedCounter.REPORTED_WINDOWS.length; i++) {
+                    String name = exposedName(family.getKey() + "_" + WindowedCounter.REPORTED_WINDOW_NAMES[i], "");
+                    writeType(out, name, "gauge");
+                    for (Map.Entry<Labels, WindowedRatio> series : family.getValue().entrySet()) {
+                        double ratio = series.getValue().get(WindowedCounter.REPORTED_WINDOWS[i]);
+                        if (!Double.isNaN(ratio)) {
+                            writeSample(out, name, series.getKey().prometheusText(), Double.toString(ratio));
+                        }
+                    }
+                }
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    private void writeSummary(Writer out, MetricsRegistry registry, String name,
+                              Map<Labels, Histogram> family) throws IOException {
+        writeType(out, name, "summary");
+        for (Map.Entry<Labels, Histogram> series : family.entrySet()) {
+            Labels labels = series.getKey();
+            Histogram.Snapshot interval = registry.lastInterval(series.getValue());
+            Histogram.Snapshot total = series.getValue().snapshot();
+            for (int i = 0; i < QUANTILES.length; i++) {
+                writeSample(out, name, labels.prometheusText("quantile", QUANTILE_LABELS[i]),
+                        seconds(interval.getValueAtQuantile(QUANTILES[i])));
+            }
+            writeSample(out, name + "_sum", labels.prometheusText(), seconds(total.getSum()));
+            writeSample(out, name + "_count", labels.prometheusText(), Long.toString(total.getCount()));
+        }
+        writeType(out, name + "_max", "gauge");
+        for (Map.Entry<Labels, Histogram> series : family.entrySet()) {
+            writeSample(out, name + "_max", series.getKey().prometheusText(),
+                    seconds(registry.lastInterval(series.getValue()).getMax()));
+        }
+    }
+
+    private static void writeType(Writer out, String name, String type) throws IOException {
+        out.write("# TYPE ");
+        out.write(name);
+        out.write(' ');
+        out.write(type);
+        out.write('\n');
+    }
+
+    private static void writeSample(Writer out, String name, String labels, String value) throws IOException {
+        out.write(name);
+        out.write(labels);
+        out.write(' ');
+        out.write(value);
+        out.write('\n');
+    }
+
+    private static String seconds(long micros) {
+        return Double.toString(micros / MICROS_PER_SECOND);
+    }
+
+    /**
+     * Replaces characters Prometheus does not allow in names, such as dots and dashes, with underscores.
+     */
+    static String exposedName(String name, String suffix) {
+        StringBuilder exposed = new StringBuilder(name.length() + suffix.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == ':'
+                    || (i > 0 && c >= '0' && c <= '9');
+            exposed.append(valid ? c : '_');
+        }
+        if (exposed.length() < suffix.length()
+                || !exposed.substring(exposed.length() - suffix.length()).equals(suffix)) {
+            exposed.append(suffix);
+        }
+        return exposed.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.hotelbooking.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts events per second in a ring of striped buckets covering the last five minutes, so rates
+ * over the last 1 s, 1 min or 5 min can be read at any time without diffing lifetime counters.
+ *
+ * Windows cover whole seconds that have ended; the second in progress is not counted yet. A bucket
+ * is recycled by the first event of a new second, and an event racing with that recycle may be
+ * lost, which is fine for rates. Reading a window sums one bucket per second, so the 1 s rate is
+ * cheap enough for limiters and breakers to read on every decision.
+ */
+public final class WindowedCounter {
+    public static final int ONE_SECOND = 1;
+    public static final int ONE_MINUTE = 60;
+    public static final int FIVE_MINUTES = 300;
+    // Windows reported by the exposition writers, and the suffixes they are reported under
+    static final int[] REPORTED_WINDOWS = {ONE_SECOND, ONE_MINUTE, FIVE_MINUTES};
+    static final String[] REPORTED_WINDOW_NAMES = {"1s", "1m", "5m"};
+
+    // One bucket more than the longest window, for the second in progress
+    private static final int BUCKETS = FIVE_MINUTES + 1;
+
+    private final LongSupplier clock;
+    private final AtomicLongArray bucketSeconds = new AtomicLongArray(BUCKETS);
+    private final LongAdder[] bucketCounts = new LongAdder[BUCKETS];
+
+    public WindowedCounter() {
+        this(System::nanoTime);
+    }
+
+    WindowedCounter(LongSupplier clock) {
+        this.clock = clock;
+        for (int i = 0; i < BUCKETS; i++) {
+            bucketSeconds.set(i, Long.MIN_VALUE);
+            bucketCounts[i] = new LongAdder();
+        }
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    public void add(long delta) {
+        long second = currentSecond();
+        int index = (int) Math.floorMod(second, (long) BUCKETS);
+        long held = bucketSeconds.get(index);
+        if (held < second && bucketSeconds.compareAndSet(index, held, second)) {
+            bucketCounts[index].reset();
+        }
+        bucketCounts[index].add(delta);
+    }
+
+    /**
+     * Events in the last {@code seconds} whole seconds, at most {@link #FIVE_MINUTES}.
+     */
+    public long sum(int seconds) {
+        return sum(seconds, currentSecond());
+    }
+
+    /**
+     * Events in the {@code seconds} whole seconds before {@code now}, so that several counters can
+     * be read over exactly the same window.
+     */
+    long sum(int seconds, long now) {
+        if (seconds < 1 || seconds > FIVE_MINUTES) {
+            throw new IllegalArgumentException("Window must be between 1 and " + FIVE_MINUTES + " seconds");
+        }
+        long total = 0;
+        for (long second = now - seconds; second < now; second++) {
+            int index = (int) Math.floorMod(second, (long) BUCKETS);
+            if (bucketSeconds.get(index) == second) {
+                total += bucketCounts[index].sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Events per second over the last {@code seconds} whole seconds.
+     */
+    public double rate(int seconds) {
+        return (double) sum(seconds) / seconds;
+    }
+
+    long currentSecond() {
+        return Math.floorDiv(clock.getAsLong(), TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.hotelbooking.metrics;
+
+/**
+ * The share of one windowed count in another over the same window, such as cache hits per lookup
+ * or server errors per response.
+ */
+public final class WindowedRatio {
+    private final WindowedCounter numerator;
+    private final WindowedCounter denominator;
+
+    public WindowedRatio(WindowedCounter numerator, WindowedCounter denominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * The ratio over the last {@code seconds} whole seconds, or NaN when nothing was counted.
+     */
+    public double get(int seconds) {
+        long now = denominator.currentSecond();
+        long total = denominator.sum(seconds, now);
+        return total == 0 ? Double.NaN : (double) numerator.sum(seconds, now) / total;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.hotelbooking.server;
+
+import com.example.hotelbooking.http.DrainFilter;
+import com.example.hotelbooking.http.ServerLifecycle;
+import com.example.hotelbooking.http.handlers.HealthHandler;
+import com.example.hotelbooking.logging.AsyncLogger;
+import com.example.hotelbooking.metrics.JvmMetrics;
+import com.example.hotelbooking.service.BookingService;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class HttpBookingServer {
+    private static final int PORT = 8080;
+    private static final int NUM_THREADS = 500;  // Increased thread pool size
+    private static final int BACKLOG = 1000;  // Increased connection backlog
+    private static final long DRAIN_TIMEOUT_MS = 10_000;
+    
+    private final HttpServer server;
+    private final BookingService bookingService;
+    private final ExecutorService executorService;
+    private final ServerLifecycle lifecycle = new ServerLifecycle();
+    
+    public HttpBookingServer() throws IOException {
+        this(new InetSocketAddress(PORT), NUM_THREADS, new BookingService(null));
+    }
+
+    public HttpBookingServer(BookingService bookingService) throws IOException {
+        this(new InetSocketAddress(PORT), NUM_THREADS, bookingService);
+    }
+    
+    public HttpBookingServer(InetSocketAddress address, int numThreads, BookingService bookingService) throws IOException {
+        this.server = HttpServer.create(address, BACKLOG);
+        this.bookingService = bookingService;
+        
+        // Create shared executor service
+        this.executorService = Executors.newFixedThreadPool(numThreads, r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true); // Use daemon threads to avoid blocking JVM shutdown
+            return t;
+        });
+        JvmMetrics.getInstance().monitorExecutor("http-server", (ThreadPoolExecutor) executorService);
+        
+        // Create context for bookings endpoint
+        this.server.createContext("/api/bookings", new BookingHandler(bookingService))
+                .getFilters().add(new DrainFilter(lifecycle));
+        this.server.createContext("/health", new HealthHandler(lifecycle));
+        
+        // Use the shared executor service
+        this.server.setExecutor(this.executorService);
+    }
+    
+    public void start() {
+        this.server.start();
+        lifecycle.markReady();
+    }
+    
+    /**
+     * Stops without a readiness delay, for callers that do not sit behind a load balancer.
+     */
+    public void stop() {
+        drain(0, DRAIN_TIMEOUT_MS);
+    }
+
+    /**
+     * Fails the readiness probe for {@code readinessDelayMs}, then refuses new requests and gives
+     * in-flight ones up to {@code timeoutMs} to finish before the server is stopped.
+     */
+    public void drain(long readinessDelayMs, long timeoutMs) {
+        lifecycle.markUnready();
+        try {
+            Thread.sleep(readinessDelayMs);
+            lifecycle.startDraining();
+            lifecycle.awaitIdle(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.server.stop(0);
+        this.executorService.shutdown();
+        try {
+            if (!this.executorService.awaitTermination(5, TimeUnit.SECONDS)) {
+                this.executorService.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            this.executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        lifecycle.markStopped();
+        AsyncLogger.getInstance().awaitFlushed(1000);
+    }
+}
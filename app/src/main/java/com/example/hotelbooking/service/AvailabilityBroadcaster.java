@@ -0,0 +1,542 @@
+package com.example.hotelbooking.service;
+
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans room availability changes out to Server-Sent Events subscribers.
+ *
+ * Publishing only appends the change to a queue, so a booking request pays the same whether one
+ * client is listening or ten thousand. The flusher threads fan each change out to the pending set
+ * of every interested subscriber, which is bounded and keyed by room: repeated changes to a room
+ * before the next flush merge into one event covering the union of their date ranges. A subscriber that falls more than
+ * {@link #MAX_PENDING_ROOMS} rooms behind gets a single {@code resync} event instead, telling it
+ * to refetch, and if the flushers themselves fall more than {@link #MAX_QUEUED_CHANGES} changes
+ * behind, every subscriber gets one. A few flusher threads write pending events every {@link #FLUSH_INTERVAL_MS} ms and
+ * send heartbeats, which is also how closed connections are found and dropped.
+ *
+ * Writes to the connections run on a small writer pool and each flush waits at most
+ * {@link #WRITE_TIMEOUT_MS} for them. A client that stops reading blocks its write once its TCP
+ * window fills; it is then dropped and counted as {@code sse.stalled}, and the pool grows by a
+ * thread until that write gives up, so stuck clients never hold back anyone else's events.
+ * Streams are closed on the writer pool too, since closing one writes to it.
+ */
+public class AvailabilityBroadcaster implements AutoCloseable {
+    static final int MAX_PENDING_ROOMS = 256;
+    static final int MAX_QUEUED_CHANGES = 10_000;
+    static final long FLUSH_INTERVAL_MS = 250;
+    private static final long HEARTBEAT_INTERVAL_MS = 15_000;
+    private static final int FLUSHER_THREADS = 2;
+    static final long WRITE_TIMEOUT_MS = 2_000;
+    private static final int WRITER_THREADS = 4;
+
+    private static final byte[] HEARTBEAT = ": ping\n\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RESYNC = "event: resync\ndata: {}\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final ConcurrentMap<Long, Set<Subscriber>> byRoom = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Set<Subscriber>> byHotel = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Published changes not yet fanned out, as {hotelId or -1, roomId, fromDay, toDay}
+    private final Queue<long[]> changes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedChanges = new AtomicInteger();
+    private volatile boolean resyncAll;
+    private final Queue<Subscriber> dirty = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter connects;
+    private final Counter disconnects;
+    private final Counter published;
+    private final Counter overflows;
+    private final Counter coalescedCount;
+    private final Counter delivered;
+    private final Counter stalled;
+    private final long writeTimeoutNanos;
+    private final ThreadPoolExecutor writers;
+    // Writer threads currently stuck in a stalled client's write, guarded by writers
+    private int stalledWriters;
+    private ScheduledExecutorService flushers;
+
+    public AvailabilityBroadcaster() {
+        this(WRITE_TIMEOUT_MS);
+    }
+
+    AvailabilityBroadcaster(long writeTimeoutMs) {
+        MetricsRegistry metricsRegistry = MetricsRegistry.getInstance();
+        this.connects = metricsRegistry.counter("sse.connects");
+        this.disconnects = metricsRegistry.counter("sse.disconnects");
+        this.published = metricsRegistry.counter("sse.events.published");
+        this.overflows = metricsRegistry.counter("sse.overflows");
+        this.coalescedCount = metricsRegistry.counter("sse.events.coalesced");
+        this.delivered = metricsRegistry.counter("sse.events.delivered");
+        this.stalled = metricsRegistry.counter("sse.stalled");
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        AtomicInteger writerCounter = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(WRITER_THREADS, WRITER_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "sse-writer-" + writerCounter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.writers.allowCoreThreadTimeOut(true);
+        metricsRegistry.registerGauge("sse.subscribers", subscriberCount::get);
+    }
+
+    /**
+     * Subscribes a stream to changes for a hotel, a set of rooms, or both.
+     * The stream must already carry the SSE response headers; {@code onClose} runs once the
+     * subscriber is dropped, whether by {@link #unsubscribe} or a failed write.
+     */
+    public Subscriber subscribe(Long hotelId, Collection<Long> roomIds, OutputStream out, Closeable onClose) {
+        startFlushers();
+        Subscriber subscriber = new Subscriber(hotelId, roomIds, out, onClose, overflows, delivered);
+        subscribers.add(subscriber);
+        if (hotelId != null) {
+            byHotel.computeIfAbsent(hotelId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        for (Long roomId : subscriber.roomIds) {
+            byRoom.computeIfAbsent(roomId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        subscriberCount.incrementAndGet();
+        connects.increment();
+        return subscriber;
+    }
+
+    public void unsubscribe(Subscriber subscriber) {
+        if (!remove(subscriber)) {
+            return;
+        }
+        try {
+            writers.execute(subscriber::closeStream);
+        } catch (RejectedExecutionException e) {
+            subscriber.closeStream();
+        }
+    }
+
+    /**
+     * Stops offering changes to the subscriber; returns false if it was already removed.
+     */
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.close()) {
+            return false;
+        }
+        subscribers.remove(subscriber);
+        if (subscriber.hotelId != null) {
+            removeFrom(byHotel, subscriber.hotelId, subscriber);
+        }
+        for (Long roomId : subscriber.roomIds) {
+            removeFrom(byRoom, roomId, subscriber);
+        }
+        subscriberCount.decrementAndGet();
+        disconnects.increment();
+        return true;
+    }
+
+    /**
+     * Records that a room's availability changed for the nights in [from, to).
+     * Called on the request thread; never writes to a connection.
+     */
+    public void publish(Long hotelId, Long roomId, LocalDate from, LocalDate to) {
+        if (roomId == null || subscriberCount.get() == 0) {
+            return;
+        }
+        if (queuedChanges.incrementAndGet() > MAX_QUEUED_CHANGES) {
+            queuedChanges.decrementAndGet();
+            resyncAll = true;
+            return;
+        }
+        changes.add(new long[] {hotelId != null ? hotelId : -1, roomId, from.toEpochDay(), to.toEpochDay()});
+        published.increment();
+    }
+
+    /**
+     * Fans out and writes everything pending, waiting at most the write timeout for the writes.
+     * Returns the number of subscribers written to.
+     */
+    public int flush() {
+        fanOut();
+        List<Subscriber> targets = new ArrayList<>();
+        List<Future<Boolean>> writes = new ArrayList<>();
+        List<Subscriber> busy = new ArrayList<>();
+        Subscriber subscriber;
+        while ((subscriber = dirty.poll()) != null) {
+            if (subscriber.isClosed()) {
+                continue;
+            }
+            if (!subscriber.writing.compareAndSet(false, true)) {
+                // Still writing its previous events; these go out with its next write
+                busy.add(subscriber);
+                continue;
+            }
+            Subscriber target = subscriber;
+            try {
+                writes.add(writers.submit(() -> write(target)));
+                targets.add(target);
+            } catch (RejectedExecutionException e) {
+                // Shut down
+                target.writing.set(false);
+            }
+        }
+        dirty.addAll(busy);
+
+        long deadline = System.nanoTime() + writeTimeoutNanos;
+        int written = 0;
+        for (int i = 0; i < writes.size(); i++) {
+            try {
+                if (writes.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    written++;
+                }
+            } catch (TimeoutException e) {
+                stall(targets.get(i));
+            } catch (ExecutionException e) {
+                unsubscribe(targets.get(i));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return written;
+    }
+
+    private void fanOut() {
+        if (resyncAll) {
+            resyncAll = false;
+            overflows.increment();
+            for (Subscriber subscriber : subscribers) {
+                subscriber.overflow(dirty);
+            }
+        }
+        long coalesced = 0;
+        long[] change;
+        while ((change = changes.poll()) != null) {
+            queuedChanges.decrementAndGet();
+            Set<Subscriber> roomSubscribers = byRoom.get(change[1]);
+            if (roomSubscribers != null) {
+                for (Subscriber subscriber : roomSubscribers) {
+                    if (subscriber.offer(change, dirty)) {
+                        coalesced++;
+                    }
+                }
+            }
+            Set<Subscriber> hotelSubscribers = change[0] >= 0 ? byHotel.get(change[0]) : null;
+            if (hotelSubscribers != null) {
+                for (Subscriber subscriber : hotelSubscribers) {
+                    // Already offered this change through the room index
+                    if (subscriber.roomIds.contains(change[1])) {
+                        continue;
+                    }
+                    if (subscriber.offer(change, dirty)) {
+                        coalesced++;
+                    }
+                }
+            }
+        }
+        if (coalesced > 0) {
+            coalescedCount.add(coalesced);
+        }
+    }
+
+    /**
+     * Runs on a writer thread.
+     */
+    private boolean write(Subscriber subscriber) {
+        try {
+            synchronized (subscriber.writeLock) {
+                byte[] events = subscriber.drain();
+                if (events == null || subscriber.isClosed()) {
+                    return false;
+                }
+                try {
+                    subscriber.out.write(events);
+                    subscriber.out.flush();
+                    return true;
+                } catch (IOException e) {
+                    // The client went away
+                    remove(subscriber);
+                    subscriber.closeStream();
+                    return false;
+                }
+            }
+        } finally {
+            subscriber.writing.set(false);
+            releaseStalled(subscriber);
+        }
+    }
+
+    /**
+     * Drops a subscriber whose write did not finish in time, and adds a writer thread to stand in
+     * for the one stuck in its write.
+     */
+    private void stall(Subscriber subscriber) {
+        stalled.increment();
+        remove(subscriber);
+        resizeWriters(1);
+        subscriber.stalled = true;
+        releaseStalled(subscriber);
+    }
+
+    /**
+     * Once a stalled subscriber's write has returned, closes its stream and gives back the extra
+     * writer thread. Called by both the stall and the write, whichever comes last does it.
+     */
+    private void releaseStalled(Subscriber subscriber) {
+        if (subscriber.stalled && !subscriber.writing.get() && subscriber.stallReleased.compareAndSet(false, true)) {
+            subscriber.closeStream();
+            resizeWriters(-1);
+        }
+    }
+
+    private void resizeWriters(int delta) {
+        synchronized (writers) {
+            stalledWriters += delta;
+            int size = WRITER_THREADS + stalledWriters;
+            if (delta > 0) {
+                writers.setMaximumPoolSize(size);
+                writers.setCorePoolSize(size);
+            } else {
+                writers.setCorePoolSize(size);
+                writers.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat(dirty);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private synchronized void startFlushers() {
+        if (flushers != null) {
+            return;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        flushers = Executors.newScheduledThreadPool(FLUSHER_THREADS, r -> {
+            Thread t = new Thread(r, "sse-flusher-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < FLUSHER_THREADS; i++) {
+            flushers.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+        flushers.scheduleWithFixedDelay(this::heartbeat, HEARTBEAT_INTERVAL_MS, HEARTBEAT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends what is still pending, waiting no longer than the write timeout, then closes every
+     * stream on the writer pool. Never blocks on a client that stopped reading.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (flushers != null) {
+                flushers.shutdownNow();
+            }
+        }
+        flush();
+        for (Subscriber subscriber : subscribers) {
+            unsubscribe(subscriber);
+        }
+        writers.shutdown();
+    }
+
+    private static void removeFrom(ConcurrentMap<Long, Set<Subscriber>> index, Long key, Subscriber subscriber) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * One open event stream and its pending, coalesced changes.
+     */
+    public static final class Subscriber {
+        private final Long hotelId;
+        private final Set<Long> roomIds;
+        private final OutputStream out;
+        private final Closeable onClose;
+        private final Object writeLock = new Object();
+        private final AtomicBoolean writing = new AtomicBoolean();
+        private final AtomicBoolean stallReleased = new AtomicBoolean();
+        private final Counter overflows;
+        private final Counter delivered;
+
+        // Guarded by this
+        private final Map<Long, long[]> pending = new HashMap<>();
+        private boolean overflowed;
+        private boolean heartbeatDue;
+        private boolean queued;
+        private boolean closed;
+        private boolean streamClosed;
+        // Set once, when a write timed out
+        private volatile boolean stalled;
+
+        private Subscriber(Long hotelId, Collection<Long> roomIds, OutputStream out, Closeable onClose,
+                           Counter overflows, Counter delivered) {
+            this.hotelId = hotelId;
+            this.roomIds = Set.copyOf(roomIds);
+            this.out = out;
+            this.onClose = onClose;
+            this.overflows = overflows;
+            this.delivered = delivered;
+        }
+
+        /**
+         * Adds a change, merging it into one already pending for the same room, and queues the
+         * subscriber for writing if it is not queued already. Returns true when the change merged.
+         */
+        private synchronized boolean offer(long[] change, Queue<Subscriber> dirty) {
+            if (closed) {
+                return false;
+            }
+            boolean merged = false;
+            if (!overflowed) {
+                long roomId = change[1];
+                long[] existing = pending.get(roomId);
+                if (existing != null) {
+                    existing[1] = Math.min(existing[1], change[2]);
+                    existing[2] = Math.max(existing[2], change[3]);
+                    merged = true;
+                } else if (pending.size() >= MAX_PENDING_ROOMS) {
+                    overflowed = true;
+                    pending.clear();
+                    overflows.increment();
+                } else {
+                    pending.put(roomId, new long[] {change[0], change[2], change[3]});
+                }
+            }
+            if (markQueued()) {
+                dirty.add(this);
+            }
+            return merged;
+        }
+
+        private synchronized void overflow(Queue<Subscriber> dirty) {
+            if (closed) {
+                return;
+            }
+            overflowed = true;
+            pending.clear();
+            if (markQueued()) {
+                dirty.add(this);
+            }
+        }
+
+        private synchronized void heartbeat(Queue<Subscriber> dirty) {
+            if (closed) {
+                return;
+            }
+            heartbeatDue = true;
+            if (markQueued()) {
+                dirty.add(this);
+            }
+        }
+
+        private boolean markQueued() {
+            if (queued) {
+                return false;
+            }
+            queued = true;
+            return true;
+        }
+
+        /**
+         * Takes the pending events as SSE text, or null when there is nothing to send.
+         */
+        private synchronized byte[] drain() {
+            queued = false;
+            byte[] events;
+            if (overflowed) {
+                events = RESYNC;
+            } else if (!pending.isEmpty()) {
+                delivered.add(pending.size());
+                StringBuilder sb = new StringBuilder(pending.size() * 96);
+                for (Iterator<Map.Entry<Long, long[]>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+                    Map.Entry<Long, long[]> entry = it.next();
+                    long[] change = entry.getValue();
+                    sb.append("event: availability\ndata: {\"roomId\":").append(entry.getKey());
+                    if (change[0] >= 0) {
+                        sb.append(",\"hotelId\":").append(change[0]);
+                    }
+                    sb.append(",\"from\":\"").append(LocalDate.ofEpochDay(change[1]))
+                      .append("\",\"to\":\"").append(LocalDate.ofEpochDay(change[2])).append("\"}\n\n");
+                    it.remove();
+                }
+                events = sb.toString().getBytes(StandardCharsets.UTF_8);
+            } else if (heartbeatDue) {
+                events = HEARTBEAT;
+            } else {
+                events = null;
+            }
+            overflowed = false;
+            heartbeatDue = false;
+            return events;
+        }
+
+        /**
+         * Stops taking changes; the stream itself is closed separately by {@link #closeStream}.
+         */
+        private synchronized boolean close() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            pending.clear();
+            return true;
+        }
+
+        /**
+         * Closes the stream once, waiting for any write in progress. Returns true if this call closed it.
+         */
+        private boolean closeStream() {
+            synchronized (writeLock) {
+                synchronized (this) {
+                    if (streamClosed) {
+                        return false;
+                    }
+                    streamClosed = true;
+                }
+                try {
+                    onClose.close();
+                } catch (IOException e) {
+                    // Already gone
+                }
+                return true;
+            }
+        }
+
+        private synchronized boolean isClosed() {
+            return closed;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.hotelbooking.service;
+
+import com.example.hotelbooking.model.Booking;
+
+import java.util.List;
+
+/**
+ * Result of fetching several bookings at once.
+ * Found bookings keep the order of the requested ids; ids with no booking are listed separately.
+ */
+public class BookingLookup {
+    private final List<Booking> bookings;
+    private final List<Long> missingIds;
+
+    public BookingLookup(List<Booking> bookings, List<Long> missingIds) {
+        this.bookings = bookings;
+        this.missingIds = missingIds;
+    }
+
+    public List<Booking> getBookings() {
+        return bookings;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+}
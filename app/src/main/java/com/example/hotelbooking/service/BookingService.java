@@ -0,0 +1,327 @@
+package com.example.hotelbooking.service;
+
+import com.example.hotelbooking.context.Deadline;
+import com.example.hotelbooking.model.Booking;
+import com.example.hotelbooking.model.Room;
+import com.example.hotelbooking.dto.BookingRequest;
+import com.example.hotelbooking.dao.BookingDao;
+import com.example.hotelbooking.jfr.AvailabilityCheckEvent;
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+import com.example.hotelbooking.tracing.Trace;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class BookingService {
+    private final BookingDao bookingDao;
+    private final CacheService cacheService;
+    // Every database call goes through the breaker so a stalled database fails fast instead of holding threads
+    private final CircuitBreaker databaseBreaker = new CircuitBreaker("database");
+    private final Counter staleReads = MetricsRegistry.getInstance().counter("booking.degraded.stale_reads");
+    private final AvailabilityBroadcaster availabilityBroadcaster = new AvailabilityBroadcaster();
+
+    public BookingService(BookingDao bookingDao, CacheService cacheService) {
+        this.bookingDao = bookingDao;
+        this.cacheService = cacheService;
+    }
+
+    public BookingService(BookingDao bookingDao) {
+        this(bookingDao, new CacheService());
+    }
+
+    public Booking createBooking(BookingRequest request) {
+        String availabilityKey = String.format("%d_%s_%s", 
+            request.getRoomId(), 
+            request.getCheckInDate(), 
+            request.getCheckOutDate());
+
+        if (!isRoomAvailable(availabilityKey, request.getRoomId(), request.getCheckInDate(), request.getCheckOutDate())) {
+            throw new IllegalStateException("Room is not available for the selected dates");
+        }
+
+        // Calculate total price
+        long numberOfNights = ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate());
+        BigDecimal totalPrice = BigDecimal.valueOf(100.00).multiply(BigDecimal.valueOf(numberOfNights));
+
+        // Create booking
+        Booking booking = new Booking();
+        booking.setCheckInDate(request.getCheckInDate());
+        booking.setCheckOutDate(request.getCheckOutDate());
+        booking.setTotalPrice(totalPrice);
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        booking.setUser(databaseBreaker.call(() -> bookingDao.findUserById(request.getUserId()))
+                .orElseThrow(() -> new IllegalArgumentException("User not found")));
+        booking.setRoom(databaseBreaker.call(() -> bookingDao.findRoomById(request.getRoomId()))
+                .orElseThrow(() -> new IllegalArgumentException("Room not found")));
+
+        // Don't commit a booking the client has already given up on
+        Deadline.checkCurrent("saving booking");
+
+        // Save and update caches
+        Booking savedBooking = databaseBreaker.call(() -> bookingDao.save(booking));
+        cacheService.putBooking(savedBooking.getId(), savedBooking);
+        cacheService.invalidateRoomAvailability(availabilityKey);
+        cacheService.invalidateUserBookings(savedBooking.getUser().getId());
+        publishAvailabilityChange(savedBooking.getRoom(), savedBooking.getCheckInDate(), savedBooking.getCheckOutDate());
+        
+        return savedBooking;
+    }
+
+    public Booking updateBooking(Long bookingId, LocalDate newCheckInDate, LocalDate newCheckOutDate) {
+        // A copy, so a save the database never takes leaves the cached booking as it was
+        Booking booking = copyOf(getBooking(bookingId));
+        LocalDate oldCheckInDate = booking.getCheckInDate();
+        LocalDate oldCheckOutDate = booking.getCheckOutDate();
+
+        String availabilityKey = String.format("%d_%s_%s", 
+            booking.getRoom().getId(), 
+            newCheckInDate, 
+            newCheckOutDate);
+
+        if (!isRoomAvailable(availabilityKey, booking.getRoom().getId(), newCheckInDate, newCheckOutDate)) {
+            throw new IllegalStateException("Room is not available for the new dates");
+        }
+
+        Deadline.checkCurrent("saving booking");
+
+        // Update dates and recalculate price
+        booking.setCheckInDate(newCheckInDate);
+        booking.setCheckOutDate(newCheckOutDate);
+        
+        long numberOfNights = ChronoUnit.DAYS.between(newCheckInDate, newCheckOutDate);
+        BigDecimal totalPrice = BigDecimal.valueOf(100.00).multiply(BigDecimal.valueOf(numberOfNights));
+        booking.setTotalPrice(totalPrice);
+
+        // Save and update caches
+        Booking updatedBooking = databaseBreaker.call(() -> bookingDao.save(booking));
+        cacheService.putBooking(bookingId, updatedBooking);
+        cacheService.invalidateRoomAvailability(availabilityKey);
+        cacheService.invalidateUserBookings(updatedBooking.getUser().getId());
+        // Both the nights given up and the nights taken changed
+        publishAvailabilityChange(updatedBooking.getRoom(), oldCheckInDate, oldCheckOutDate);
+        publishAvailabilityChange(updatedBooking.getRoom(), newCheckInDate, newCheckOutDate);
+        
+        return updatedBooking;
+    }
+
+    /**
+     * A cached "booked" answer is trusted; otherwise the database decides, and a "booked" answer from
+     * it is cached. A cached "free" answer is always double checked, since booking it must not conflict.
+     */
+    private boolean isRoomAvailable(String availabilityKey, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        try (Trace.Span span = Trace.span("service.availability")) {
+            AvailabilityCheckEvent event = AvailabilityCheckEvent.start();
+            Boolean cached = cacheService.getRoomAvailability(availabilityKey);
+            if (cached != null && !cached) {
+                event.finish(roomId, checkIn, checkOut, true, false);
+                return false;
+            }
+            boolean available = databaseBreaker.call(() -> bookingDao.isRoomAvailable(roomId, checkIn, checkOut));
+            if (!available) {
+                cacheService.putRoomAvailability(availabilityKey, false);
+            }
+            event.finish(roomId, checkIn, checkOut, false, available);
+            return available;
+        }
+    }
+
+    public void cancelBooking(Long bookingId) {
+        Booking booking = copyOf(getBooking(bookingId));
+        Deadline.checkCurrent("cancelling booking");
+        booking.setStatus(Booking.BookingStatus.CANCELLED);
+        
+        // Save and update caches
+        databaseBreaker.call(() -> bookingDao.save(booking));
+        cacheService.invalidateBooking(bookingId);
+        cacheService.invalidateUserBookings(booking.getUser().getId());
+        
+        // Invalidate room availability cache for these dates
+        String availabilityKey = String.format("%d_%s_%s", 
+            booking.getRoom().getId(), 
+            booking.getCheckInDate(), 
+            booking.getCheckOutDate());
+        cacheService.invalidateRoomAvailability(availabilityKey);
+        publishAvailabilityChange(booking.getRoom(), booking.getCheckInDate(), booking.getCheckOutDate());
+    }
+
+    /**
+     * Bookings from getBooking may be the instances held by the caches, shared with every reader.
+     */
+    private static Booking copyOf(Booking booking) {
+        Booking copy = new Booking();
+        copy.setId(booking.getId());
+        copy.setUser(booking.getUser());
+        copy.setRoom(booking.getRoom());
+        copy.setCheckInDate(booking.getCheckInDate());
+        copy.setCheckOutDate(booking.getCheckOutDate());
+        copy.setTotalPrice(booking.getTotalPrice());
+        copy.setStatus(booking.getStatus());
+        return copy;
+    }
+
+    public List<Booking> getUserBookings(Long userId) {
+        // Try to get from cache first
+        List<Booking> cachedBookings = cacheService.getUserBookings(userId);
+        if (cachedBookings != null) {
+            return cachedBookings;
+        }
+
+        // If not in cache, get from DB and cache it
+        // Skip caching if the list changed while we were loading it
+        long version = cacheService.getUserBookingsVersion(userId);
+        List<Booking> bookings;
+        try {
+            bookings = databaseBreaker.call(() -> bookingDao.findByUserId(userId));
+        } catch (RuntimeException e) {
+            return staleOrRethrow(e, cacheService.getStaleUserBookings(userId));
+        }
+        cacheService.putUserBookings(userId, version, bookings);
+        return bookings;
+    }
+
+    public Booking getBooking(Long bookingId) {
+        // Try to get from cache first
+        Booking cachedBooking = cacheService.getBooking(bookingId);
+        if (cachedBooking != null) {
+            return cachedBooking;
+        }
+
+        // If not in cache, get from DB and cache it, unless it changed while we were loading it
+        long version = cacheService.getBookingVersion(bookingId);
+        Optional<Booking> loaded;
+        try {
+            loaded = databaseBreaker.call(() -> bookingDao.findById(bookingId));
+        } catch (RuntimeException e) {
+            return staleOrRethrow(e, cacheService.getStaleBooking(bookingId));
+        }
+        Booking booking = loaded.orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+        cacheService.putLoadedBooking(bookingId, version, booking);
+        return booking;
+    }
+
+    /**
+     * Fetches several bookings in one call.
+     * Cached bookings are served in bulk and only the misses are loaded, with a single query.
+     */
+    public BookingLookup getBookings(Collection<Long> bookingIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(bookingIds));
+        Map<Long, Booking> found = new HashMap<>(cacheService.getBookings(ids));
+
+        if (found.size() < ids.size()) {
+            List<Long> misses = new ArrayList<>(ids.size() - found.size());
+            Map<Long, Long> versions = new HashMap<>();
+            for (Long id : ids) {
+                if (!found.containsKey(id)) {
+                    misses.add(id);
+                    versions.put(id, cacheService.getBookingVersion(id));
+                }
+            }
+            List<Booking> loaded;
+            try {
+                loaded = databaseBreaker.call(() -> bookingDao.findByIds(misses));
+            } catch (RuntimeException e) {
+                // Degraded: answer only if every miss is still known, rather than report live bookings as missing
+                Map<Long, Booking> stale = cacheService.getStaleBookings(misses);
+                found.putAll(staleOrRethrow(e, stale.size() == misses.size() ? stale : null));
+                loaded = List.of();
+            }
+            for (Booking booking : loaded) {
+                found.put(booking.getId(), booking);
+                cacheService.putLoadedBooking(booking.getId(), versions.get(booking.getId()), booking);
+            }
+        }
+
+        List<Booking> bookings = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            Booking booking = found.get(id);
+            if (booking != null) {
+                bookings.add(booking);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BookingLookup(bookings, missingIds);
+    }
+
+    /**
+     * Availability change stream fed by every booking create, update and cancel.
+     */
+    public AvailabilityBroadcaster getAvailabilityBroadcaster() {
+        return availabilityBroadcaster;
+    }
+
+    private void publishAvailabilityChange(Room room, LocalDate from, LocalDate to) {
+        if (room == null || from == null || to == null) {
+            return;
+        }
+        Long hotelId = room.getHotel() != null ? room.getHotel().getId() : null;
+        try (Trace.Span span = Trace.span("service.publishAvailability")) {
+            availabilityBroadcaster.publish(hotelId, room.getId(), from, to);
+        }
+    }
+
+    /**
+     * True while the database breaker is not closed. Reads may then be answered from the
+     * degraded-mode cache and can be older than the database.
+     */
+    public boolean isDegraded() {
+        return databaseBreaker.getState() != CircuitBreaker.State.CLOSED;
+    }
+
+    /**
+     * Falls back to the last known value when the database is unavailable; any other error,
+     * or a value that was never cached, is rethrown.
+     */
+    private <T> T staleOrRethrow(RuntimeException error, T stale) {
+        if (stale == null || !(error instanceof CircuitOpenException || CircuitBreaker.isFailure(error))) {
+            throw error;
+        }
+        staleReads.increment();
+        return stale;
+    }
+
+    public long getBookingVersion(Long bookingId) {
+        return cacheService.getBookingVersion(bookingId);
+    }
+
+    /**
+     * Version of a user's booking list. Changes whenever any of the user's bookings changes,
+     * and is answered from cache metadata without loading the bookings.
+     */
+    public long getUserBookingsVersion(Long userId) {
+        return cacheService.getUserBookingsVersion(userId);
+    }
+
+    /**
+     * Returns the serialized response for a booking if one was cached for the given version.
+     * Read the version before loading the booking, so a concurrent change is never hidden.
+     */
+    public CachedResponse getCachedBookingResponse(Long bookingId, long version) {
+        return cacheService.getBookingResponse(bookingId, version);
+    }
+
+    public void cacheBookingResponse(Long bookingId, CachedResponse response) {
+        cacheService.putBookingResponse(bookingId, response);
+    }
+
+    /**
+     * Returns the serialized listing for a user if one was cached for the given version.
+     */
+    public CachedResponse getCachedUserBookingsResponse(Long userId, long version) {
+        return cacheService.getUserBookingsResponse(userId, version);
+    }
+
+    public void cacheUserBookingsResponse(Long userId, CachedResponse response) {
+        cacheService.putUserBookingsResponse(userId, response);
+    }
+}
@@ -0,0 +1,333 @@
+package com.example.hotelbooking.service;
+
+import com.example.hotelbooking.jfr.CacheLookupEvent;
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.Labels;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+import com.example.hotelbooking.metrics.WindowedCounter;
+import com.example.hotelbooking.metrics.WindowedRatio;
+import com.example.hotelbooking.model.Booking;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class CacheService {
+    private final Cache<Long, Booking> bookingCache;
+    private final Cache<Long, List<Booking>> userBookingsCache;
+    private final Cache<String, Boolean> roomAvailabilityCache;
+    private final Cache<Long, CachedResponse> bookingResponseCache;
+    private final Cache<Long, CachedResponse> userBookingsResponseCache;
+    private final Cache<Long, Long> bookingVersions;
+    private final Cache<Long, Long> userBookingsVersions;
+    private final Cache<Long, Booking> staleBookings;
+    private final Cache<Long, List<Booking>> staleUserBookings;
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final CacheMetrics bookingMetrics = new CacheMetrics("booking");
+    private final CacheMetrics bookingResponseMetrics = new CacheMetrics("booking_response");
+    private final CacheMetrics userBookingsMetrics = new CacheMetrics("user_bookings");
+    private final CacheMetrics userBookingsResponseMetrics = new CacheMetrics("user_bookings_response");
+    private final CacheMetrics roomAvailabilityMetrics = new CacheMetrics("room_availability");
+    private final CacheMetrics staleBookingMetrics = new CacheMetrics("stale_booking");
+    private final CacheMetrics staleUserBookingsMetrics = new CacheMetrics("stale_user_bookings");
+    private final Counter clearAllCount = MetricsRegistry.getInstance().counter("cache.clear.all");
+
+    public CacheService() {
+        // Cache for individual bookings
+        // Short TTL as bookings can be updated/cancelled
+        this.bookingCache = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .recordStats()
+                .build();
+
+        // Cache for user bookings
+        // Medium TTL as list changes less frequently
+        this.userBookingsCache = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(Duration.ofMinutes(15))
+                .recordStats()
+                .build();
+
+        // Cache for room availability
+        // Very short TTL as availability changes frequently
+        this.roomAvailabilityCache = Caffeine.newBuilder()
+                .maximumSize(5_000)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .recordStats()
+                .build();
+
+        // Cache for serialized booking responses
+        // Same TTL as the booking cache, entries are checked against the booking version
+        this.bookingResponseCache = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .recordStats()
+                .build();
+
+        // Cache for serialized user booking listings, checked against the list version
+        this.userBookingsResponseCache = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(Duration.ofMinutes(15))
+                .recordStats()
+                .build();
+
+        // Booking versions, bumped on every change
+        // Evicting a version only forces a fresh one, never reuses an old one
+        this.bookingVersions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .build();
+
+        // User booking list versions, bumped whenever a user's list is invalidated
+        this.userBookingsVersions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .build();
+
+        // Last known bookings and user lists, kept well past the normal TTLs
+        // Only read in degraded mode, when the database cannot be asked
+        this.staleBookings = Caffeine.newBuilder()
+                .maximumSize(50_000)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+        this.staleUserBookings = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+    }
+
+    // Booking cache methods
+    public Booking getBooking(Long id) {
+        return getWithStats(bookingMetrics, () -> bookingCache.getIfPresent(id));
+    }
+
+    /**
+     * Bulk lookup of cached bookings; ids that are not cached are absent from the result.
+     */
+    public Map<Long, Booking> getBookings(Collection<Long> ids) {
+        CacheLookupEvent lookup = CacheLookupEvent.start();
+        Map<Long, Booking> found = bookingCache.getAllPresent(ids);
+        lookup.finish(bookingMetrics.name, ids.size(), found.size());
+        int misses = ids.size() - found.size();
+        if (!found.isEmpty()) {
+            bookingMetrics.hits.add(found.size());
+            bookingMetrics.recentHits.add(found.size());
+        }
+        if (misses > 0) {
+            bookingMetrics.misses.add(misses);
+        }
+        bookingMetrics.recentLookups.add(ids.size());
+        return found;
+    }
+
+    public void putBooking(Long id, Booking booking) {
+        changeBooking(id, () -> {
+            bookingCache.put(id, booking);
+            staleBookings.put(id, booking);
+        });
+        bookingMetrics.puts.increment();
+    }
+
+    /**
+     * Caches a booking freshly loaded from the database, unless it changed since {@code version}
+     * was read. Take the version before the read: a change or invalidation that lands during the
+     * read bumps it, and the booking loaded before the change is then dropped instead of being
+     * cached under the new version. Not a change itself, so the version is left alone.
+     */
+    public void putLoadedBooking(Long id, long version, Booking booking) {
+        bookingVersions.asMap().computeIfPresent(id, (k, current) -> {
+            if (current == version) {
+                bookingCache.asMap().putIfAbsent(id, booking);
+                staleBookings.put(id, booking);
+                bookingMetrics.puts.increment();
+            }
+            return current;
+        });
+    }
+
+    public void invalidateBooking(Long id) {
+        changeBooking(id, () -> {
+            bookingCache.invalidate(id);
+            staleBookings.invalidate(id);
+        });
+        bookingMetrics.invalidations.increment();
+    }
+
+    public long getBookingVersion(Long id) {
+        return bookingVersions.get(id, k -> versionSequence.incrementAndGet());
+    }
+
+    /**
+     * Applies a change to the cached booking and bumps its version as one step, under the
+     * version entry's lock, so a load checking the version cannot slip in between the two.
+     */
+    private void changeBooking(Long id, Runnable change) {
+        bookingVersions.asMap().compute(id, (k, current) -> {
+            change.run();
+            return versionSequence.incrementAndGet();
+        });
+        bookingResponseCache.invalidate(id);
+    }
+
+    // Serialized booking response cache methods
+    public CachedResponse getBookingResponse(Long id, long version) {
+        return getWithStats(bookingResponseMetrics, () -> {
+            CachedResponse response = bookingResponseCache.getIfPresent(id);
+            return response != null && response.getVersion() == version ? response : null;
+        });
+    }
+
+    public void putBookingResponse(Long id, CachedResponse response) {
+        bookingResponseCache.put(id, response);
+        bookingResponseMetrics.puts.increment();
+    }
+
+    // User bookings cache methods
+    public List<Booking> getUserBookings(Long userId) {
+        return getWithStats(userBookingsMetrics, () -> userBookingsCache.getIfPresent(userId));
+    }
+
+    /**
+     * Caches a user's list loaded from the database, unless the list was invalidated since
+     * {@code version} was read. The check and the put happen under the version entry's lock,
+     * which invalidation also takes, so a stale list is never filed under a newer version.
+     */
+    public void putUserBookings(Long userId, long version, List<Booking> bookings) {
+        userBookingsVersions.asMap().computeIfPresent(userId, (k, current) -> {
+            if (current == version) {
+                userBookingsCache.put(userId, bookings);
+                staleUserBookings.put(userId, bookings);
+                userBookingsMetrics.puts.increment();
+            }
+            return current;
+        });
+    }
+
+    public void invalidateUserBookings(Long userId) {
+        userBookingsVersions.asMap().compute(userId, (k, current) -> {
+            userBookingsCache.invalidate(userId);
+            return versionSequence.incrementAndGet();
+        });
+        userBookingsResponseCache.invalidate(userId);
+        userBookingsMetrics.invalidations.increment();
+    }
+
+    public long getUserBookingsVersion(Long userId) {
+        return userBookingsVersions.get(userId, k -> versionSequence.incrementAndGet());
+    }
+
+    public CachedResponse getUserBookingsResponse(Long userId, long version) {
+        return getWithStats(userBookingsResponseMetrics, () -> {
+            CachedResponse response = userBookingsResponseCache.getIfPresent(userId);
+            return response != null && response.getVersion() == version ? response : null;
+        });
+    }
+
+    public void putUserBookingsResponse(Long userId, CachedResponse response) {
+        userBookingsResponseCache.put(userId, response);
+        userBookingsResponseMetrics.puts.increment();
+    }
+
+    // Degraded-mode fallbacks; may be older than the database
+    public Booking getStaleBooking(Long id) {
+        return getWithStats(staleBookingMetrics, () -> staleBookings.getIfPresent(id));
+    }
+
+    public Map<Long, Booking> getStaleBookings(Collection<Long> ids) {
+        return staleBookings.getAllPresent(ids);
+    }
+
+    public List<Booking> getStaleUserBookings(Long userId) {
+        return getWithStats(staleUserBookingsMetrics, () -> staleUserBookings.getIfPresent(userId));
+    }
+
+    // Room availability cache methods
+    public Boolean getRoomAvailability(String key) {
+        return getWithStats(roomAvailabilityMetrics, () -> roomAvailabilityCache.getIfPresent(key));
+    }
+
+    public void putRoomAvailability(String key, Boolean available) {
+        roomAvailabilityCache.put(key, available);
+        roomAvailabilityMetrics.puts.increment();
+    }
+
+    public void invalidateRoomAvailability(String key) {
+        roomAvailabilityCache.invalidate(key);
+        roomAvailabilityMetrics.invalidations.increment();
+    }
+
+    private <T> T getWithStats(CacheMetrics cache, Supplier<T> getter) {
+        CacheLookupEvent lookup = CacheLookupEvent.start();
+        T value = getter.get();
+        lookup.finish(cache.name, 1, value != null ? 1 : 0);
+        if (value != null) {
+            cache.hits.increment();
+            cache.recentHits.increment();
+        } else {
+            cache.misses.increment();
+        }
+        cache.recentLookups.increment();
+        return value;
+    }
+
+    public void clearAll() {
+        bookingCache.invalidateAll();
+        userBookingsCache.invalidateAll();
+        roomAvailabilityCache.invalidateAll();
+        bookingResponseCache.invalidateAll();
+        userBookingsResponseCache.invalidateAll();
+        bookingVersions.invalidateAll();
+        userBookingsVersions.invalidateAll();
+        staleBookings.invalidateAll();
+        staleUserBookings.invalidateAll();
+        clearAllCount.increment();
+    }
+
+    /**
+     * Hit ratio of each cache over the last minute, for caches that were looked up in that time.
+     */
+    public Map<String, Double> getCacheHitRates() {
+        Map<String, Double> hitRates = new HashMap<>();
+        for (CacheMetrics cache : List.of(bookingMetrics, bookingResponseMetrics, userBookingsMetrics,
+                userBookingsResponseMetrics, roomAvailabilityMetrics, staleBookingMetrics, staleUserBookingsMetrics)) {
+            double hitRate = cache.hitRatio.get(WindowedCounter.ONE_MINUTE);
+            if (!Double.isNaN(hitRate)) {
+                hitRates.put(cache.name, hitRate);
+            }
+        }
+        return hitRates;
+    }
+
+    /**
+     * Counters of one cache, bound to its {@code cache} label once so lookups do no name building.
+     * The windowed counters feed {@code cache.hit_ratio}, the hit ratio over recent lookups.
+     */
+    private static final class CacheMetrics {
+        final String name;
+        final Counter hits;
+        final Counter misses;
+        final Counter puts;
+        final Counter invalidations;
+        final WindowedCounter recentLookups;
+        final WindowedCounter recentHits;
+        final WindowedRatio hitRatio;
+
+        CacheMetrics(String name) {
+            MetricsRegistry metricsRegistry = MetricsRegistry.getInstance();
+            Labels labels = Labels.of("cache", name);
+            this.name = name;
+            this.hits = metricsRegistry.counter("cache.hits", labels);
+            this.misses = metricsRegistry.counter("cache.misses", labels);
+            this.puts = metricsRegistry.counter("cache.puts", labels);
+            this.invalidations = metricsRegistry.counter("cache.invalidations", labels);
+            this.recentLookups = metricsRegistry.windowedCounter("cache.lookups", labels);
+            this.recentHits = metricsRegistry.windowedCounter("cache.hits", labels);
+            this.hitRatio = metricsRegistry.ratio("cache.hit_ratio", labels, recentHits, recentLookups);
+        }
+    }
+}
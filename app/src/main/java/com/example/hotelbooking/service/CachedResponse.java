@@ -0,0 +1,53 @@
+package com.example.hotelbooking.service;
+
+import com.example.hotelbooking.http.Compression;
+import com.example.hotelbooking.http.Compression.Encoding;
+
+/**
+ * Pre-serialized response body for a cached entity.
+ * Tagged with the entity version it was built from so stale bytes are never served.
+ */
+public class CachedResponse {
+    private final long version;
+    private final byte[] body;
+    // Built lazily on the first request for each encoding; racing builders produce identical bytes
+    private volatile byte[] gzipBody;
+    private volatile byte[] deflateBody;
+
+    public CachedResponse(long version, byte[] body) {
+        this.version = version;
+        this.body = body;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Returns the body in the given encoding, compressing it at most once per encoding.
+     */
+    public byte[] getBody(Encoding encoding) {
+        switch (encoding) {
+            case GZIP:
+                byte[] gzip = gzipBody;
+                if (gzip == null) {
+                    gzip = Compression.compress(body, Encoding.GZIP);
+                    gzipBody = gzip;
+                }
+                return gzip;
+            case DEFLATE:
+                byte[] deflate = deflateBody;
+                if (deflate == null) {
+                    deflate = Compression.compress(body, Encoding.DEFLATE);
+                    deflateBody = deflate;
+                }
+                return deflate;
+            default:
+                return body;
+        }
+    }
+}
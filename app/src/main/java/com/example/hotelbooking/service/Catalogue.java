@@ -0,0 +1,42 @@
+package com.example.hotelbooking.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the hotel and room catalogue, held as ready-to-send response bodies.
+ * Each body carries its own version, which only changes when that body's bytes change.
+ */
+public final class Catalogue {
+    static final Catalogue EMPTY = new Catalogue(new CachedResponse(0, "[]".getBytes(StandardCharsets.UTF_8)), Collections.emptyMap(), 0);
+
+    private final CachedResponse hotels;
+    private final Map<Long, CachedResponse> roomsByHotel;
+    private final int roomCount;
+
+    Catalogue(CachedResponse hotels, Map<Long, CachedResponse> roomsByHotel, int roomCount) {
+        this.hotels = hotels;
+        this.roomsByHotel = Collections.unmodifiableMap(roomsByHotel);
+        this.roomCount = roomCount;
+    }
+
+    public CachedResponse getHotels() {
+        return hotels;
+    }
+
+    /**
+     * Returns the rooms body for a hotel, or null when the hotel is not in the catalogue.
+     */
+    public CachedResponse getRooms(long hotelId) {
+        return roomsByHotel.get(hotelId);
+    }
+
+    public int getHotelCount() {
+        return roomsByHotel.size();
+    }
+
+    public int getRoomCount() {
+        return roomCount;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.hotelbooking.service;
+
+import com.example.hotelbooking.dao.BookingDao;
+import com.example.hotelbooking.dto.CatalogueJsonCodec;
+import com.example.hotelbooking.logging.AsyncLogger;
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+import com.example.hotelbooking.model.Hotel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves the hotel and room catalogue from an in-memory {@link Catalogue} snapshot.
+ *
+ * Readers only ever load the current snapshot, so they never touch the database and never see a
+ * half-built catalogue. {@link #refresh()} reloads both tables, re-serializes them and swaps the new
+ * snapshot in with a single reference write. Bodies whose bytes did not change are carried over
+ * with their version, so clients keep their ETags, and when nothing changed the old snapshot stays.
+ * Hotels and rooms have no write path in this service, so a background refresh picks up changes
+ * made to the tables directly; anything that does change them can call {@link #refresh()} at once.
+ */
+public class CatalogueService implements AutoCloseable {
+    static final long REFRESH_INTERVAL_MS = 30_000;
+
+    private final BookingDao bookingDao;
+    private final CatalogueJsonCodec codec = new CatalogueJsonCodec();
+    private final Counter refreshes;
+    private final Counter changes;
+    private final Counter refreshFailures;
+    private final AsyncLogger log = AsyncLogger.getInstance();
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final AtomicReference<Catalogue> current;
+    private ScheduledExecutorService refresher;
+
+    /**
+     * Builds the first snapshot right away, so a catalogue that cannot be loaded fails startup.
+     */
+    public CatalogueService(BookingDao bookingDao) {
+        this.bookingDao = bookingDao;
+        MetricsRegistry metricsRegistry = MetricsRegistry.getInstance();
+        this.refreshes = metricsRegistry.counter("catalogue.refreshes");
+        this.changes = metricsRegistry.counter("catalogue.changes");
+        this.refreshFailures = metricsRegistry.counter("catalogue.refresh_failures");
+        this.current = new AtomicReference<>(build(bookingDao.findAllHotelsWithRooms(), Catalogue.EMPTY));
+        metricsRegistry.registerGauge("catalogue.hotels", () -> current.get().getHotelCount());
+        metricsRegistry.registerGauge("catalogue.rooms", () -> current.get().getRoomCount());
+    }
+
+    public Catalogue getCatalogue() {
+        return current.get();
+    }
+
+    /**
+     * Reloads the catalogue and publishes it if anything changed. Returns true when a new snapshot was published.
+     */
+    public synchronized boolean refresh() {
+        refreshes.increment();
+        Catalogue previous = current.get();
+        Catalogue next = build(bookingDao.findAllHotelsWithRooms(), previous);
+        if (next == previous) {
+            return false;
+        }
+        current.set(next);
+        changes.increment();
+        return true;
+    }
+
+    /**
+     * Returns {@code previous} itself when the loaded hotels serialize to exactly the same bodies.
+     */
+    private Catalogue build(List<Hotel> hotels, Catalogue previous) {
+        try {
+            boolean changed = hotels.size() != previous.getHotelCount();
+            CachedResponse hotelList = carryOver(previous.getHotels(), codec.writeHotels(hotels));
+            changed |= hotelList != previous.getHotels();
+
+            Map<Long, CachedResponse> roomsByHotel = new HashMap<>(hotels.size() * 2);
+            int roomCount = 0;
+            for (Hotel hotel : hotels) {
+                CachedResponse old = previous.getRooms(hotel.getId());
+                CachedResponse rooms = carryOver(old, codec.writeRooms(hotel));
+                changed |= rooms != old;
+                roomsByHotel.put(hotel.getId(), rooms);
+                roomCount += hotel.getRooms().size();
+            }
+            return changed ? new Catalogue(hotelList, roomsByHotel, roomCount) : previous;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize catalogue", e);
+        }
+    }
+
+    private CachedResponse carryOver(CachedResponse old, byte[] body) {
+        if (old != null && Arrays.equals(old.getBody(), body)) {
+            return old;
+        }
+        return new CachedResponse(versionSequence.incrementAndGet(), body);
+    }
+
+    /**
+     * Starts refreshing in the background. A failed refresh keeps serving the current snapshot.
+     */
+    public synchronized void start() {
+        if (refresher != null) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "catalogue-refresher");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                refreshFailures.increment();
+                log.warn("Catalogue refresh failed, still serving the previous snapshot: " + e.getMessage());
+            }
+        }, REFRESH_INTERVAL_MS, REFRESH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+}
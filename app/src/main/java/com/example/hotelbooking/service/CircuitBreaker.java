@@ -0,0 +1,272 @@
+package com.example.hotelbooking.service;
+
+import com.example.hotelbooking.context.DeadlineExceededException;
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker for calls into the database.
+ *
+ * Outcomes are counted in a sliding window of one-second buckets. A call fails when it throws
+ * with an {@link SQLException} anywhere in its cause chain (this covers statement and checkout
+ * timeouts), and counts as slow when it takes longer than the slow-call threshold. Business errors
+ * such as "room not available" are successes as far as the breaker is concerned. A call that runs
+ * out of its request's deadline is not counted at all: a client asking for a short budget says
+ * nothing about the database, and must not open the breaker for everyone else.
+ *
+ * Once enough calls have been seen and the failure-or-slow rate crosses the threshold, the breaker
+ * opens and calls fail fast with {@link CircuitOpenException}. After the open period a few trial calls
+ * are let through; if they all succeed the breaker closes, otherwise it opens again.
+ *
+ * State is reported as {@code circuit.<name>.state} (0 closed, 1 half-open, 2 open) together with
+ * {@code circuit.<name>.opened}, {@code .closed} and {@code .rejected} counters.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final String name;
+    private final int windowSeconds;
+    private final int minimumCalls;
+    private final int failureRatePercent;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+    private final Counter closedCount;
+    private final Counter openedCount;
+    private final Counter rejectedCount;
+
+    private final AtomicReference<Phase> phase = new AtomicReference<>(Phase.closed());
+
+    // Guarded by this
+    private final long[] bucketSeconds;
+    private final int[] bucketCalls;
+    private final int[] bucketFailures;
+
+    public CircuitBreaker(String name) {
+        this(name, 10, 20, 50, 1000, 5000, 3, System::nanoTime);
+    }
+
+    public CircuitBreaker(String name, int windowSeconds, int minimumCalls, int failureRatePercent,
+                          long slowCallMs, long openMs, int halfOpenCalls, LongSupplier clock) {
+        this.name = name;
+        this.windowSeconds = windowSeconds;
+        this.minimumCalls = minimumCalls;
+        this.failureRatePercent = failureRatePercent;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+        MetricsRegistry metricsRegistry = MetricsRegistry.getInstance();
+        this.closedCount = metricsRegistry.counter("circuit." + name + ".closed");
+        this.openedCount = metricsRegistry.counter("circuit." + name + ".opened");
+        this.rejectedCount = metricsRegistry.counter("circuit." + name + ".rejected");
+        this.bucketSeconds = new long[windowSeconds];
+        this.bucketCalls = new int[windowSeconds];
+        this.bucketFailures = new int[windowSeconds];
+        metricsRegistry.registerGauge("circuit." + name + ".state", () -> phase.get().state.ordinal());
+    }
+
+    /**
+     * Runs the call through the breaker.
+     *
+     * @throws CircuitOpenException when the breaker is open, or half-open with its trial calls taken
+     */
+    public <T> T call(Supplier<T> action) {
+        Phase admitted = acquirePermission();
+        long start = clock.getAsLong();
+        boolean failed = true;
+        boolean counted = true;
+        try {
+            T result = action.get();
+            failed = false;
+            return result;
+        } catch (DeadlineExceededException e) {
+            counted = false;
+            throw e;
+        } catch (RuntimeException e) {
+            failed = isFailure(e);
+            throw e;
+        } finally {
+            if (counted) {
+                long elapsed = clock.getAsLong() - start;
+                onResult(admitted, failed || elapsed > slowCallNanos);
+            } else if (admitted.state == State.HALF_OPEN) {
+                // Hand the trial permit back so another call can decide the phase
+                admitted.permits.incrementAndGet();
+            }
+        }
+    }
+
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public State getState() {
+        Phase current = phase.get();
+        if (current.state == State.OPEN && clock.getAsLong() - current.openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return current.state;
+    }
+
+    /**
+     * True when the failure came from the database itself rather than from the caller's input
+     * or the caller's own deadline.
+     */
+    public static boolean isFailure(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof DeadlineExceededException) {
+                return false;
+            }
+            if (t instanceof SQLException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the phase the call is admitted under, or throws when it is not admitted.
+     */
+    private Phase acquirePermission() {
+        while (true) {
+            Phase current = phase.get();
+            if (current.state == State.CLOSED) {
+                return current;
+            }
+            if (current.state == State.HALF_OPEN) {
+                if (!current.takePermit()) {
+                    reject();
+                }
+                return current;
+            }
+            if (clock.getAsLong() - current.openedAt < openNanos) {
+                reject();
+            }
+            // Whoever wins installs a half-open phase with fresh permits; everyone then takes from it
+            phase.compareAndSet(current, Phase.halfOpen(current.openedAt, halfOpenCalls));
+        }
+    }
+
+    private void onResult(Phase admitted, boolean failed) {
+        if (phase.get() != admitted) {
+            // Admitted under an earlier phase, so says nothing about the current one
+            return;
+        }
+        if (admitted.state == State.HALF_OPEN) {
+            if (failed) {
+                open(admitted);
+            } else if (admitted.successes.incrementAndGet() >= halfOpenCalls
+                    && phase.compareAndSet(admitted, Phase.closed())) {
+                resetWindow();
+                closedCount.increment();
+            }
+            return;
+        }
+        if (record(failed)) {
+            open(admitted);
+        }
+    }
+
+    /**
+     * Records a call in the window and returns true when the window now calls for opening.
+     */
+    private synchronized boolean record(boolean failed) {
+        long second = TimeUnit.NANOSECONDS.toSeconds(clock.getAsLong());
+        int index = (int) Math.floorMod(second, (long) windowSeconds);
+        if (bucketSeconds[index] != second) {
+            bucketSeconds[index] = second;
+            bucketCalls[index] = 0;
+            bucketFailures[index] = 0;
+        }
+        bucketCalls[index]++;
+        if (failed) {
+            bucketFailures[index]++;
+        } else {
+            // A success can never open the breaker
+            return false;
+        }
+
+        long calls = 0;
+        long failures = 0;
+        for (int i = 0; i < windowSeconds; i++) {
+            if (second - bucketSeconds[i] < windowSeconds) {
+                calls += bucketCalls[i];
+                failures += bucketFailures[i];
+            }
+        }
+        return calls >= minimumCalls && failures * 100 >= calls * failureRatePercent;
+    }
+
+    private synchronized void resetWindow() {
+        for (int i = 0; i < windowSeconds; i++) {
+            bucketCalls[i] = 0;
+            bucketFailures[i] = 0;
+        }
+    }
+
+    private void open(Phase from) {
+        if (phase.compareAndSet(from, Phase.open(clock.getAsLong()))) {
+            openedCount.increment();
+        }
+    }
+
+    private void reject() {
+        rejectedCount.increment();
+        throw new CircuitOpenException("Circuit '" + name + "' is open");
+    }
+
+    /**
+     * One stay in a state. Every transition installs a new phase, so its trial permits and
+     * successes start fresh, and a call can tell whether the phase that admitted it is still current.
+     */
+    private static final class Phase {
+        final State state;
+        final long openedAt;
+        final AtomicInteger permits;
+        final AtomicInteger successes = new AtomicInteger();
+
+        private Phase(State state, long openedAt, int permits) {
+            this.state = state;
+            this.openedAt = openedAt;
+            this.permits = new AtomicInteger(permits);
+        }
+
+        boolean takePermit() {
+            while (true) {
+                int left = permits.get();
+                if (left <= 0) {
+                    return false;
+                }
+                if (permits.compareAndSet(left, left - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        static Phase closed() {
+            return new Phase(State.CLOSED, 0, 0);
+        }
+
+        static Phase open(long openedAt) {
+            return new Phase(State.OPEN, openedAt, 0);
+        }
+
+        static Phase halfOpen(long openedAt, int permits) {
+            return new Phase(State.HALF_OPEN, openedAt, permits);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.hotelbooking.tracing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Timeline of one sampled request, as nested spans for the stages it went through.
+ *
+ * The handler decides up front whether a request is traced ({@code hotel.trace.sampleRate}, or
+ * always when it carries {@code X-Trace-Sample: 1}) and attaches the trace to its thread, the same
+ * way as a {@link com.example.hotelbooking.context.Deadline}. Service and DAO code open spans with
+ * {@link #span(String)}, which returns a shared no-op span when the request is not traced, so
+ * untraced requests allocate nothing. Spans opened on other threads are not recorded.
+ */
+public final class Trace {
+    public static final String SAMPLE_HEADER = "X-Trace-Sample";
+    public static final String ID_HEADER = "X-Trace-Id";
+
+    private static final double SAMPLE_RATE = Double.parseDouble(System.getProperty("hotel.trace.sampleRate", "0.01"));
+    // Bounds a trace's memory when a request loops over many calls
+    private static final int MAX_SPANS = 256;
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+    private static final Span NOOP = new Span(null, null, 0, 0);
+    private static final Scope NO_SCOPE = () -> { };
+
+    private final String id;
+    private final String name;
+    private final long startEpochMillis;
+    private final long startNanos;
+    // Written only by the request's thread; read once the trace is finished and published
+    private final List<Span> spans = new ArrayList<>();
+    private int depth;
+    private int droppedSpans;
+    private long durationNanos = -1;
+    private int status;
+
+    Trace(String name) {
+        this.id = String.format("%016x", ThreadLocalRandom.current().nextLong());
+        this.name = name;
+        this.startEpochMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * A new trace when this request is sampled, or null when it is not.
+     */
+    public static Trace sample(String method, String path, String sampleHeader) {
+        if ("1".equals(sampleHeader) || ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE) {
+            return new Trace(method + " " + path);
+        }
+        return null;
+    }
+
+    /**
+     * Makes the trace current on this thread until the returned scope is closed. A null trace
+     * leaves the thread untraced.
+     */
+    public static Scope attach(Trace trace) {
+        if (trace == null) {
+            return NO_SCOPE;
+        }
+        Trace previous = CURRENT.get();
+        CURRENT.set(trace);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Opens a span in the current thread's trace; close it when the stage ends.
+     */
+    public static Span span(String name) {
+        Trace trace = CURRENT.get();
+        return trace == null ? NOOP : trace.open(name);
+    }
+
+    private Span open(String spanName) {
+        if (spans.size() >= MAX_SPANS) {
+            droppedSpans++;
+            return NOOP;
+        }
+        Span span = new Span(this, spanName, System.nanoTime() - startNanos, depth++);
+        spans.add(span);
+        return span;
+    }
+
+    /**
+     * Ends the trace with the response status.
+     */
+    public void finish(int status) {
+        this.durationNanos = System.nanoTime() - startNanos;
+        this.status = status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    /**
+     * Time from the start of the trace to {@link #finish(int)}, or -1 while it is running.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Spans in the order they were opened; each one's depth gives its nesting.
+     */
+    public List<Span> getSpans() {
+        return Collections.unmodifiableList(spans);
+    }
+
+    public int getDroppedSpans() {
+        return droppedSpans;
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public static final class Span implements AutoCloseable {
+        private final Trace trace;
+        private final String name;
+        private final long startOffsetNanos;
+        private final int depth;
+        private long durationNanos = -1;
+
+        private Span(Trace trace, String name, long startOffsetNanos, int depth) {
+            this.trace = trace;
+            this.name = name;
+            this.startOffsetNanos = startOffsetNanos;
+            this.depth = depth;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Start of the span, relative to the start of its trace.
+         */
+        public long getStartOffsetNanos() {
+            return startOffsetNanos;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * Length of the span, or -1 if it was still open when the trace was read.
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        @Override
+        public void close() {
+            if (trace != null && durationNanos < 0) {
+                durationNanos = System.nanoTime() - trace.startNanos - startOffsetNanos;
+                trace.depth--;
+            }
+        }
+    }
+}
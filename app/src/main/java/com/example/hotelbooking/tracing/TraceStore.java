@@ -0,0 +1,92 @@
+package com.example.hotelbooking.tracing;
+
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The most recent slow traces, in a fixed-size ring that overwrites the oldest.
+ *
+ * Finished traces at least {@code hotel.trace.slowMs} long are kept, up to
+ * {@code hotel.trace.capacity} of them; faster ones are only counted. Adding is lock-free, so the
+ * request threads that finish traces never wait on each other or on a reader.
+ * Reports {@code trace.sampled} and {@code trace.kept} to the metrics registry.
+ */
+public final class TraceStore {
+    private static final long SLOW_MS = Long.getLong("hotel.trace.slowMs", 100);
+    private static final int CAPACITY = Integer.getInteger("hotel.trace.capacity", 200);
+    private static final TraceStore INSTANCE = new TraceStore(CAPACITY, TimeUnit.MILLISECONDS.toNanos(SLOW_MS));
+
+    private final AtomicReferenceArray<Trace> ring;
+    private final AtomicLong written = new AtomicLong();
+    private final long slowNanos;
+    private final Counter sampled;
+    private final Counter kept;
+
+    TraceStore(int capacity, long slowNanos) {
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.slowNanos = slowNanos;
+        MetricsRegistry metricsRegistry = MetricsRegistry.getInstance();
+        this.sampled = metricsRegistry.counter("trace.sampled");
+        this.kept = metricsRegistry.counter("trace.kept");
+    }
+
+    public static TraceStore getInstance() {
+        return INSTANCE;
+    }
+
+    public long getSlowThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowNanos);
+    }
+
+    /**
+     * Finishes a sampled trace and keeps it if it was slow. Does nothing for a null trace.
+     */
+    public void finish(Trace trace, int status) {
+        if (trace == null) {
+            return;
+        }
+        trace.finish(status);
+        sampled.increment();
+        if (trace.getDurationNanos() < slowNanos) {
+            return;
+        }
+        kept.increment();
+        long slot = written.getAndIncrement();
+        ring.set((int) (slot % ring.length()), trace);
+    }
+
+    /**
+     * Up to {@code limit} kept traces, newest first.
+     */
+    public List<Trace> recent(int limit) {
+        long end = written.get();
+        List<Trace> traces = new ArrayList<>(Math.min(limit, ring.length()));
+        for (long slot = end - 1; slot >= 0 && slot >= end - ring.length() && traces.size() < limit; slot--) {
+            Trace trace = ring.get((int) (slot % ring.length()));
+            // A writer may have claimed the slot without storing its trace yet
+            if (trace != null && !traces.contains(trace)) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+
+    /**
+     * The kept trace with this id, or null when it is unknown or has been overwritten.
+     */
+    public Trace find(String id) {
+        for (int i = 0; i < ring.length(); i++) {
+            Trace trace = ring.get(i);
+            if (trace != null && trace.getId().equals(id)) {
+                return trace;
+            }
+        }
+        return null;
+    }
+}
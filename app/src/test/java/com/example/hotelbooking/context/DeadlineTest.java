@@ -0,0 +1,46 @@
+package com.example.hotelbooking.context;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineTest {
+
+    @Test
+    void fromHeader_FallsBackToDefaultAndCapsBudget() {
+        assertTrue(Deadline.fromHeader(null).remainingMillis() <= Deadline.DEFAULT_TIMEOUT_MS);
+        assertTrue(Deadline.fromHeader("abc").remainingMillis() > Deadline.DEFAULT_TIMEOUT_MS - 1000);
+        assertTrue(Deadline.fromHeader("-5").remainingMillis() > Deadline.DEFAULT_TIMEOUT_MS - 1000);
+        assertTrue(Deadline.fromHeader("3600000").remainingMillis() <= Deadline.MAX_TIMEOUT_MS);
+        assertTrue(Deadline.fromHeader(" 200 ").remainingMillis() <= 200);
+    }
+
+    @Test
+    void attach_ScopesDeadlineToCurrentThread() {
+        assertNull(Deadline.current());
+        Deadline deadline = Deadline.after(1000);
+        try (Deadline.Scope scope = deadline.attach()) {
+            assertSame(deadline, Deadline.current());
+            assertTrue(Deadline.boundedWaitMillis(5000) <= 1000);
+        }
+        assertNull(Deadline.current());
+        assertEquals(5000, Deadline.boundedWaitMillis(5000));
+    }
+
+    @Test
+    void expiredDeadline_FailsChecksAndBoundsWaitsToZero() {
+        Deadline deadline = Deadline.after(0);
+        try (Deadline.Scope scope = deadline.attach()) {
+            assertTrue(deadline.isExpired());
+            assertEquals(0, Deadline.boundedWaitMillis(1000));
+            assertThrows(DeadlineExceededException.class, () -> Deadline.checkCurrent("test"));
+            assertThrows(DeadlineExceededException.class, () -> deadline.queryTimeoutSeconds("test"));
+        }
+    }
+
+    @Test
+    void queryTimeoutSeconds_RoundsUpToWholeSeconds() {
+        assertEquals(1, Deadline.after(200).queryTimeoutSeconds("test"));
+        assertEquals(3, Deadline.after(2500).queryTimeoutSeconds("test"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.hotelbooking.dao;
+
+import com.example.hotelbooking.model.Booking;
+import com.example.hotelbooking.model.Room;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingDaoTest {
+    private HikariDataSource pool;
+    private BookingDao dao;
+
+    @BeforeEach
+    void createDao() throws Exception {
+        // A single connection: any lookup that checks out a second one while holding the first times out
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:bookingdao" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(1);
+        config.setConnectionTimeout(250);
+        pool = new HikariDataSource(config);
+        dao = new BookingDao(pool);
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO users (name, email) VALUES ('John Doe', 'john@example.com')");
+            stmt.execute("INSERT INTO hotels (name, address, rating) VALUES ('Grand Hotel', '123 Main St', 5)");
+            stmt.execute("INSERT INTO rooms (hotel_id, room_number, room_type, price_per_night) VALUES (1, '101', 'DELUXE', 200.00)");
+            stmt.execute("INSERT INTO bookings (user_id, room_id, check_in_date, check_out_date, total_price, status) "
+                    + "VALUES (1, 1, DATE '2025-09-01', DATE '2025-09-05', 400.00, 'CONFIRMED')");
+        }
+    }
+
+    @AfterEach
+    void closePool() {
+        pool.close();
+    }
+
+    @Test
+    void bookingLookupsHoldOneConnection() {
+        Booking booking = dao.findById(1L).orElseThrow();
+        assertEquals("John Doe", booking.getUser().getName());
+        assertEquals("101", booking.getRoom().getRoomNumber());
+        assertEquals("Grand Hotel", booking.getRoom().getHotel().getName());
+
+        List<Booking> forUser = dao.findByUserId(1L);
+        assertEquals(1, forUser.size());
+        assertEquals("Grand Hotel", forUser.get(0).getRoom().getHotel().getName());
+        assertEquals(1, dao.findAll().size());
+    }
+
+    @Test
+    void roomLookupHoldsOneConnection() {
+        Room room = dao.findRoomById(1L).orElseThrow();
+        assertEquals("DELUXE", room.getRoomType());
+        assertEquals(5, room.getHotel().getRating());
+        assertTrue(dao.findRoomById(2L).isEmpty());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.hotelbooking.db;
+
+import com.example.hotelbooking.context.Deadline;
+import com.example.hotelbooking.context.DeadlineExceededException;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineAwareDataSourceTest {
+    private HikariDataSource pool;
+
+    @BeforeEach
+    void createPool() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:deadline" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(1);
+        config.setConnectionTimeout(5000);
+        pool = new HikariDataSource(config);
+    }
+
+    @AfterEach
+    void closePool() {
+        pool.close();
+    }
+
+    @Test
+    void checkoutGivesUpAtTheDeadlineAndLeavesNoInterrupt() throws Exception {
+        DeadlineAwareDataSource dataSource = new DeadlineAwareDataSource(pool);
+
+        try (Connection held = pool.getConnection(); Deadline.Scope scope = Deadline.after(200).attach()) {
+            long start = System.nanoTime();
+            assertThrows(DeadlineExceededException.class, dataSource::getConnection);
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            assertFalse(Thread.currentThread().isInterrupted());
+        }
+    }
+
+    @Test
+    void checkoutWithinTheDeadlineSucceeds() throws Exception {
+        DeadlineAwareDataSource dataSource = new DeadlineAwareDataSource(pool);
+
+        try (Deadline.Scope scope = Deadline.after(1000).attach(); Connection conn = dataSource.getConnection()) {
+            assertTrue(conn.isValid(1));
+        }
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+}
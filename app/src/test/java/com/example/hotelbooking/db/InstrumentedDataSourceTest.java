@@ -0,0 +1,123 @@
+package com.example.hotelbooking.db;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedDataSourceTest {
+    private JdbcDataSource raw;
+
+    @BeforeEach
+    void createTable() throws Exception {
+        raw = new JdbcDataSource();
+        raw.setURL("jdbc:h2:mem:instrumented" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        try (Connection conn = raw.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+            stmt.execute("INSERT INTO items VALUES (1, 'one'), (2, 'two'), (3, 'three')");
+        }
+    }
+
+    @Test
+    void groupsExecutionsBySqlTemplate() throws Exception {
+        StatementProfiler profiler = new StatementProfiler(TimeUnit.SECONDS.toNanos(10));
+        InstrumentedDataSource dataSource = new InstrumentedDataSource("test", raw, profiler);
+
+        try (Connection conn = dataSource.getConnection()) {
+            for (long id = 1; id <= 3; id++) {
+                try (PreparedStatement ps = conn.prepareStatement("SELECT name FROM items WHERE id = ?")) {
+                    ps.setLong(1, id);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        assertTrue(rs.next());
+                    }
+                }
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeQuery("SELECT name FROM items WHERE name = 'one'").close();
+                stmt.executeQuery("SELECT  name FROM items\n WHERE name = 'two'").close();
+            }
+            try (PreparedStatement ps = conn.prepareStatement("SELECT name FROM items WHERE id IN (?, ?)")) {
+                ps.setLong(1, 1);
+                ps.setLong(2, 2);
+                ps.executeQuery().close();
+            }
+        }
+
+        assertEquals(3, stats(profiler, "SELECT name FROM items WHERE id = ?").snapshot().getCount());
+        assertEquals(2, stats(profiler, "SELECT name FROM items WHERE name = ?").snapshot().getCount());
+        assertEquals(1, stats(profiler, "SELECT name FROM items WHERE id IN (?, ...)").snapshot().getCount());
+        assertEquals(1, profiler.getCheckoutWaits().get("test").snapshot().getCount());
+        assertEquals(0, stats(profiler, "SELECT name FROM items WHERE id = ?").getSlowCount());
+    }
+
+    @Test
+    void capturesPlanOfSlowQueryWithItsParameters() throws Exception {
+        StatementProfiler profiler = new StatementProfiler(0);
+        InstrumentedDataSource dataSource = new InstrumentedDataSource("test", raw, profiler);
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT name FROM items WHERE id = ? OR name = ?")) {
+            ps.setLong(1, 1);
+            ps.setString(2, "three");
+            ps.executeQuery().close();
+        }
+
+        StatementStats stats = stats(profiler, "SELECT name FROM items WHERE id = ? OR name = ?");
+        assertEquals(1, stats.getSlowCount());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stats.getPlan() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNotNull(stats.getPlan());
+        assertTrue(stats.getPlan().contains("ITEMS"), stats.getPlan());
+        assertFalse(stats.getPlan().startsWith("Plan capture failed"), stats.getPlan());
+    }
+
+    @Test
+    void replaysSetNullAsNullWhenCapturingPlans() throws Exception {
+        try (Connection conn = raw.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE stays (id BIGINT PRIMARY KEY, check_in DATE)");
+            stmt.execute("INSERT INTO stays VALUES (1, DATE '2025-09-01')");
+        }
+        StatementProfiler profiler = new StatementProfiler(0);
+        InstrumentedDataSource dataSource = new InstrumentedDataSource("test", raw, profiler);
+
+        // Replayed as the type code, the parameter would be the integer 91 compared with a DATE
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT id FROM stays WHERE check_in = ?")) {
+            ps.setNull(1, Types.DATE);
+            ps.executeQuery().close();
+        }
+
+        StatementStats stats = stats(profiler, "SELECT id FROM stays WHERE check_in = ?");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stats.getPlan() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNotNull(stats.getPlan());
+        assertFalse(stats.getPlan().startsWith("Plan capture failed"), stats.getPlan());
+    }
+
+    @Test
+    void templatesFoldLiteralsAndParameterLists() {
+        assertEquals("SELECT * FROM t WHERE a = ? AND b IN (?, ...) AND c = ?",
+                StatementProfiler.template("SELECT *\n  FROM t WHERE a = 'x''y' AND b IN (1, 2, 3) AND c = 4.5"));
+        assertEquals("SELECT col1 FROM t2 WHERE id IN (?, ...)",
+                StatementProfiler.template("SELECT col1 FROM t2 WHERE id IN (?, ?, ?, ?)"));
+    }
+
+    private static StatementStats stats(StatementProfiler profiler, String template) {
+        return profiler.getStatements().stream()
+                .filter(stats -> stats.getTemplate().equals(template))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No entry for " + template + " in " + profiler.getStatements()));
+    }
+}
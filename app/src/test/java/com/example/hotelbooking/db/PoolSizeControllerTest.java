@@ -0,0 +1,81 @@
+package com.example.hotelbooking.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolSizeControllerTest {
+    private HikariConfig pool;
+    private StubPoolStats poolStats;
+    private PoolMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        pool = new HikariConfig();
+        pool.setPoolName("sizing-" + System.nanoTime());
+        pool.setMaximumPoolSize(20);
+        pool.setMinimumIdle(10);
+        poolStats = new StubPoolStats();
+        metrics = new PoolMetrics(pool.getPoolName(), poolStats);
+    }
+
+    @Test
+    void growsWhileThreadsWaitUpToTheBound() {
+        PoolSizeController controller = new PoolSizeController(pool, metrics, 5, 40);
+        poolStats.set(20, 3);
+
+        assertEquals(25, controller.adjust());
+        assertEquals(31, controller.adjust());
+        assertEquals(38, controller.adjust());
+        assertEquals(40, controller.adjust());
+        assertEquals(40, controller.adjust());
+        assertEquals(40, pool.getMaximumPoolSize());
+        assertEquals(10, pool.getMinimumIdle());
+    }
+
+    @Test
+    void shrinksOnlyAfterStayingQuietAndNotBelowTheBound() {
+        PoolSizeController controller = new PoolSizeController(pool, metrics, 8, 40);
+        poolStats.set(4, 0);
+
+        for (int i = 0; i < 11; i++) {
+            assertEquals(20, controller.adjust());
+        }
+        assertEquals(18, controller.adjust());
+
+        // A busy interval starts the quiet count again
+        poolStats.set(15, 0);
+        assertEquals(18, controller.adjust());
+        poolStats.set(2, 0);
+        int size = 18;
+        for (int i = 0; i < 200; i++) {
+            size = controller.adjust();
+        }
+        assertEquals(8, size);
+        // Minimum idle follows the maximum down
+        assertEquals(8, pool.getMinimumIdle());
+    }
+
+    @Test
+    void rejectsInvertedBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new PoolSizeController(pool, metrics, 10, 5));
+    }
+
+    private static final class StubPoolStats extends PoolStats {
+        StubPoolStats() {
+            super(Long.MAX_VALUE);
+        }
+
+        void set(int active, int pending) {
+            activeConnections = active;
+            pendingThreads = pending;
+        }
+
+        @Override
+        protected void update() {
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.hotelbooking.dto;
+
+import com.example.hotelbooking.model.Booking;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingBinaryCodecTest {
+    private final BookingBinaryCodec codec = new BookingBinaryCodec();
+
+    @Test
+    void requestRoundTrips() throws IOException {
+        BookingRequest request = new BookingRequest();
+        request.setUserId(1L);
+        request.setRoomId(2L);
+        request.setCheckInDate(LocalDate.of(2025, 9, 1));
+
+        BookingRequest decoded = codec.readRequest(codec.writeRequest(request));
+
+        assertEquals(1L, decoded.getUserId());
+        assertEquals(2L, decoded.getRoomId());
+        assertEquals(LocalDate.of(2025, 9, 1), decoded.getCheckInDate());
+        assertNull(decoded.getCheckOutDate());
+    }
+
+    @Test
+    void responseListRoundTrips() throws IOException {
+        BookingResponse full = new BookingResponse();
+        full.setId(17L);
+        full.setUserName("Zoë");
+        full.setHotelName("Grand Hotel");
+        full.setRoomNumber("101");
+        full.setCheckInDate(LocalDate.of(2025, 9, 1));
+        full.setCheckOutDate(LocalDate.of(2025, 9, 5));
+        full.setTotalPrice(new BigDecimal("400.0"));
+        full.setStatus(Booking.BookingStatus.CANCELLED);
+        BookingResponse empty = new BookingResponse();
+
+        List<BookingResponse> decoded = codec.readResponses(codec.writeResponses(Arrays.asList(full, empty)));
+
+        assertEquals(2, decoded.size());
+        BookingResponse first = decoded.get(0);
+        assertEquals(17L, first.getId());
+        assertEquals("Zoë", first.getUserName());
+        assertEquals("101", first.getRoomNumber());
+        assertEquals(LocalDate.of(2025, 9, 5), first.getCheckOutDate());
+        assertEquals(0, new BigDecimal("400.00").compareTo(first.getTotalPrice()));
+        assertEquals(Booking.BookingStatus.CANCELLED, first.getStatus());
+        BookingResponse second = decoded.get(1);
+        assertNull(second.getId());
+        assertNull(second.getHotelName());
+        assertNull(second.getTotalPrice());
+        assertNull(second.getStatus());
+    }
+
+    @Test
+    void rejectsTruncatedPayloads() {
+        BookingResponse response = new BookingResponse();
+        response.setHotelName("Grand Hotel");
+        byte[] encoded = codec.writeResponse(response);
+
+        assertThrows(IOException.class, () -> codec.readResponse(Arrays.copyOf(encoded, encoded.length - 3)));
+        assertThrows(IOException.class, () -> codec.readRequest(new byte[3]));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.hotelbooking.dto;
+
+import com.example.hotelbooking.model.Booking;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingJsonCodecTest {
+    private final BookingJsonCodec codec = new BookingJsonCodec();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+
+    @Test
+    void writesSameDocumentAsObjectMapper() throws IOException {
+        BookingResponse response = sampleResponse();
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(response)),
+                objectMapper.readTree(codec.writeResponse(response)));
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(List.of(response, response))),
+                objectMapper.readTree(codec.writeResponses(List.of(response, response))));
+    }
+
+    @Test
+    void writesNullFields() throws IOException {
+        BookingResponse response = new BookingResponse();
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(response)),
+                objectMapper.readTree(codec.writeResponse(response)));
+    }
+
+    @Test
+    void readsRequestWithIsoAndArrayDates() throws IOException {
+        String json = "{\"userId\":1,\"roomId\":\"2\",\"extra\":{\"nested\":[1,2]},"
+                + "\"checkInDate\":\"2025-09-01\",\"checkOutDate\":[2025,9,5]}";
+
+        BookingRequest request = codec.readRequest(json.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(1L, request.getUserId());
+        assertEquals(2L, request.getRoomId());
+        assertEquals(LocalDate.of(2025, 9, 1), request.getCheckInDate());
+        assertEquals(LocalDate.of(2025, 9, 5), request.getCheckOutDate());
+    }
+
+    @Test
+    void rejectsMalformedDates() {
+        String json = "{\"checkInDate\":\"2025-9-01x\"}";
+
+        assertThrows(IOException.class, () -> codec.readRequest(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void responseRoundTrips() throws IOException {
+        BookingResponse response = sampleResponse();
+
+        BookingResponse decoded = codec.readResponse(codec.writeResponse(response));
+
+        assertEquals(response.getId(), decoded.getId());
+        assertEquals(response.getHotelName(), decoded.getHotelName());
+        assertEquals(response.getCheckInDate(), decoded.getCheckInDate());
+        assertEquals(response.getTotalPrice(), decoded.getTotalPrice());
+        assertEquals(response.getStatus(), decoded.getStatus());
+    }
+
+    private BookingResponse sampleResponse() {
+        BookingResponse response = new BookingResponse();
+        response.setId(17L);
+        response.setUserName("Jane \"JJ\" Smith");
+        response.setHotelName("Grand Hotel");
+        response.setRoomNumber("101");
+        response.setCheckInDate(LocalDate.of(2025, 9, 1));
+        response.setCheckOutDate(LocalDate.of(2025, 9, 5));
+        response.setTotalPrice(new BigDecimal("400.00"));
+        response.setStatus(Booking.BookingStatus.CONFIRMED);
+        return response;
+    }
+}
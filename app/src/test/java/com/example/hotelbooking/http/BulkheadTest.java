@@ -0,0 +1,48 @@
+package com.example.hotelbooking.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    void shutdownAbandonsQueuedTasksInsteadOfDroppingThem() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test-shutdown", 1, 1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+        AtomicBoolean abandoned = new AtomicBoolean();
+
+        assertTrue(bulkhead.trySubmit(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        assertTrue(bulkhead.trySubmit(new Bulkhead.Task() {
+            @Override
+            public void run() {
+                ran.set(true);
+            }
+
+            @Override
+            public void abandon() {
+                abandoned.set(true);
+                release.countDown();
+            }
+        }));
+
+        bulkhead.shutdown();
+
+        assertTrue(abandoned.get());
+        assertFalse(ran.get());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.hotelbooking.http;
+
+import com.example.hotelbooking.http.Compression.Encoding;
+import com.example.hotelbooking.metrics.JsonMetricsWriter;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressionTest {
+
+    @Test
+    void negotiatesByQValuePreferringGzip() {
+        assertEquals(Encoding.IDENTITY, Compression.negotiate(null));
+        assertEquals(Encoding.IDENTITY, Compression.negotiate("identity"));
+        assertEquals(Encoding.GZIP, Compression.negotiate("gzip, deflate, br"));
+        assertEquals(Encoding.GZIP, Compression.negotiate("deflate, GZIP"));
+        assertEquals(Encoding.DEFLATE, Compression.negotiate("deflate"));
+        assertEquals(Encoding.DEFLATE, Compression.negotiate("gzip;q=0.5, deflate"));
+        assertEquals(Encoding.DEFLATE, Compression.negotiate("gzip; q=0, *"));
+        assertEquals(Encoding.GZIP, Compression.negotiate("*"));
+        assertEquals(Encoding.IDENTITY, Compression.negotiate("gzip;q=0, deflate;q=0"));
+        assertEquals(Encoding.IDENTITY, Compression.negotiate("br, *;q=0"));
+    }
+
+    @Test
+    void gzipRoundTrips() throws IOException {
+        byte[] body = listing(200);
+
+        byte[] compressed = Compression.compress(body, Encoding.GZIP);
+
+        assertTrue(compressed.length < body.length / 4);
+        assertArrayEquals(body, readAll(new GZIPInputStream(new ByteArrayInputStream(compressed))));
+    }
+
+    @Test
+    void deflateRoundTrips() throws IOException {
+        byte[] body = listing(200);
+
+        byte[] compressed = Compression.compress(body, Encoding.DEFLATE);
+
+        assertArrayEquals(body, readAll(new InflaterInputStream(new ByteArrayInputStream(compressed))));
+    }
+
+    @Test
+    void pooledDeflatersStartCleanForEveryBody() throws IOException {
+        // Alternates large listings with tiny bodies that outgrow the initial buffer estimate
+        for (int i = 0; i < 50; i++) {
+            byte[] body = i % 2 == 0 ? listing(i + 1) : ("{\"id\":" + i + "}").getBytes(StandardCharsets.UTF_8);
+            byte[] compressed = Compression.compress(body, Encoding.GZIP);
+            assertArrayEquals(body, readAll(new GZIPInputStream(new ByteArrayInputStream(compressed))));
+        }
+    }
+
+    @Test
+    void countsOnlyRealEncodings() throws IOException {
+        Compression.record(Encoding.GZIP, 100, 40);
+
+        String metrics = new String(new JsonMetricsWriter().write(MetricsRegistry.getInstance()), StandardCharsets.UTF_8);
+        assertTrue(metrics.contains("\"http.compression.gzip\""));
+        assertTrue(metrics.contains("\"http.compression.deflate\""));
+        assertFalse(metrics.contains("http.compression.null"));
+    }
+
+    private static byte[] listing(int bookings) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < bookings; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(1000 + i)
+              .append(",\"userName\":\"Jane Smith\",\"hotelName\":\"Grand Hotel\",\"roomNumber\":\"").append(101 + i % 50)
+              .append("\",\"checkInDate\":\"2025-09-01\",\"checkOutDate\":\"2025-09-05\",\"totalPrice\":400.00,\"status\":\"CONFIRMED\"}");
+        }
+        return sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+}
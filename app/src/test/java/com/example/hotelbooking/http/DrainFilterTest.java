@@ -0,0 +1,101 @@
+package com.example.hotelbooking.http;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DrainFilterTest {
+    private final ServerLifecycle lifecycle = new ServerLifecycle();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService workers = Executors.newCachedThreadPool();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(2));
+        // Like the bulkheads, the handler returns at once and the response is sent from another thread
+        server.createContext("/slow", exchange -> workers.execute(() -> {
+            try {
+                started.countDown();
+                release.await();
+                exchange.sendResponseHeaders(200, 2);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write("ok".getBytes());
+                }
+            } catch (Exception e) {
+                exchange.close();
+            }
+        })).getFilters().add(new DrainFilter(lifecycle));
+        server.createContext("/fast", exchange -> {
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        }).getFilters().add(new DrainFilter(lifecycle));
+        server.start();
+        lifecycle.markReady();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    @Test
+    void countsExchangesUntilTheirResponseIsClosed() throws Exception {
+        assertEquals(204, get("/fast").statusCode());
+        assertEquals(0, lifecycle.getInFlight());
+
+        CompletableFuture<HttpResponse<String>> slow = getAsync("/slow");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(1, lifecycle.getInFlight());
+
+        release.countDown();
+        assertEquals(200, slow.get(5, TimeUnit.SECONDS).statusCode());
+        assertEquals(0, lifecycle.getInFlight());
+    }
+
+    @Test
+    void drainRefusesNewRequestsAndWaitsForInFlightOnes() throws Exception {
+        CompletableFuture<HttpResponse<String>> slow = getAsync("/slow");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        lifecycle.markUnready();
+        assertFalse(lifecycle.isReady());
+        assertEquals(204, get("/fast").statusCode());
+
+        lifecycle.startDraining();
+        assertEquals(503, get("/fast").statusCode());
+        assertFalse(lifecycle.awaitIdle(50));
+
+        release.countDown();
+        assertTrue(lifecycle.awaitIdle(5000));
+        assertEquals("ok", slow.get(5, TimeUnit.SECONDS).body());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return getAsync(path).get(5, TimeUnit.SECONDS);
+    }
+
+    private CompletableFuture<HttpResponse<String>> getAsync(String path) {
+        URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + path);
+        return client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.hotelbooking.http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+
+    @Test
+    void matchesExactAndListedTags() {
+        String etag = ETags.forBooking(42L, 7L);
+
+        assertTrue(ETags.matches(etag, etag));
+        assertTrue(ETags.matches("\"other\", " + etag, etag));
+        assertTrue(ETags.matches("W/" + etag, etag));
+        assertTrue(ETags.matches("*", etag));
+    }
+
+    @Test
+    void gzipVariantMatchesSameEntity() {
+        String etag = ETags.forBooking(42L, 7L);
+
+        assertTrue(ETags.matches(ETags.gzipVariant(etag), etag));
+    }
+
+    @Test
+    void deflateVariantMatchesSameEntity() {
+        String etag = ETags.forBooking(42L, 7L);
+
+        assertEquals(etag, ETags.variant(etag, Compression.Encoding.IDENTITY));
+        assertTrue(ETags.matches(ETags.variant(etag, Compression.Encoding.DEFLATE), etag));
+        assertFalse(ETags.matches(ETags.variant(ETags.forBooking(42L, 8L), Compression.Encoding.DEFLATE), etag));
+    }
+
+    @Test
+    void binaryVariantIsADifferentRepresentation() {
+        String etag = ETags.forBooking(42L, 7L);
+        String binary = ETags.binaryVariant(etag);
+
+        assertFalse(ETags.matches(binary, etag));
+        assertFalse(ETags.matches(etag, binary));
+        assertTrue(ETags.matches(binary, binary));
+        assertTrue(ETags.matches(ETags.variant(binary, Compression.Encoding.GZIP), binary));
+        assertFalse(ETags.matches(ETags.variant(etag, Compression.Encoding.GZIP), binary));
+    }
+
+    @Test
+    void differentVersionOrEntityDoesNotMatch() {
+        String etag = ETags.forBooking(42L, 7L);
+
+        assertFalse(ETags.matches(null, etag));
+        assertFalse(ETags.matches(ETags.forBooking(42L, 8L), etag));
+        assertFalse(ETags.matches(ETags.forUserBookings(42L, 7L), etag));
+        assertFalse(ETags.matches(ETags.forBooking(4L, 27L), etag));
+    }
+}
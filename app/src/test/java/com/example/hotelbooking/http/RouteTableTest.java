@@ -0,0 +1,66 @@
+package com.example.hotelbooking.http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteTableTest {
+    private final Endpoint getBooking = (exchange, match) -> {};
+    private final Endpoint cancelBooking = (exchange, match) -> {};
+    private final Endpoint userBookings = (exchange, match) -> {};
+    private final Endpoint createBooking = (exchange, match) -> {};
+
+    private final RouteTable routes = RouteTable.builder()
+            .add("POST", "/api/bookings", createBooking)
+            .add("GET", "/api/bookings/{id}", getBooking)
+            .add("DELETE", "/api/bookings/{id}", cancelBooking)
+            .add("GET", "/api/bookings/user/{userId}", userBookings)
+            .build();
+
+    @Test
+    void matchesParameterRoutesWithPrimitiveValues() {
+        RouteMatch match = routes.match("GET", "/api/bookings/42");
+
+        assertEquals(RouteMatch.Outcome.FOUND, match.getOutcome());
+        assertSame(getBooking, match.getEndpoint());
+        assertEquals(42L, match.getLong(0));
+    }
+
+    @Test
+    void literalSegmentsWinOverParameters() {
+        RouteMatch match = routes.match("GET", "/api/bookings/user/5");
+
+        assertSame(userBookings, match.getEndpoint());
+        assertEquals(5L, match.getLong(0));
+    }
+
+    @Test
+    void toleratesTrailingSlash() {
+        assertSame(createBooking, routes.match("POST", "/api/bookings/").getEndpoint());
+    }
+
+    @Test
+    void reportsAllowedMethodsForKnownPath() {
+        RouteMatch match = routes.match("PUT", "/api/bookings/7");
+
+        assertEquals(RouteMatch.Outcome.METHOD_NOT_ALLOWED, match.getOutcome());
+        assertEquals("GET, DELETE", match.getAllowedMethods());
+    }
+
+    @Test
+    void rejectsUnknownAndMalformedPaths() {
+        assertEquals(RouteMatch.Outcome.NOT_FOUND, routes.match("GET", "/api/bookings/abc").getOutcome());
+        assertEquals(RouteMatch.Outcome.NOT_FOUND, routes.match("GET", "/api/bookings/user").getOutcome());
+        assertEquals(RouteMatch.Outcome.NOT_FOUND, routes.match("GET", "/api/bookings//1").getOutcome());
+        assertEquals(RouteMatch.Outcome.NOT_FOUND, routes.match("GET", "/api/bookings/1/extra").getOutcome());
+        assertEquals(RouteMatch.Outcome.NOT_FOUND, routes.match("GET", "/api/bookings/99999999999999999999").getOutcome());
+    }
+
+    @Test
+    void rejectsDuplicateRoutes() {
+        RouteTable.Builder builder = RouteTable.builder().add("GET", "/a/{id}", getBooking);
+
+        assertThrows(IllegalStateException.class, () -> builder.add("GET", "/a/{id}", getBooking));
+        assertThrows(IllegalArgumentException.class, () -> builder.add("GET", "/a/{other}/b", getBooking));
+    }
+}
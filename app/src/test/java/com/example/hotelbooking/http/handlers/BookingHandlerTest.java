@@ -0,0 +1,163 @@
+package com.example.hotelbooking.http.handlers;
+
+import com.example.hotelbooking.dto.BookingBinaryCodec;
+import com.example.hotelbooking.model.Booking;
+import com.example.hotelbooking.model.Hotel;
+import com.example.hotelbooking.model.Room;
+import com.example.hotelbooking.model.User;
+import com.example.hotelbooking.service.BookingLookup;
+import com.example.hotelbooking.service.BookingService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingHandlerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        Booking booking = booking();
+        BookingService bookingService = mock(BookingService.class);
+        when(bookingService.getUserBookingsVersion(anyLong())).thenReturn(3L);
+        when(bookingService.getBookingVersion(anyLong())).thenReturn(5L);
+        when(bookingService.getUserBookings(anyLong())).thenReturn(List.of(booking));
+        // Large enough to be compressed
+        when(bookingService.getUserBookings(2L)).thenReturn(Collections.nCopies(20, booking));
+        when(bookingService.getBooking(anyLong())).thenReturn(booking);
+        when(bookingService.getBookings(any())).thenReturn(new BookingLookup(List.of(booking), Collections.emptyList()));
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/bookings", new BookingHandler(bookingService));
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void binaryListingHasItsOwnValidator() throws Exception {
+        HttpResponse<byte[]> json = get("/api/bookings/user/1", null, null);
+        String jsonEtag = json.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<byte[]> binary = get("/api/bookings/user/1", BookingBinaryCodec.CONTENT_TYPE, jsonEtag);
+        assertEquals(200, binary.statusCode());
+        assertEquals(BookingBinaryCodec.CONTENT_TYPE, binary.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals("Accept, Accept-Encoding", binary.headers().firstValue("Vary").orElseThrow());
+        String binaryEtag = binary.headers().firstValue("ETag").orElseThrow();
+        assertNotEquals(jsonEtag, binaryEtag);
+
+        HttpResponse<byte[]> revalidated = get("/api/bookings/user/1", BookingBinaryCodec.CONTENT_TYPE, binaryEtag);
+        assertEquals(304, revalidated.statusCode());
+        assertEquals(binaryEtag, revalidated.headers().firstValue("ETag").orElseThrow());
+
+        // Holding the binary body says nothing about the JSON one
+        assertEquals(200, get("/api/bookings/user/1", null, binaryEtag).statusCode());
+    }
+
+    @Test
+    void binaryBookingIsTaggedAndRevalidated() throws Exception {
+        HttpResponse<byte[]> binary = get("/api/bookings/1", BookingBinaryCodec.CONTENT_TYPE, null);
+        assertEquals(200, binary.statusCode());
+        assertEquals("Accept, Accept-Encoding", binary.headers().firstValue("Vary").orElseThrow());
+        String binaryEtag = binary.headers().firstValue("ETag").orElseThrow();
+
+        String jsonEtag = get("/api/bookings/1", null, null).headers().firstValue("ETag").orElseThrow();
+        assertNotEquals(jsonEtag, binaryEtag);
+        assertEquals(200, get("/api/bookings/1", BookingBinaryCodec.CONTENT_TYPE, jsonEtag).statusCode());
+        assertEquals(304, get("/api/bookings/1", BookingBinaryCodec.CONTENT_TYPE, binaryEtag).statusCode());
+    }
+
+    @Test
+    void notModifiedRepeatsTheCompressedVariantTag() throws Exception {
+        HttpResponse<byte[]> gzipped = get("/api/bookings/user/2", null, null, "gzip");
+        assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElseThrow());
+        String gzipEtag = gzipped.headers().firstValue("ETag").orElseThrow();
+        assertTrue(gzipEtag.endsWith("-gzip\""));
+
+        HttpResponse<byte[]> revalidated = get("/api/bookings/user/2", null, gzipEtag, "gzip");
+        assertEquals(304, revalidated.statusCode());
+        assertEquals(gzipEtag, revalidated.headers().firstValue("ETag").orElseThrow());
+
+        // A client that no longer takes gzip is told the identity tag it would now get
+        HttpResponse<byte[]> identity = get("/api/bookings/user/2", null, gzipEtag, null);
+        assertEquals(304, identity.statusCode());
+        assertEquals(get("/api/bookings/user/2", null, null, null).headers().firstValue("ETag").orElseThrow(),
+                identity.headers().firstValue("ETag").orElseThrow());
+
+        HttpResponse<byte[]> binary = get("/api/bookings/user/2", BookingBinaryCodec.CONTENT_TYPE, null, "gzip");
+        String binaryEtag = binary.headers().firstValue("ETag").orElseThrow();
+        HttpResponse<byte[]> binaryRevalidated = get("/api/bookings/user/2", BookingBinaryCodec.CONTENT_TYPE, binaryEtag, "gzip");
+        assertEquals(304, binaryRevalidated.statusCode());
+        assertEquals(binaryEtag, binaryRevalidated.headers().firstValue("ETag").orElseThrow());
+    }
+
+    @Test
+    void multiGetVariesOnAccept() throws Exception {
+        HttpResponse<byte[]> response = get("/api/bookings?ids=1", null, null);
+        assertEquals(200, response.statusCode());
+        assertEquals("Accept, Accept-Encoding", response.headers().firstValue("Vary").orElseThrow());
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String ifNoneMatch) throws Exception {
+        return get(path, accept, ifNoneMatch, null);
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String ifNoneMatch, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        if (accept != null) {
+            request.header("Accept", accept);
+        }
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static Booking booking() {
+        Hotel hotel = new Hotel();
+        hotel.setId(1L);
+        hotel.setName("Grand Hotel");
+        Room room = new Room();
+        room.setId(1L);
+        room.setRoomNumber("101");
+        room.setHotel(hotel);
+        User user = new User();
+        user.setId(1L);
+        user.setName("Jane Smith");
+
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setUser(user);
+        booking.setRoom(room);
+        booking.setCheckInDate(LocalDate.of(2025, 9, 1));
+        booking.setCheckOutDate(LocalDate.of(2025, 9, 5));
+        booking.setTotalPrice(new BigDecimal("400.00"));
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        return booking;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.hotelbooking.jfr;
+
+import com.example.hotelbooking.service.CacheService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingsTest {
+    private final FlightRecordings recordings = FlightRecordings.getInstance();
+
+    @AfterEach
+    void stop() {
+        recordings.stop();
+    }
+
+    @Test
+    void recordsBookingEventsAndDumpsThem() throws Exception {
+        assertTrue(recordings.start("default", Duration.ofMinutes(1)));
+        assertFalse(recordings.start("default", Duration.ofMinutes(1)), "only one recording at a time");
+
+        CacheService cacheService = new CacheService();
+        cacheService.getBooking(42L);
+        DaoCallEvent.start().finish("findById");
+
+        Path file = recordings.dump();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            RecordedEvent lookup = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("hotel.CacheLookup"))
+                    .filter(event -> "booking".equals(event.getString("cache")))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("No cache lookup recorded"));
+            assertEquals(1, lookup.getInt("keys"));
+            assertEquals(0, lookup.getInt("hits"));
+            assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("hotel.DaoCall")
+                    && "findById".equals(event.getString("operation"))));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertEquals("RUNNING", recordings.getState());
+    }
+
+    @Test
+    void rejectsUnknownSettings() {
+        assertThrows(IllegalArgumentException.class, () -> recordings.start("no-such-settings", Duration.ofMinutes(1)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.hotelbooking.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLoggerTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void writesAccessAndErrorRecordsOnClose() throws Exception {
+        Path file = dir.resolve("app.log");
+        AsyncLogger logger = new AsyncLogger(file, 64, 1024 * 1024, 2);
+
+        logger.access("GET", "/api/bookings/1", 200, 1_500_000);
+        logger.error("Unhandled error", new IllegalStateException("boom"));
+        logger.close();
+
+        String log = Files.readString(file);
+        assertTrue(log.contains("ACCESS GET /api/bookings/1 200 1500us"), log);
+        assertTrue(log.contains("ERROR"), log);
+        assertTrue(log.contains("java.lang.IllegalStateException: boom"), log);
+        assertEquals(0, logger.getDropped());
+    }
+
+    @Test
+    void awaitFlushedWritesWithoutClosing() throws Exception {
+        Path file = dir.resolve("app.log");
+        AsyncLogger logger = new AsyncLogger(file, 64, 1024 * 1024, 2);
+
+        logger.warn("Draining: 3 requests in flight");
+        assertTrue(logger.awaitFlushed(5000));
+
+        assertTrue(Files.readString(file).contains("WARN"));
+        logger.access("GET", "/health/ready", 503, 1000);
+        logger.close();
+        assertTrue(Files.readString(file).contains("/health/ready 503"));
+    }
+
+    @Test
+    void rotatesFilesPastSizeLimit() throws Exception {
+        Path file = dir.resolve("app.log");
+        AsyncLogger logger = new AsyncLogger(file, 64, 200, 2);
+
+        for (int i = 0; i < 20; i++) {
+            logger.access("GET", "/api/bookings/" + i, 200, 1000);
+            // Let each record reach the file separately so rotation is checked between writes
+            Thread.sleep(5);
+        }
+        logger.close();
+
+        assertTrue(Files.exists(dir.resolve("app.log.1")));
+        assertTrue(Files.exists(dir.resolve("app.log.2")));
+        assertFalse(Files.exists(dir.resolve("app.log.3")));
+        List<String> current = Files.readAllLines(file);
+        assertTrue(current.get(current.size() - 1).contains("/api/bookings/19"));
+    }
+}
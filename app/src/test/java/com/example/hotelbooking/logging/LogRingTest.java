@@ -0,0 +1,62 @@
+package com.example.hotelbooking.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRingTest {
+
+    @Test
+    void dropsInsteadOfBlockingWhenFull() {
+        LogRing ring = new LogRing(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(LogRing.ACCESS, "GET", "/api/bookings/" + i, 200, 1, null, null));
+        }
+
+        assertFalse(ring.offer(LogRing.ACCESS, "GET", "/api/bookings/4", 200, 1, null, null));
+        assertEquals(1, ring.dropped());
+
+        List<String> paths = new ArrayList<>();
+        assertEquals(4, ring.drain(record -> paths.add(record.path), 10));
+        assertEquals(List.of("/api/bookings/0", "/api/bookings/1", "/api/bookings/2", "/api/bookings/3"), paths);
+        assertTrue(ring.offer(LogRing.ACCESS, "GET", "/api/bookings/5", 200, 1, null, null));
+    }
+
+    @Test
+    void deliversEveryRecordFromConcurrentProducersExactlyOnce() throws Exception {
+        LogRing ring = new LogRing(1024);
+        int producers = 4;
+        int perProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    String message = producer + ":" + i;
+                    while (!ring.offer(LogRing.WARN, null, null, 0, 0, message, null)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<String> seen = new HashSet<>();
+        while (seen.size() < producers * perProducer) {
+            ring.drain(record -> assertTrue(seen.add(record.message), "duplicate " + record.message), 256);
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(0, ring.pending());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.hotelbooking.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RotatingFileWriterTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void keepsWritingToTheCurrentFileWhenRotationFails() throws Exception {
+        Path file = dir.resolve("app.log");
+        // A non-empty directory where the first backup should go makes the rename fail
+        Files.createDirectories(dir.resolve("app.log.1"));
+        Files.createFile(dir.resolve("app.log.1").resolve("blocker"));
+
+        try (RotatingFileWriter writer = new RotatingFileWriter(file, 10, 1)) {
+            writer.write(bytes("first line\n"));
+            writer.write(bytes("second line\n"));
+            assertEquals(1, writer.getRotationFailures());
+
+            // Past the limit again, so rotation is retried, fails again and the write still lands
+            writer.write(bytes("third line\n"));
+            assertEquals(2, writer.getRotationFailures());
+        }
+        assertEquals("first line\nsecond line\nthird line\n", Files.readString(file));
+    }
+
+    private static ByteBuffer bytes(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
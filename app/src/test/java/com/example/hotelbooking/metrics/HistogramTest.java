@@ -0,0 +1,71 @@
+package com.example.hotelbooking.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramTest {
+
+    @Test
+    void bucketsKeepValuesWithinOneSixteenth() {
+        for (long value = 0; value < 10_000_000; value = value * 3 / 2 + 1) {
+            long reported = Histogram.bucketHighValue(Histogram.bucketIndex(value));
+            assertTrue(reported >= value, "value " + value);
+            assertTrue(reported - value <= value / 16, "value " + value + " reported as " + reported);
+        }
+        assertEquals(Histogram.BUCKETS - 1, Histogram.bucketIndex(Long.MAX_VALUE));
+        assertEquals(Histogram.MAX_VALUE, Histogram.bucketHighValue(Histogram.BUCKETS - 1));
+    }
+
+    @Test
+    void reportsQuantilesOfRecordedValues() {
+        Histogram histogram = new Histogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros);
+        }
+
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500, snapshot.getValueAtQuantile(0.5), 500 / 16);
+        assertEquals(990, snapshot.getValueAtQuantile(0.99), 990 / 16);
+        assertEquals(1000, snapshot.getMax(), 1000 / 16);
+    }
+
+    @Test
+    void mergesRecordingsFromAllThreadsIncludingExitedOnes() throws Exception {
+        Histogram histogram = new Histogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(100);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        histogram.record(5000);
+
+        assertEquals(40_001, histogram.snapshot().getCount());
+        // Exited threads are folded in once, not dropped or counted again
+        assertEquals(40_001, histogram.snapshot().getCount());
+        assertEquals(5000, histogram.snapshot().getMax(), 5000 / 16);
+    }
+
+    @Test
+    void intervalSnapshotsOnlyCoverNewRecordings() {
+        Histogram histogram = new Histogram();
+        histogram.record(10_000);
+        assertEquals(1, histogram.intervalSnapshot().getCount());
+
+        histogram.record(20);
+        histogram.record(30);
+        Histogram.Snapshot interval = histogram.intervalSnapshot();
+        assertEquals(2, interval.getCount());
+        assertEquals(30, interval.getMax(), 1);
+        assertEquals(0, histogram.intervalSnapshot().getCount());
+        assertEquals(3, histogram.snapshot().getCount());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.hotelbooking.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JvmMetricsTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    // Keeps the test allocation reachable so it cannot be optimised away
+    private static volatile Object sink;
+
+    @Test
+    void measuresBytesAllocatedPerCall() {
+        AtomicLong nanos = new AtomicLong(1_000 * SECOND);
+        WindowedCounter bytes = new WindowedCounter(nanos::get);
+        WindowedCounter calls = new WindowedCounter(nanos::get);
+        AllocationMeter meter = new AllocationMeter(bytes, calls, new WindowedRatio(bytes, calls));
+
+        long allocatedAtStart = meter.start();
+        if (allocatedAtStart < 0) {
+            // Per-thread allocation accounting is off in this JVM
+            return;
+        }
+        sink = new byte[1 << 20];
+        meter.finish(allocatedAtStart);
+        meter.finish(meter.start());
+        nanos.addAndGet(SECOND);
+
+        assertEquals(2, calls.sum(WindowedCounter.ONE_SECOND));
+        assertTrue(bytes.sum(WindowedCounter.ONE_SECOND) >= 1 << 20);
+        assertTrue(meter.getBytesPerCall(WindowedCounter.ONE_SECOND) >= (1 << 20) / 2.0);
+    }
+
+    @Test
+    void recordsCollectionPausesFromNotifications() throws InterruptedException {
+        JvmMetrics jvmMetrics = JvmMetrics.getInstance();
+        System.gc();
+
+        // Notifications are delivered on a JMX thread shortly after the collection
+        long deadline = System.currentTimeMillis() + 5000;
+        while (totalPauses(jvmMetrics) == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(totalPauses(jvmMetrics) > 0);
+        assertTrue(jvmMetrics.getQueueDepths().keySet().stream().allMatch(name -> name.endsWith(".queued")));
+    }
+
+    private static long totalPauses(JvmMetrics jvmMetrics) {
+        return jvmMetrics.getGcPauses().values().stream().mapToLong(pause -> pause.snapshot().getCount()).sum();
+    }
+}
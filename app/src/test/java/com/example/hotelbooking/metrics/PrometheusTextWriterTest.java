@@ -0,0 +1,53 @@
+package com.example.hotelbooking.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrometheusTextWriterTest {
+    private final MetricsRegistry registry = MetricsRegistry.getInstance();
+
+    @Test
+    void writesLabelledCountersGaugesAndSummaries() throws Exception {
+        registry.counter("test.prom.requests", Labels.of("method", "get")).add(3);
+        registry.counter("test.prom.requests", Labels.of("method", "post")).increment();
+        registry.registerGauge("test.prom.pool-hotel.active", () -> 7);
+        Histogram latency = registry.histogram("test.prom.latency", Labels.of("endpoint", "booking.get"));
+        latency.record(1000);
+        latency.record(3000);
+
+        String text = new String(new PrometheusTextWriter().write(registry), StandardCharsets.UTF_8);
+
+        assertTrue(text.contains("# TYPE test_prom_requests_total counter\n"), text);
+        assertTrue(text.contains("test_prom_requests_total{method=\"get\"} 3\n"), text);
+        assertTrue(text.contains("test_prom_requests_total{method=\"post\"} 1\n"), text);
+        assertTrue(text.contains("# TYPE test_prom_pool_hotel_active gauge\ntest_prom_pool_hotel_active 7\n"), text);
+        assertTrue(text.contains("# TYPE test_prom_latency_seconds summary\n"), text);
+        assertTrue(text.contains("test_prom_latency_seconds{endpoint=\"booking.get\",quantile=\"0.5\"} 0.001"), text);
+        assertTrue(text.contains("test_prom_latency_seconds_sum{endpoint=\"booking.get\"} 0.004\n"), text);
+        assertTrue(text.contains("test_prom_latency_seconds_count{endpoint=\"booking.get\"} 2\n"), text);
+        assertTrue(text.contains("# TYPE test_prom_latency_seconds_max gauge\n"), text);
+    }
+
+    @Test
+    void jsonFlattensLabelValuesIntoKeys() throws Exception {
+        registry.counter("test.json.hits", Labels.of("cache", "booking")).add(2);
+        registry.histogram("test.json.latency", Labels.of("endpoint", "booking.create")).record(500);
+
+        String json = new String(new JsonMetricsWriter().write(registry), StandardCharsets.UTF_8);
+
+        assertTrue(json.contains("\"test.json.hits.booking\":2"), json);
+        assertTrue(json.contains("\"test.json.latency_us.booking.create.count\":1"), json);
+        assertTrue(json.contains("\"test.json.latency_us.booking.create.p99\":"), json);
+    }
+
+    @Test
+    void escapesLabelValuesAndSanitizesNames() {
+        assertEquals("{path=\"a\\\"b\\\\c\\nd\"}", Labels.of("path", "a\"b\\c\nd").prometheusText());
+        assertEquals("{quantile=\"0.99\"}", Labels.EMPTY.prometheusText("quantile", "0.99"));
+        assertEquals("db_pool_hotel_read_active", PrometheusTextWriter.exposedName("db.pool.hotel-read.active", ""));
+        assertEquals("http_requests_total", PrometheusTextWriter.exposedName("http.requests.total", "_total"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.hotelbooking.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WindowedCounterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong nanos = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void countsCompletedSecondsOnly() {
+        WindowedCounter counter = new WindowedCounter(nanos::get);
+        counter.add(5);
+        assertEquals(0, counter.sum(WindowedCounter.ONE_SECOND));
+
+        nanos.addAndGet(SECOND);
+        counter.add(2);
+        assertEquals(5, counter.sum(WindowedCounter.ONE_SECOND));
+        assertEquals(5, counter.sum(WindowedCounter.ONE_MINUTE));
+
+        nanos.addAndGet(SECOND);
+        assertEquals(2, counter.sum(WindowedCounter.ONE_SECOND));
+        assertEquals(7, counter.sum(WindowedCounter.ONE_MINUTE));
+        assertEquals(7.0 / 60, counter.rate(WindowedCounter.ONE_MINUTE), 1e-9);
+    }
+
+    @Test
+    void dropsSecondsThatLeftTheWindowAndRecyclesTheirBuckets() {
+        WindowedCounter counter = new WindowedCounter(nanos::get);
+        counter.add(3);
+        nanos.addAndGet(61 * SECOND);
+        assertEquals(0, counter.sum(WindowedCounter.ONE_MINUTE));
+        assertEquals(3, counter.sum(WindowedCounter.FIVE_MINUTES));
+
+        // Same bucket as the first second, one full ring later
+        nanos.addAndGet(240 * SECOND);
+        counter.add(4);
+        nanos.addAndGet(SECOND);
+        assertEquals(4, counter.sum(WindowedCounter.FIVE_MINUTES));
+    }
+
+    @Test
+    void rejectsWindowsLongerThanTheRing() {
+        WindowedCounter counter = new WindowedCounter(nanos::get);
+        assertThrows(IllegalArgumentException.class, () -> counter.sum(0));
+        assertThrows(IllegalArgumentException.class, () -> counter.sum(WindowedCounter.FIVE_MINUTES + 1));
+    }
+
+    @Test
+    void ratioIsNaNUntilTheDenominatorCounts() {
+        WindowedCounter hits = new WindowedCounter(nanos::get);
+        WindowedCounter lookups = new WindowedCounter(nanos::get);
+        WindowedRatio hitRatio = new WindowedRatio(hits, lookups);
+        assertTrue(Double.isNaN(hitRatio.get(WindowedCounter.ONE_MINUTE)));
+
+        lookups.add(4);
+        hits.add(3);
+        nanos.addAndGet(SECOND);
+        assertEquals(0.75, hitRatio.get(WindowedCounter.ONE_MINUTE), 1e-9);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.hotelbooking.service;
+
+import com.example.hotelbooking.metrics.Counter;
+import com.example.hotelbooking.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityBroadcasterTest {
+    private static final LocalDate SEP_1 = LocalDate.of(2025, 9, 1);
+
+    private final AvailabilityBroadcaster broadcaster = new AvailabilityBroadcaster();
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.close();
+    }
+
+    @Test
+    void coalescesRapidChangesToARoomIntoOneEvent() {
+        ByteArrayOutputStream hotelStream = new ByteArrayOutputStream();
+        ByteArrayOutputStream otherRoomStream = new ByteArrayOutputStream();
+        broadcaster.subscribe(1L, List.of(), hotelStream, () -> {});
+        broadcaster.subscribe(null, List.of(99L), otherRoomStream, () -> {});
+
+        broadcaster.publish(1L, 7L, SEP_1, SEP_1.plusDays(2));
+        broadcaster.publish(1L, 7L, SEP_1.plusDays(5), SEP_1.plusDays(6));
+        broadcaster.flush();
+
+        assertEquals("event: availability\ndata: {\"roomId\":7,\"hotelId\":1,\"from\":\"2025-09-01\",\"to\":\"2025-09-07\"}\n\n",
+                hotelStream.toString(StandardCharsets.UTF_8));
+        assertEquals(0, otherRoomStream.size());
+    }
+
+    @Test
+    void sendsResyncWhenSubscriberFallsTooFarBehind() {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        broadcaster.subscribe(1L, List.of(), stream, () -> {});
+
+        for (long room = 0; room <= AvailabilityBroadcaster.MAX_PENDING_ROOMS; room++) {
+            broadcaster.publish(1L, room, SEP_1, SEP_1.plusDays(1));
+        }
+        broadcaster.flush();
+
+        assertEquals("event: resync\ndata: {}\n\n", stream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void resyncsEveryoneWhenPublishedChangesBackUp() {
+        ByteArrayOutputStream hotelStream = new ByteArrayOutputStream();
+        ByteArrayOutputStream roomStream = new ByteArrayOutputStream();
+        broadcaster.subscribe(1L, List.of(), hotelStream, () -> {});
+        broadcaster.subscribe(null, List.of(99L), roomStream, () -> {});
+
+        for (int i = 0; i <= AvailabilityBroadcaster.MAX_QUEUED_CHANGES; i++) {
+            broadcaster.publish(1L, 7L, SEP_1, SEP_1.plusDays(1));
+        }
+        broadcaster.flush();
+
+        assertEquals("event: resync\ndata: {}\n\n", hotelStream.toString(StandardCharsets.UTF_8));
+        assertEquals("event: resync\ndata: {}\n\n", roomStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void dropsSubscriberWhoseConnectionFails() {
+        AtomicBoolean closed = new AtomicBoolean();
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        broadcaster.subscribe(null, List.of(7L), broken, () -> closed.set(true));
+
+        broadcaster.publish(1L, 7L, SEP_1, SEP_1.plusDays(1));
+        broadcaster.flush();
+
+        assertTrue(closed.get());
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void subscriberForAHotelAndOneOfItsRoomsGetsEachChangeOnce() {
+        Counter coalesced = MetricsRegistry.getInstance().counter("sse.events.coalesced");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        broadcaster.subscribe(1L, List.of(7L), stream, () -> {});
+        long coalescedBefore = coalesced.get();
+
+        broadcaster.publish(1L, 7L, SEP_1, SEP_1.plusDays(2));
+        broadcaster.flush();
+
+        assertEquals("event: availability\ndata: {\"roomId\":7,\"hotelId\":1,\"from\":\"2025-09-01\",\"to\":\"2025-09-03\"}\n\n",
+                stream.toString(StandardCharsets.UTF_8));
+        assertEquals(coalescedBefore, coalesced.get());
+    }
+
+    @Test
+    void dropsSubscriberThatStopsReadingWithoutHoldingBackOthers() throws Exception {
+        AvailabilityBroadcaster broadcaster = new AvailabilityBroadcaster(100);
+        CountDownLatch unblock = new CountDownLatch(1);
+        AtomicBoolean closed = new AtomicBoolean();
+        OutputStream stuck = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                try {
+                    // Like a socket write with the client's TCP window full
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("Connection reset");
+            }
+        };
+        ByteArrayOutputStream healthy = new ByteArrayOutputStream();
+        broadcaster.subscribe(null, List.of(7L), stuck, () -> closed.set(true));
+        broadcaster.subscribe(null, List.of(7L), healthy, () -> {});
+
+        broadcaster.publish(1L, 7L, SEP_1, SEP_1.plusDays(1));
+        long start = System.nanoTime();
+        assertEquals(1, broadcaster.flush());
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertTrue(healthy.size() > 0);
+        assertEquals(1, broadcaster.getSubscriberCount());
+
+        // Later events reach the healthy subscriber while the stuck write is still blocked
+        broadcaster.publish(1L, 7L, SEP_1.plusDays(3), SEP_1.plusDays(4));
+        int before = healthy.size();
+        assertEquals(1, broadcaster.flush());
+        assertTrue(healthy.size() > before);
+
+        unblock.countDown();
+        broadcaster.close();
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!closed.get() && System.nanoTime() < waitUntil) {
+            Thread.sleep(10);
+        }
+        assertTrue(closed.get());
+    }
+}
@@ -12,12 +12,18 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class BookingServiceTest {
@@ -143,7 +149,24 @@ public class BookingServiceTest {
         bookingService.cancelBooking(bookingId);
 
         // Verify
-        assertEquals(Booking.BookingStatus.CANCELLED, booking.getStatus());
+        ArgumentCaptor<Booking> saved = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingDao).save(saved.capture());
+        assertEquals(Booking.BookingStatus.CANCELLED, saved.getValue().getStatus());
+        assertEquals(bookingId, saved.getValue().getId());
+    }
+
+    @Test
+    void cancelBooking_FailedSaveLeavesCachedBookingUntouched() {
+        // Setup
+        Booking cached = bookingWithId(4L);
+        when(cacheService.getBooking(4L)).thenReturn(cached);
+        when(bookingDao.save(any())).thenThrow(new RuntimeException("Failed to save booking", new SQLException("timeout")));
+
+        // Execute
+        assertThrows(RuntimeException.class, () -> bookingService.cancelBooking(4L));
+
+        // Verify
+        assertEquals(Booking.BookingStatus.CONFIRMED, cached.getStatus());
     }
 
     @Test
@@ -156,4 +179,51 @@ public class BookingServiceTest {
             bookingService.getBooking(999L)
         );
     }
+
+    @Test
+    void getBookings_ServesCacheHitsAndLoadsMissesInOneQuery() {
+        // Setup
+        Booking cached = bookingWithId(1L);
+        Booking loaded = bookingWithId(3L);
+        when(cacheService.getBookings(Arrays.asList(3L, 1L, 2L))).thenReturn(Map.of(1L, cached));
+        when(cacheService.getBookingVersion(3L)).thenReturn(7L);
+        when(bookingDao.findByIds(Arrays.asList(3L, 2L))).thenReturn(List.of(loaded));
+
+        // Execute
+        BookingLookup lookup = bookingService.getBookings(Arrays.asList(3L, 1L, 2L, 1L));
+
+        // Verify
+        assertEquals(Arrays.asList(loaded, cached), lookup.getBookings());
+        assertEquals(List.of(2L), lookup.getMissingIds());
+        verify(cacheService).putLoadedBooking(3L, 7L, loaded);
+    }
+
+    @Test
+    void getBooking_FallsBackToStaleCacheWhenDatabaseFails() {
+        // Setup
+        Booking stale = bookingWithId(5L);
+        when(bookingDao.findById(5L)).thenThrow(new RuntimeException("Failed to find booking", new SQLException("timeout")));
+        when(cacheService.getStaleBooking(5L)).thenReturn(stale);
+
+        // Execute & Verify
+        assertSame(stale, bookingService.getBooking(5L));
+    }
+
+    @Test
+    void getBooking_DatabaseFailureWithoutStaleCopyIsRethrown() {
+        // Setup
+        when(bookingDao.findById(6L)).thenThrow(new RuntimeException("Failed to find booking", new SQLException("timeout")));
+
+        // Execute & Verify
+        assertThrows(RuntimeException.class, () -> bookingService.getBooking(6L));
+    }
+
+    private Booking bookingWithId(Long id) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setUser(testUser);
+        booking.setRoom(testRoom);
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        return booking;
+    }
 }
@@ -0,0 +1,80 @@
+package com.example.hotelbooking.service;
+
+import com.example.hotelbooking.model.Booking;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheServiceTest {
+    private final CacheService cacheService = new CacheService();
+
+    @Test
+    void putLoadedBooking_CachesWhenUnchangedSinceTheRead() {
+        long version = cacheService.getBookingVersion(1L);
+        Booking loaded = booking(1L, Booking.BookingStatus.CONFIRMED);
+
+        cacheService.putLoadedBooking(1L, version, loaded);
+
+        assertSame(loaded, cacheService.getBooking(1L));
+        assertEquals(version, cacheService.getBookingVersion(1L));
+    }
+
+    @Test
+    void putLoadedBooking_DropsALoadOvertakenByAnInvalidation() {
+        // A GET misses and reads the version, then the row, before the cancel commits
+        long version = cacheService.getBookingVersion(1L);
+        Booking beforeCancel = booking(1L, Booking.BookingStatus.CONFIRMED);
+
+        // The cancel saves and invalidates while the GET is still on its way back
+        cacheService.invalidateBooking(1L);
+        long afterCancel = cacheService.getBookingVersion(1L);
+
+        cacheService.putLoadedBooking(1L, version, beforeCancel);
+
+        assertNull(cacheService.getBooking(1L));
+        assertNull(cacheService.getStaleBooking(1L));
+        assertNotEquals(version, afterCancel);
+    }
+
+    @Test
+    void putLoadedBooking_DoesNotReplaceANewerPut() {
+        long version = cacheService.getBookingVersion(1L);
+        Booking updated = booking(1L, Booking.BookingStatus.CONFIRMED);
+        cacheService.putBooking(1L, updated);
+
+        cacheService.putLoadedBooking(1L, version, booking(1L, Booking.BookingStatus.CONFIRMED));
+
+        assertSame(updated, cacheService.getBooking(1L));
+    }
+
+    @Test
+    void putUserBookings_DropsAListOvertakenByAnInvalidation() {
+        long version = cacheService.getUserBookingsVersion(1L);
+        List<Booking> beforeCreate = List.of(booking(1L, Booking.BookingStatus.CONFIRMED));
+
+        cacheService.invalidateUserBookings(1L);
+        cacheService.putUserBookings(1L, version, beforeCreate);
+
+        assertNull(cacheService.getUserBookings(1L));
+        assertNull(cacheService.getStaleUserBookings(1L));
+    }
+
+    @Test
+    void putUserBookings_CachesWhenUnchangedSinceTheRead() {
+        long version = cacheService.getUserBookingsVersion(1L);
+        List<Booking> loaded = List.of(booking(1L, Booking.BookingStatus.CONFIRMED));
+
+        cacheService.putUserBookings(1L, version, loaded);
+
+        assertSame(loaded, cacheService.getUserBookings(1L));
+    }
+
+    private static Booking booking(Long id, Booking.BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setStatus(status);
+        return booking;
+    }
+}
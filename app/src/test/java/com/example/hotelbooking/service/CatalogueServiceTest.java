@@ -0,0 +1,117 @@
+package com.example.hotelbooking.service;
+
+import com.example.hotelbooking.dao.BookingDao;
+import com.example.hotelbooking.model.Hotel;
+import com.example.hotelbooking.model.Room;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CatalogueServiceTest {
+    @Mock
+    private BookingDao bookingDao;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void servesPreSerializedHotelsAndRooms() {
+        when(bookingDao.findAllHotelsWithRooms()).thenReturn(List.of(hotel(1L, "Grand", "100.00"), hotel(2L, "Plaza")));
+
+        Catalogue catalogue = new CatalogueService(bookingDao).getCatalogue();
+
+        assertEquals("[{\"id\":1,\"name\":\"Grand\",\"address\":\"Grand Street\",\"rating\":4,\"roomCount\":1},"
+                + "{\"id\":2,\"name\":\"Plaza\",\"address\":\"Plaza Street\",\"rating\":4,\"roomCount\":0}]",
+                new String(catalogue.getHotels().getBody(), StandardCharsets.UTF_8));
+        assertEquals("{\"hotelId\":1,\"rooms\":[{\"id\":10,\"roomNumber\":\"101\",\"roomType\":\"DELUXE\",\"pricePerNight\":100.00}]}",
+                new String(catalogue.getRooms(1L).getBody(), StandardCharsets.UTF_8));
+        assertEquals("{\"hotelId\":2,\"rooms\":[]}", new String(catalogue.getRooms(2L).getBody(), StandardCharsets.UTF_8));
+        assertNull(catalogue.getRooms(3L));
+        assertEquals(2, catalogue.getHotelCount());
+        assertEquals(1, catalogue.getRoomCount());
+    }
+
+    @Test
+    void keepsSnapshotWhenNothingChanged() {
+        when(bookingDao.findAllHotelsWithRooms()).thenReturn(List.of(hotel(1L, "Grand", "100.00")));
+        CatalogueService service = new CatalogueService(bookingDao);
+        Catalogue before = service.getCatalogue();
+
+        assertFalse(service.refresh());
+
+        assertSame(before, service.getCatalogue());
+        verify(bookingDao, times(2)).findAllHotelsWithRooms();
+    }
+
+    @Test
+    void bumpsOnlyTheVersionsOfChangedBodies() {
+        when(bookingDao.findAllHotelsWithRooms()).thenReturn(List.of(hotel(1L, "Grand", "100.00"), hotel(2L, "Plaza", "80.00")));
+        CatalogueService service = new CatalogueService(bookingDao);
+        Catalogue before = service.getCatalogue();
+
+        when(bookingDao.findAllHotelsWithRooms()).thenReturn(List.of(hotel(1L, "Grand", "100.00"), hotel(2L, "Plaza", "95.00")));
+        assertTrue(service.refresh());
+
+        Catalogue after = service.getCatalogue();
+        assertSame(before.getHotels(), after.getHotels());
+        assertSame(before.getRooms(1L), after.getRooms(1L));
+        assertNotEquals(before.getRooms(2L).getVersion(), after.getRooms(2L).getVersion());
+    }
+
+    @Test
+    void publishesRemovedHotels() {
+        when(bookingDao.findAllHotelsWithRooms()).thenReturn(List.of(hotel(1L, "Grand"), hotel(2L, "Plaza")));
+        CatalogueService service = new CatalogueService(bookingDao);
+
+        when(bookingDao.findAllHotelsWithRooms()).thenReturn(List.of(hotel(1L, "Grand")));
+        assertTrue(service.refresh());
+
+        assertNull(service.getCatalogue().getRooms(2L));
+    }
+
+    @Test
+    void failedRefreshKeepsCurrentSnapshot() {
+        when(bookingDao.findAllHotelsWithRooms()).thenReturn(List.of(hotel(1L, "Grand")));
+        CatalogueService service = new CatalogueService(bookingDao);
+        Catalogue before = service.getCatalogue();
+
+        when(bookingDao.findAllHotelsWithRooms())
+                .thenThrow(new RuntimeException("Failed to load hotels and rooms", new SQLException("Connection refused")));
+        assertThrows(RuntimeException.class, service::refresh);
+
+        assertSame(before, service.getCatalogue());
+    }
+
+    private static Hotel hotel(Long id, String name, String... roomPrices) {
+        Hotel hotel = new Hotel();
+        hotel.setId(id);
+        hotel.setName(name);
+        hotel.setAddress(name + " Street");
+        hotel.setRating(4);
+        hotel.setRooms(new LinkedHashSet<>());
+        for (int i = 0; i < roomPrices.length; i++) {
+            Room room = new Room();
+            room.setId(id * 10 + i);
+            room.setRoomNumber(id + "0" + (i + 1));
+            room.setRoomType("DELUXE");
+            room.setPricePerNight(new BigDecimal(roomPrices[i]));
+            room.setHotel(hotel);
+            hotel.getRooms().add(room);
+        }
+        return hotel;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.hotelbooking.service;
+
+import com.example.hotelbooking.context.DeadlineExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1_000));
+    // 10 s window, 4 calls minimum, 50% failures, 100 ms slow calls, 1 s open, 2 trial calls
+    private final CircuitBreaker breaker = new CircuitBreaker("test", 10, 4, 50, 100, 1000, 2, now::get);
+
+    @Test
+    void opensWhenFailureRateCrossesThreshold() {
+        succeed();
+        succeed();
+        fail();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        fail();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(CircuitOpenException.class, () -> breaker.call(() -> "never"));
+    }
+
+    @Test
+    void businessErrorsDoNotCountAsFailures() {
+        for (int i = 0; i < 10; i++) {
+            assertThrows(IllegalStateException.class,
+                    () -> breaker.call(() -> { throw new IllegalStateException("Room is not available"); }));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void slowCallsCountAsFailures() {
+        for (int i = 0; i < 4; i++) {
+            breaker.call(() -> now.addAndGet(TimeUnit.MILLISECONDS.toNanos(150)));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void closesAfterSuccessfulTrialCalls() {
+        openBreaker();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        succeed();
+        succeed();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void reopensWhenTrialCallFails() {
+        openBreaker();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        fail();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(CircuitOpenException.class, () -> breaker.call(() -> "never"));
+    }
+
+    @Test
+    void halfOpenAdmitsOnlyTheTrialCalls() {
+        openBreaker();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // Both trial calls are still running when a third arrives; the rejection is not theirs to count
+        assertThrows(CircuitOpenException.class, () -> breaker.call(() ->
+                breaker.call(() -> breaker.call(() -> "third"))));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void callsAdmittedBeforeOpeningDoNotCountAsTrials() {
+        // A call admitted while closed is still running when the breaker opens and reaches half-open
+        String result = breaker.call(() -> {
+            openBreaker();
+            now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            succeed();
+            return "late";
+        });
+
+        assertEquals("late", result);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        succeed();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void checkoutsCutShortByTheCallersDeadlineDoNotOpen() {
+        // A client with a tiny budget times out of a briefly busy pool, over and over
+        for (int i = 0; i < 10; i++) {
+            assertThrows(DeadlineExceededException.class, () -> breaker.call(this::deadlineCheckout));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertFalse(CircuitBreaker.isFailure(new DeadlineExceededException("checkout",
+                new SQLTransientConnectionException("Connection is not available"))));
+        // The pool's own connection timeout still counts
+        assertTrue(CircuitBreaker.isFailure(new RuntimeException("Failed to find booking",
+                new SQLTransientConnectionException("Connection is not available, request timed out after 2000ms"))));
+    }
+
+    @Test
+    void deadlineExceededTrialCallLeavesItsPermitForAnother() {
+        openBreaker();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThrows(DeadlineExceededException.class, () -> breaker.call(this::deadlineCheckout));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        succeed();
+        succeed();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void oldFailuresAgeOutOfWindow() {
+        fail();
+        fail();
+        fail();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+
+        fail();
+        succeed();
+        succeed();
+        succeed();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private String deadlineCheckout() {
+        throw new DeadlineExceededException("Request deadline exceeded waiting for a database connection",
+                new SQLTransientConnectionException("Interrupted during connection acquisition"));
+    }
+
+    private void succeed() {
+        breaker.call(() -> "ok");
+    }
+
+    private void fail() {
+        assertThrows(RuntimeException.class, () -> breaker.call(() -> {
+            throw new RuntimeException("Failed to find booking", new SQLException("connection lost"));
+        }));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.hotelbooking.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceTest {
+
+    @Test
+    void recordsNestedSpansOnlyWhileAttached() {
+        Trace trace = Trace.sample("GET", "/api/bookings/1", "1");
+        assertNotNull(trace, "the sample header forces tracing");
+
+        try (Trace.Scope scope = Trace.attach(trace)) {
+            try (Trace.Span endpoint = Trace.span("booking.get")) {
+                try (Trace.Span dao = Trace.span("dao.findById")) {
+                    assertNotNull(dao);
+                }
+                Trace.span("response.write").close();
+            }
+        }
+        Trace.span("after").close();
+        trace.finish(200);
+
+        List<Trace.Span> spans = trace.getSpans();
+        assertEquals(3, spans.size());
+        assertEquals("booking.get", spans.get(0).getName());
+        assertEquals(0, spans.get(0).getDepth());
+        assertEquals(1, spans.get(1).getDepth());
+        assertEquals(1, spans.get(2).getDepth());
+        for (Trace.Span span : spans) {
+            assertTrue(span.getDurationNanos() >= 0);
+        }
+        assertTrue(spans.get(0).getDurationNanos() >= spans.get(1).getDurationNanos());
+        assertEquals(200, trace.getStatus());
+    }
+
+    @Test
+    void storeKeepsOnlySlowTracesAndOverwritesTheOldest() throws InterruptedException {
+        TraceStore store = new TraceStore(3, 1_000_000);
+        store.finish(null, 200);
+        Trace fast = new Trace("GET /fast");
+        store.finish(fast, 200);
+        assertTrue(store.recent(10).isEmpty());
+
+        Trace[] slow = new Trace[4];
+        for (int i = 0; i < slow.length; i++) {
+            slow[i] = new Trace("GET /slow/" + i);
+            Thread.sleep(2);
+            store.finish(slow[i], 200);
+        }
+
+        assertEquals(List.of(slow[3], slow[2], slow[1]), store.recent(10));
+        assertEquals(List.of(slow[3]), store.recent(1));
+        assertSame(slow[2], store.find(slow[2].getId()));
+        assertNull(store.find(slow[0].getId()), "overwritten");
+        assertNull(store.find(fast.getId()));
+    }
+}
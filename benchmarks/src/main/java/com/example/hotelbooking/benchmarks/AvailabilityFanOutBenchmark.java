@@ -0,0 +1,77 @@
+package com.example.hotelbooking.benchmarks;
+
+import com.example.hotelbooking.service.AvailabilityBroadcaster;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of availability fan-out with thousands of open streams, all watching the same hotel.
+ * publish is what a booking request pays; publishAndFlush adds the flusher's formatting and writes;
+ * subscribeAndUnsubscribe is the per-connection bookkeeping.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailabilityFanOutBenchmark {
+    private static final LocalDate CHECK_IN = LocalDate.of(2025, 9, 1);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2025, 9, 5);
+
+    @Param({"100", "1000", "10000"})
+    private int subscribers;
+
+    private AvailabilityBroadcaster broadcaster;
+    private long room;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        broadcaster = new AvailabilityBroadcaster();
+        for (int i = 0; i < subscribers; i++) {
+            // Every tenth client watches specific rooms instead of the whole hotel
+            if (i % 10 == 0) {
+                broadcaster.subscribe(null, List.of((long) (i % 50), (long) (i % 50) + 1), OutputStream.nullOutputStream(), () -> {});
+            } else {
+                broadcaster.subscribe(1L, List.of(), OutputStream.nullOutputStream(), () -> {});
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        broadcaster.close();
+    }
+
+    @Benchmark
+    public void publish() {
+        broadcaster.publish(1L, room++ % 50, CHECK_IN, CHECK_OUT);
+    }
+
+    @Benchmark
+    public int publishAndFlush() {
+        broadcaster.publish(1L, room++ % 50, CHECK_IN, CHECK_OUT);
+        return broadcaster.flush();
+    }
+
+    @Benchmark
+    public void subscribeAndUnsubscribe() {
+        broadcaster.unsubscribe(broadcaster.subscribe(2L, List.of(), OutputStream.nullOutputStream(), () -> {}));
+    }
+}
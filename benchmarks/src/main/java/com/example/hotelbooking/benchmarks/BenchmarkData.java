@@ -0,0 +1,32 @@
+package com.example.hotelbooking.benchmarks;
+
+import com.example.hotelbooking.dto.BookingResponse;
+import com.example.hotelbooking.model.Booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Realistic booking payloads shared by the benchmarks.
+ */
+final class BenchmarkData {
+    private static final String[] HOTELS = {"Grand Hotel", "Seaside Resort", "Mountain Lodge", "City Inn"};
+    private static final String[] GUESTS = {"John Doe", "Jane Smith", "Jamie Smith", "Alex Johnson"};
+
+    private BenchmarkData() {}
+
+    static BookingResponse bookingResponse(int i) {
+        LocalDate checkIn = LocalDate.of(2025, 1, 1).plusDays(i % 365);
+        int nights = 1 + i % 7;
+        BookingResponse response = new BookingResponse();
+        response.setId(1000L + i);
+        response.setUserName(GUESTS[i % GUESTS.length]);
+        response.setHotelName(HOTELS[i % HOTELS.length]);
+        response.setRoomNumber(String.valueOf(101 + i % 50));
+        response.setCheckInDate(checkIn);
+        response.setCheckOutDate(checkIn.plusDays(nights));
+        response.setTotalPrice(new BigDecimal("100.00").multiply(BigDecimal.valueOf(nights)));
+        response.setStatus(i % 10 == 0 ? Booking.BookingStatus.CANCELLED : Booking.BookingStatus.CONFIRMED);
+        return response;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.hotelbooking.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Runs the hot-path suites once per thread count and writes each run's results as JSON, one file
+ * per thread count, for comparing runs and tracking them over time.
+ *
+ * <pre>
+ * java -Dthreads=1,4,16 -cp target/benchmarks.jar com.example.hotelbooking.benchmarks.BenchmarkSuite [JMH options] [benchmarks]
+ * </pre>
+ *
+ * Any JMH command-line option can be passed, such as {@code -f 1 -wi 1 -i 3} for a quick run or a
+ * benchmark name to narrow the run; without a name the service, DAO, cache and JSON codec suites
+ * all run. Results go to {@code target/jmh-results/threads-<n>.json} unless {@code -DresultsDir}
+ * says otherwise.
+ */
+public final class BenchmarkSuite {
+    private static final String[] DEFAULT_SUITES = {
+            "BookingServiceBenchmark", "BookingDaoBenchmark", "CacheLookupBenchmark", "JsonCodecBenchmark"};
+
+    private BenchmarkSuite() {}
+
+    public static void main(String[] args) throws CommandLineOptionException, IOException, RunnerException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Path resultsDir = Paths.get(System.getProperty("resultsDir", "target/jmh-results"));
+        Files.createDirectories(resultsDir);
+        for (String threads : System.getProperty("threads", "1,4,16").split(",")) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(Integer.parseInt(threads.trim()))
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(resultsDir.resolve("threads-" + threads.trim() + ".json").toString());
+            if (commandLine.getIncludes().isEmpty()) {
+                for (String suite : DEFAULT_SUITES) {
+                    options.include(suite);
+                }
+            }
+            new Runner(options.build()).run();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.hotelbooking.benchmarks;
+
+import com.example.hotelbooking.dto.BookingBinaryCodec;
+import com.example.hotelbooking.dto.BookingJsonCodec;
+import com.example.hotelbooking.dto.BookingRequest;
+import com.example.hotelbooking.dto.BookingResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary booking protocol against the JSON codec, for encode and decode cost.
+ * Payload sizes for each list size are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryCodecBenchmark {
+    @Param({"1", "20", "200"})
+    private int listSize;
+
+    private BookingJsonCodec jsonCodec;
+    private BookingBinaryCodec binaryCodec;
+    private List<BookingResponse> responses;
+    private BookingRequest request;
+    private byte[] jsonList;
+    private byte[] binaryList;
+    private byte[] jsonRequest;
+    private byte[] binaryRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonCodec = new BookingJsonCodec();
+        binaryCodec = new BookingBinaryCodec();
+        responses = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            responses.add(BenchmarkData.bookingResponse(i));
+        }
+        request = new BookingRequest();
+        request.setUserId(1L);
+        request.setRoomId(2L);
+        request.setCheckInDate(LocalDate.of(2025, 9, 1));
+        request.setCheckOutDate(LocalDate.of(2025, 9, 5));
+
+        jsonList = jsonCodec.writeResponses(responses);
+        binaryList = binaryCodec.writeResponses(responses);
+        jsonRequest = ("{\"userId\":1,\"roomId\":2,"
+                + "\"checkInDate\":\"2025-09-01\",\"checkOutDate\":\"2025-09-05\"}").getBytes();
+        binaryRequest = binaryCodec.writeRequest(request);
+
+        System.out.printf("%nPayload bytes for %d bookings: json=%d binary=%d; request: json=%d binary=%d%n",
+                listSize, jsonList.length, binaryList.length, jsonRequest.length, binaryRequest.length);
+    }
+
+    @Benchmark
+    public byte[] jsonEncodeList() throws IOException {
+        return jsonCodec.writeResponses(responses);
+    }
+
+    @Benchmark
+    public byte[] binaryEncodeList() {
+        return binaryCodec.writeResponses(responses);
+    }
+
+    @Benchmark
+    public List<BookingResponse> binaryDecodeList() throws IOException {
+        return binaryCodec.readResponses(binaryList);
+    }
+
+    @Benchmark
+    public BookingRequest jsonDecodeRequest() throws IOException {
+        return jsonCodec.readRequest(jsonRequest);
+    }
+
+    @Benchmark
+    public BookingRequest binaryDecodeRequest() throws IOException {
+        return binaryCodec.readRequest(binaryRequest);
+    }
+}
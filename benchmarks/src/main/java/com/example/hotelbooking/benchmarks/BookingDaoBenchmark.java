@@ -0,0 +1,68 @@
+package com.example.hotelbooking.benchmarks;
+
+import com.example.hotelbooking.dao.BookingDao;
+import com.example.hotelbooking.model.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two queries on the booking path that cannot be served from cache, against seeded H2 with
+ * connection checkout included: the conflict check every create and update runs, and a user's
+ * booking list. The seeded size shows how they scale with the bookings table; run with
+ * {@code -t} or {@link BenchmarkSuite} for concurrency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingDaoBenchmark {
+    @Param({"1000", "100000"})
+    private int bookings;
+
+    private SeededDatabase database;
+    private BookingDao dao;
+    private int seededDays;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        database = new SeededDatabase(bookings);
+        dao = database.getDao();
+        seededDays = (int) (database.getLastSeededDay().toEpochDay() - SeededDatabase.FIRST_DAY.toEpochDay());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public boolean isRoomAvailable() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate checkIn = SeededDatabase.FIRST_DAY.plusDays(random.nextInt(seededDays));
+        return dao.isRoomAvailable((long) random.nextInt(1, SeededDatabase.ROOMS + 1), checkIn, checkIn.plusDays(2));
+    }
+
+    @Benchmark
+    public List<Booking> findByUserId() {
+        return dao.findByUserId((long) ThreadLocalRandom.current().nextInt(1, database.getUsers() + 1));
+    }
+}
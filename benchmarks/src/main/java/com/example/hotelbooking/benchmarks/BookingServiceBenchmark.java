@@ -0,0 +1,94 @@
+package com.example.hotelbooking.benchmarks;
+
+import com.example.hotelbooking.dto.BookingRequest;
+import com.example.hotelbooking.model.Booking;
+import com.example.hotelbooking.service.BookingService;
+import com.example.hotelbooking.service.CacheService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The service calls behind the booking endpoints, with the real cache, breaker and DAO over seeded
+ * H2. getBooking mostly hits the cache once warm, getBookingUncached always loads from the
+ * database, and createBooking pays the conflict check, lookups, insert and cache invalidation.
+ * Created bookings are removed between iterations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingServiceBenchmark {
+    // Well past the seeded dates, so new bookings never conflict with seeded ones
+    private static final LocalDate NEW_BOOKINGS_FROM = LocalDate.of(2040, 1, 1);
+
+    @Param({"1000", "100000"})
+    private int bookings;
+
+    private SeededDatabase database;
+    private CacheService cacheService;
+    private BookingService service;
+    // Each created booking takes the next free two nights of the next room
+    private final AtomicLong created = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        database = new SeededDatabase(bookings);
+        cacheService = new CacheService();
+        service = new BookingService(database.getDao(), cacheService);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetBookings() throws SQLException {
+        database.resetBookings();
+        created.set(0);
+        cacheService.clearAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public Booking getBooking() {
+        return service.getBooking((long) ThreadLocalRandom.current().nextInt(1, bookings + 1));
+    }
+
+    @Benchmark
+    public Booking getBookingUncached() {
+        long id = ThreadLocalRandom.current().nextInt(1, bookings + 1);
+        cacheService.invalidateBooking(id);
+        return service.getBooking(id);
+    }
+
+    @Benchmark
+    public Booking createBooking() {
+        long n = created.getAndIncrement();
+        LocalDate checkIn = NEW_BOOKINGS_FROM.plusDays(3 * (n / SeededDatabase.ROOMS));
+        BookingRequest request = new BookingRequest();
+        request.setUserId(n % database.getUsers() + 1);
+        request.setRoomId(n % SeededDatabase.ROOMS + 1);
+        request.setCheckInDate(checkIn);
+        request.setCheckOutDate(checkIn.plusDays(2));
+        return service.createBooking(request);
+    }
+}
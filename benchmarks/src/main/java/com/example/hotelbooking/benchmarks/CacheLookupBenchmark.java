@@ -0,0 +1,117 @@
+package com.example.hotelbooking.benchmarks;
+
+import com.example.hotelbooking.model.Booking;
+import com.example.hotelbooking.model.Hotel;
+import com.example.hotelbooking.model.Room;
+import com.example.hotelbooking.model.User;
+import com.example.hotelbooking.service.CacheService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CacheService lookups as the service makes them, hit and miss counting included: a single
+ * booking, a multi-get of {@code batchSize} ids, a user's list and an availability answer.
+ * The booking cache holds up to 10,000 entries, so the larger size also measures a full cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheLookupBenchmark {
+    @Param({"1000", "10000"})
+    private int entries;
+
+    @Param({"20"})
+    private int batchSize;
+
+    private CacheService cacheService;
+    private String[] availabilityKeys;
+
+    @Setup
+    public void setUp() {
+        cacheService = new CacheService();
+        Hotel hotel = new Hotel();
+        hotel.setId(1L);
+        hotel.setName("Grand Hotel");
+        for (int i = 1; i <= entries; i++) {
+            cacheService.putBooking((long) i, booking(i, hotel));
+        }
+        for (int i = 1; i <= Math.min(entries, 1000); i++) {
+            long userId = i;
+            cacheService.putUserBookings(userId, cacheService.getUserBookingsVersion(userId), List.of(booking(i, hotel)));
+        }
+        availabilityKeys = new String[Math.min(entries, 5000)];
+        for (int i = 0; i < availabilityKeys.length; i++) {
+            availabilityKeys[i] = String.format("%d_%s_%s", i, LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 5));
+            cacheService.putRoomAvailability(availabilityKeys[i], false);
+        }
+    }
+
+    @Benchmark
+    public Booking getBookingHit() {
+        return cacheService.getBooking((long) ThreadLocalRandom.current().nextInt(1, entries + 1));
+    }
+
+    @Benchmark
+    public Booking getBookingMiss() {
+        return cacheService.getBooking((long) ThreadLocalRandom.current().nextInt(entries + 1, Integer.MAX_VALUE));
+    }
+
+    @Benchmark
+    public Map<Long, Booking> getBookings() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Long> ids = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            ids.add((long) random.nextInt(1, entries + 1));
+        }
+        return cacheService.getBookings(ids);
+    }
+
+    @Benchmark
+    public List<Booking> getUserBookings() {
+        return cacheService.getUserBookings((long) ThreadLocalRandom.current().nextInt(1, Math.min(entries, 1000) + 1));
+    }
+
+    @Benchmark
+    public Boolean getRoomAvailability() {
+        return cacheService.getRoomAvailability(availabilityKeys[ThreadLocalRandom.current().nextInt(availabilityKeys.length)]);
+    }
+
+    private static Booking booking(int i, Hotel hotel) {
+        User user = new User();
+        user.setId((long) i);
+        user.setName("Guest " + i);
+        Room room = new Room();
+        room.setId((long) (i % 200 + 1));
+        room.setRoomNumber(String.valueOf(101 + i % 200));
+        room.setHotel(hotel);
+        Booking booking = new Booking();
+        booking.setId((long) i);
+        booking.setUser(user);
+        booking.setRoom(room);
+        booking.setCheckInDate(LocalDate.of(2025, 9, 1));
+        booking.setCheckOutDate(LocalDate.of(2025, 9, 5));
+        booking.setTotalPrice(new BigDecimal("400.00"));
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        return booking;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.hotelbooking.benchmarks;
+
+import com.example.hotelbooking.dto.BookingJsonCodec;
+import com.example.hotelbooking.dto.BookingResponse;
+import com.example.hotelbooking.http.Compression;
+import com.example.hotelbooking.http.Compression.Encoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU cost of compressing user booking listings of realistic sizes, against the bandwidth it saves.
+ * Setup prints each listing's raw and compressed sizes and how long the saved bytes take on the wire,
+ * to compare with the per-operation compression time.
+ * gzipStream is the previous approach: a new GZIPOutputStream, and so a new native Deflater, per body.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressionBenchmark {
+    private static final long LINK_BITS_PER_SECOND = 100_000_000L;
+
+    @Param({"2", "10", "50", "250"})
+    private int bookings;
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<BookingResponse> responses = new ArrayList<>(bookings);
+        for (int i = 0; i < bookings; i++) {
+            responses.add(BenchmarkData.bookingResponse(i));
+        }
+        body = new BookingJsonCodec().writeResponses(responses);
+        int gzip = Compression.compress(body, Encoding.GZIP).length;
+        int deflate = Compression.compress(body, Encoding.DEFLATE).length;
+        double savedMicros = (body.length - gzip) * 8 * 1_000_000.0 / LINK_BITS_PER_SECOND;
+        System.out.printf("%n%d bookings: %d bytes raw, %d gzip, %d deflate; gzip saves %.1f us at 100 Mbit/s (threshold %d bytes)%n",
+                bookings, body.length, gzip, deflate, savedMicros, Compression.MIN_BYTES);
+    }
+
+    @Benchmark
+    public byte[] gzipPooled() {
+        return Compression.compress(body, Encoding.GZIP);
+    }
+
+    @Benchmark
+    public byte[] deflatePooled() {
+        return Compression.compress(body, Encoding.DEFLATE);
+    }
+
+    @Benchmark
+    public byte[] gzipStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 2));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.hotelbooking.benchmarks;
+
+import com.example.hotelbooking.dto.BookingJsonCodec;
+import com.example.hotelbooking.dto.BookingRequest;
+import com.example.hotelbooking.dto.BookingResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hand-written booking codec against the ObjectMapper configuration used by the handlers.
+ * Run with -prof gc to compare allocation per operation as well as time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonCodecBenchmark {
+    @Param({"1", "20", "200"})
+    private int listSize;
+
+    private ObjectMapper objectMapper;
+    private BookingJsonCodec codec;
+    private BookingResponse response;
+    private List<BookingResponse> responses;
+    private byte[] requestBody;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
+                .findAndRegisterModules();
+        codec = new BookingJsonCodec();
+        response = BenchmarkData.bookingResponse(1);
+        responses = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            responses.add(BenchmarkData.bookingResponse(i));
+        }
+        requestBody = ("{\"userId\":1,\"roomId\":2,"
+                + "\"checkInDate\":\"2025-09-01\",\"checkOutDate\":\"2025-09-05\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] mapperWriteResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] codecWriteResponse() throws IOException {
+        return codec.writeResponse(response);
+    }
+
+    @Benchmark
+    public byte[] mapperWriteList() throws IOException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] codecWriteList() throws IOException {
+        return codec.writeResponses(responses);
+    }
+
+    @Benchmark
+    public BookingRequest mapperReadRequest() throws IOException {
+        return objectMapper.readValue(requestBody, BookingRequest.class);
+    }
+
+    @Benchmark
+    public BookingRequest codecReadRequest() throws IOException {
+        return codec.readRequest(requestBody);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.hotelbooking.benchmarks;
+
+import com.example.hotelbooking.http.Endpoint;
+import com.example.hotelbooking.http.RouteMatch;
+import com.example.hotelbooking.http.RouteTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Dispatch cost of the route trie against the previous contains() + regex dispatch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouteDispatchBenchmark {
+    private static final Pattern BOOKING_ID_PATTERN = Pattern.compile("/api/bookings/(\\d+)");
+    private static final Pattern USER_BOOKINGS_PATTERN = Pattern.compile("/api/bookings/user/(\\d+)");
+
+    @Param({"/api/bookings/12345", "/api/bookings/user/42"})
+    private String path;
+
+    private RouteTable routes;
+
+    @Setup
+    public void setUp() {
+        Endpoint endpoint = (exchange, match) -> {};
+        routes = RouteTable.builder()
+                .add("POST", "/api/bookings", endpoint)
+                .add("GET", "/api/bookings", endpoint)
+                .add("GET", "/api/bookings/{id}", endpoint)
+                .add("PUT", "/api/bookings/{id}", endpoint)
+                .add("DELETE", "/api/bookings/{id}", endpoint)
+                .add("GET", "/api/bookings/user/{userId}", endpoint)
+                .add("GET", "/api/bookings/search", endpoint)
+                .add("POST", "/api/bookings/batch", endpoint)
+                .add("POST", "/api/rooms/{roomId}/holds", endpoint)
+                .add("DELETE", "/api/rooms/{roomId}/holds/{holdId}", endpoint)
+                .build();
+    }
+
+    @Benchmark
+    public long routeTable() {
+        RouteMatch match = routes.match("GET", path);
+        return match.getLong(0);
+    }
+
+    @Benchmark
+    public Long regex() {
+        Pattern pattern = path.contains("/user/") ? USER_BOOKINGS_PATTERN : BOOKING_ID_PATTERN;
+        Matcher matcher = pattern.matcher(path);
+        if (matcher.find()) {
+            return Long.parseLong(matcher.group(1));
+        }
+        throw new IllegalArgumentException("Invalid path: " + path);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.hotelbooking.benchmarks;
+
+import com.example.hotelbooking.dao.BookingDao;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An in-memory H2 database with the application's schema, seeded with a given number of bookings
+ * spread over {@link #ROOMS} rooms and one user per ten bookings, behind a Hikari pool as in
+ * production.
+ *
+ * Each room's seeded bookings are back to back, two nights every three days from {@link #FIRST_DAY},
+ * so availability checks within the seeded dates hit a mix of free and taken rooms.
+ */
+final class SeededDatabase implements AutoCloseable {
+    static final int ROOMS = 200;
+    static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+    private static final int BATCH_SIZE = 1_000;
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private final HikariDataSource dataSource;
+    private final BookingDao dao;
+    private final int bookings;
+    private final int users;
+
+    SeededDatabase(int bookings) throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:benchmark-" + DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        // Enough for the largest thread count the suites are run with
+        config.setMaximumPoolSize(32);
+        config.setPoolName("benchmark");
+        this.dataSource = new HikariDataSource(config);
+        this.dao = new BookingDao(dataSource);
+        this.bookings = bookings;
+        this.users = Math.max(1, bookings / 10);
+        seed();
+    }
+
+    BookingDao getDao() {
+        return dao;
+    }
+
+    int getBookings() {
+        return bookings;
+    }
+
+    int getUsers() {
+        return users;
+    }
+
+    /**
+     * Last day covered by a seeded booking.
+     */
+    LocalDate getLastSeededDay() {
+        return FIRST_DAY.plusDays(3L * ((bookings - 1) / ROOMS) + 2);
+    }
+
+    /**
+     * Removes the bookings added since seeding, so write benchmarks start every iteration from the
+     * same data.
+     */
+    void resetBookings() throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("DELETE FROM bookings WHERE id > ?")) {
+            ps.setLong(1, bookings);
+            ps.executeUpdate();
+        }
+    }
+
+    private void seed() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("INSERT INTO hotels (name, address, rating) VALUES ('Grand Hotel', '1 Main Street', 5)");
+            }
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO users (name, email) VALUES (?, ?)")) {
+                for (int i = 1; i <= users; i++) {
+                    ps.setString(1, "Guest " + i);
+                    ps.setString(2, "guest" + i + "@example.com");
+                    addToBatch(ps, i);
+                }
+                ps.executeBatch();
+            }
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO rooms (room_number, room_type, price_per_night, hotel_id) VALUES (?, 'DOUBLE', 100.00, 1)")) {
+                for (int i = 1; i <= ROOMS; i++) {
+                    ps.setString(1, String.valueOf(100 + i));
+                    addToBatch(ps, i);
+                }
+                ps.executeBatch();
+            }
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO bookings (user_id, room_id, check_in_date, check_out_date, total_price, status) "
+                            + "VALUES (?, ?, ?, ?, 200.00, 'CONFIRMED')")) {
+                for (int i = 0; i < bookings; i++) {
+                    LocalDate checkIn = FIRST_DAY.plusDays(3L * (i / ROOMS));
+                    ps.setLong(1, i % users + 1);
+                    ps.setLong(2, i % ROOMS + 1);
+                    ps.setDate(3, Date.valueOf(checkIn));
+                    ps.setDate(4, Date.valueOf(checkIn.plusDays(2)));
+                    addToBatch(ps, i + 1);
+                }
+                ps.executeBatch();
+            }
+            conn.commit();
+        }
+    }
+
+    private static void addToBatch(PreparedStatement ps, int count) throws SQLException {
+        ps.addBatch();
+        if (count % BATCH_SIZE == 0) {
+            ps.executeBatch();
+        }
+    }
+
+    @Override
+    public void close() {
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        } catch (SQLException e) {
+            // The pool is closed next either way
+        }
+        dataSource.close();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.hotelbooking.benchmarks.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The requests a load run sends, drawn from a weighted mix of booking operations.
+ *
+ * Creates book every room in turn for the next free two nights of a window of {@code windowDays}
+ * starting on a random day within the next year, and go to every user in turn, so a run sized with
+ * {@link #usersFor} and {@link #roomsFor} keeps each user's list short and never books past the
+ * window. Creates beyond that wrap to the start of the window and mostly conflict. Gets and cancels
+ * pick from the bookings this run created; until there are any they are sent as creates instead.
+ */
+final class BookingWorkload {
+    enum Operation { CREATE, GET, USER, CANCEL }
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    // Recent created ids to pick gets and cancels from
+    private static final int REMEMBERED_IDS = 10_000;
+    // Two nights plus a free day before the next stay in the same room
+    private static final int DAYS_PER_STAY = 3;
+
+    private final String baseUrl;
+    private final Duration timeout;
+    private final int users;
+    private final int rooms;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final LocalDate firstDay;
+    private final long staysPerRoom;
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLongArray createdIds = new AtomicLongArray(REMEMBERED_IDS);
+    private final AtomicLong createdIdCount = new AtomicLong();
+
+    BookingWorkload(String baseUrl, String mix, int users, int rooms, int windowDays, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.users = users;
+        this.rooms = rooms;
+        Map<Operation, Integer> weights = parseMix(mix);
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.firstDay = LocalDate.now().plusDays(1 + ThreadLocalRandom.current().nextInt(365));
+        this.staysPerRoom = Math.max(1, windowDays / DAYS_PER_STAY);
+    }
+
+    /**
+     * Share of requests the mix sends as creates.
+     */
+    static double createShare(String mix) {
+        Map<Operation, Integer> weights = parseMix(mix);
+        int total = 0;
+        for (int weight : weights.values()) {
+            total += weight;
+        }
+        return (double) weights.getOrDefault(Operation.CREATE, 0) / total;
+    }
+
+    /**
+     * Users needed so that {@code creates} bookings leave none with more than {@code bookingsPerUser}.
+     */
+    static int usersFor(long creates, int bookingsPerUser) {
+        return (int) Math.max(2, (creates + bookingsPerUser - 1) / bookingsPerUser);
+    }
+
+    /**
+     * Rooms needed so that {@code creates} bookings fit in a window of {@code windowDays}.
+     */
+    static int roomsFor(long creates, int windowDays) {
+        long staysPerRoom = Math.max(1, windowDays / DAYS_PER_STAY);
+        return (int) Math.max(4, (creates + staysPerRoom - 1) / staysPerRoom);
+    }
+
+    /**
+     * Parses a mix such as {@code create=10,get=60,user=25,cancel=5}; weights are relative.
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in the mix, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in the mix: " + entry);
+            }
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no operations: " + mix);
+        }
+        return weights;
+    }
+
+    Operation pick() {
+        int draw = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                Operation operation = operations[i];
+                boolean needsBooking = operation == Operation.GET || operation == Operation.CANCEL;
+                return needsBooking && createdIdCount.get() == 0 ? Operation.CREATE : operation;
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    HttpRequest request(Operation operation) {
+        switch (operation) {
+            case CREATE:
+                return create();
+            case GET:
+                return builder("/api/bookings/" + createdId()).GET().build();
+            case USER:
+                return builder("/api/bookings/user/" + ThreadLocalRandom.current().nextInt(1, users + 1)).GET().build();
+            case CANCEL:
+                return builder("/api/bookings/" + createdId()).DELETE().build();
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+    }
+
+    /**
+     * Remembers the booking a successful create returned, for later gets and cancels.
+     */
+    void created(String responseBody) {
+        Matcher id = ID.matcher(responseBody);
+        if (id.find()) {
+            long slot = createdIdCount.getAndIncrement();
+            createdIds.set((int) (slot % REMEMBERED_IDS), Long.parseLong(id.group(1)));
+        }
+    }
+
+    private HttpRequest create() {
+        long n = created.getAndIncrement();
+        LocalDate checkIn = firstDay.plusDays(DAYS_PER_STAY * ((n / rooms) % staysPerRoom));
+        String body = "{\"userId\":" + (n % users + 1) + ",\"roomId\":" + (n % rooms + 1)
+                + ",\"checkInDate\":\"" + checkIn + "\",\"checkOutDate\":\"" + checkIn.plusDays(2) + "\"}";
+        return builder("/api/bookings")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private long createdId() {
+        long known = Math.min(createdIdCount.get(), REMEMBERED_IDS);
+        // A slot claimed by a racing create may not hold its id yet
+        long id = createdIds.get(ThreadLocalRandom.current().nextInt((int) known));
+        return id != 0 ? id : createdIds.get(0);
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+    }
+}
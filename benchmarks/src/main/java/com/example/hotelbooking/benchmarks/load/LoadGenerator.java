@@ -0,0 +1,203 @@
+package com.example.hotelbooking.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for a running server. Requests go out on a fixed schedule at each
+ * offered rate in turn, whether or not earlier ones have come back, and latency is measured from
+ * when each request was due; a closed-loop test such as BookingHandlerLoadTest slows down with
+ * the server and so never sees the queueing that real arrivals would.
+ *
+ * <pre>
+ * java -Dload.rates=50,100,200,400,800 -cp target/benchmarks.jar com.example.hotelbooking.benchmarks.load.LoadGenerator
+ * </pre>
+ *
+ * A warm-up at the first rate runs first and is not reported. Each step then runs for
+ * {@code load.stepSeconds}, waits for its outstanding requests and prints a row of achieved
+ * throughput against latency; the run stops after the first step that misses the targets, and the
+ * last step that met them is reported as the saturation point. A step meets the targets when it
+ * achieves at least {@code load.minAchieved} of the offered rate, fails at most
+ * {@code load.maxErrorRatio} of its requests and keeps the corrected p99 under {@code load.sloMs}.
+ *
+ * Unless {@code load.users} and {@code load.rooms} are given, they are sized for the creates the
+ * run will send, and the server needs that many; it seeds them with {@code hotel.seed.users} and
+ * {@code hotel.seed.rooms}, and the values to use are printed at the start.
+ */
+public final class LoadGenerator {
+    private final HttpClient client;
+    private final BookingWorkload workload;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    LoadGenerator(HttpClient client, BookingWorkload workload, int maxInFlight) {
+        this.client = client;
+        this.workload = workload;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String url = System.getProperty("load.url", "http://localhost:8080");
+        List<Double> rates = new ArrayList<>();
+        for (String rate : System.getProperty("load.rates", "50,100,200,400,800").split(",")) {
+            rates.add(Double.parseDouble(rate.trim()));
+        }
+        long stepSeconds = Long.getLong("load.stepSeconds", 30);
+        long warmupSeconds = Long.getLong("load.warmupSeconds", 10);
+        String mix = System.getProperty("load.mix", "create=10,get=65,user=25");
+        double sloMillis = Double.parseDouble(System.getProperty("load.sloMs", "500"));
+        double minAchieved = Double.parseDouble(System.getProperty("load.minAchieved", "0.95"));
+        double maxErrorRatio = Double.parseDouble(System.getProperty("load.maxErrorRatio", "0.01"));
+        boolean continuePastSaturation = Boolean.getBoolean("load.continuePastSaturation");
+        Path report = Paths.get(System.getProperty("load.report", "target/load-report.json"));
+
+        // Size users and rooms for the creates the run will send, so neither grows with its length
+        double offered = rates.get(0) * warmupSeconds;
+        for (double rate : rates) {
+            offered += rate * stepSeconds;
+        }
+        long creates = (long) Math.ceil(offered * BookingWorkload.createShare(mix));
+        int windowDays = Integer.getInteger("load.windowDays", 730);
+        int users = Integer.getInteger("load.users",
+                BookingWorkload.usersFor(creates, Integer.getInteger("load.bookingsPerUser", 20)));
+        int rooms = Integer.getInteger("load.rooms", BookingWorkload.roomsFor(creates, windowDays));
+        BookingWorkload workload = new BookingWorkload(url, mix, users, rooms, windowDays,
+                Duration.ofMillis(Long.getLong("load.timeoutMs", 10_000)));
+        ExecutorService responses = Executors.newFixedThreadPool(Integer.getInteger("load.clientThreads", 4), r -> {
+            Thread thread = new Thread(r, "load-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(responses)
+                .build();
+        LoadGenerator generator = new LoadGenerator(client, workload, Integer.getInteger("load.maxInFlight", 2000));
+
+        System.out.printf("Load against %s, mix %s, %ds steps%n", url, mix, stepSeconds);
+        System.out.printf("Using %d users and %d rooms; start the server with -Dhotel.seed.users=%d -Dhotel.seed.rooms=%d%n",
+                users, rooms, users, rooms);
+        if (warmupSeconds > 0) {
+            System.out.printf("Warming up at %.0f/s for %ds%n", rates.get(0), warmupSeconds);
+            generator.runStep(rates.get(0), TimeUnit.SECONDS.toNanos(warmupSeconds));
+        }
+
+        System.out.println(StepResult.header());
+        List<Map<String, Object>> steps = new ArrayList<>();
+        Double saturation = null;
+        boolean saturated = false;
+        for (double rate : rates) {
+            StepResult step = generator.runStep(rate, TimeUnit.SECONDS.toNanos(stepSeconds));
+            System.out.println(step.toRow());
+            boolean metTargets = step.getAchievedRate() >= minAchieved * rate
+                    && step.getErrorRatio() <= maxErrorRatio
+                    && step.getCorrectedP99Millis() <= sloMillis;
+            Map<String, Object> row = step.toReport();
+            row.put("metTargets", metTargets);
+            steps.add(row);
+            if (metTargets && !saturated) {
+                saturation = rate;
+            } else if (!metTargets) {
+                saturated = true;
+                if (!continuePastSaturation) {
+                    break;
+                }
+            }
+        }
+
+        if (saturation == null) {
+            System.out.println("No step met the targets; the server is saturated below the lowest rate");
+        } else if (!saturated) {
+            System.out.printf("Every step met the targets; saturation is above %.0f/s%n", saturation);
+        } else {
+            System.out.printf("Saturation point: %.0f/s was the highest rate that met the targets%n", saturation);
+        }
+
+        Map<String, Object> output = new LinkedHashMap<>();
+        output.put("url", url);
+        output.put("mix", BookingWorkload.parseMix(mix));
+        output.put("stepSeconds", stepSeconds);
+        output.put("warmupSeconds", warmupSeconds);
+        output.put("sloMs", sloMillis);
+        output.put("saturationRate", saturation);
+        output.put("steps", steps);
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), output);
+        System.out.println("Report written to " + report);
+    }
+
+    /**
+     * Sends requests at {@code rate} per second for {@code durationNanos}, then waits for the
+     * responses. A request is never sent early to make up for a late one, and the wait before each
+     * is measured from the start of the step rather than from the previous send, so a stall in
+     * this thread shows up as latency instead of a lower rate.
+     */
+    StepResult runStep(double rate, long durationNanos) {
+        long start = System.nanoTime();
+        StepResult step = new StepResult(rate, start);
+        long requests = (long) (rate * durationNanos / 1e9);
+        for (long i = 0; i < requests; i++) {
+            long intended = start + (long) (i * 1e9 / rate);
+            long wait = intended - System.nanoTime();
+            while (wait > 0) {
+                LockSupport.parkNanos(wait);
+                wait = intended - System.nanoTime();
+            }
+            if (inFlight.get() >= maxInFlight) {
+                step.skipped();
+                continue;
+            }
+            send(step, intended);
+        }
+        while (step.getOutstanding() > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return step;
+    }
+
+    private void send(StepResult step, long intended) {
+        BookingWorkload.Operation operation = workload.pick();
+        HttpRequest request = workload.request(operation);
+        inFlight.incrementAndGet();
+        step.sent();
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long done = System.nanoTime();
+            inFlight.decrementAndGet();
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                step.completed(operation, intended, sent, done, cause.getClass().getSimpleName(), false);
+                return;
+            }
+            int status = response.statusCode();
+            // Cancelling an id twice gets a client error, which is the server working; shedding is not
+            boolean success = status < 500 && status != 429;
+            if (success && operation == BookingWorkload.Operation.CREATE) {
+                workload.created(response.body());
+            }
+            step.completed(operation, intended, sent, done, String.valueOf(status), success);
+        });
+    }
+}
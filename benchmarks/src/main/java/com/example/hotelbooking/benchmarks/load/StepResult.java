@@ -0,0 +1,138 @@
+package com.example.hotelbooking.benchmarks.load;
+
+import com.example.hotelbooking.metrics.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What one step of a load run offered and got back.
+ *
+ * Latency is recorded twice. The corrected histogram measures from the moment the schedule said
+ * a request was due, so time a request spent waiting to be sent behind a stalled server counts
+ * against the server, as it would for real users arriving at that rate. The service-time
+ * histogram measures from when it was actually sent, which is what a closed-loop test reports.
+ */
+final class StepResult {
+    private final double offeredRate;
+    private final long startNanos;
+    private final Histogram corrected = new Histogram();
+    private final Histogram serviceTime = new Histogram();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAccumulator lastCompletion = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    StepResult(double offeredRate, long startNanos) {
+        this.offeredRate = offeredRate;
+        this.startNanos = startNanos;
+    }
+
+    void sent() {
+        sent.increment();
+    }
+
+    /**
+     * A request the generator did not send because too many were already outstanding.
+     */
+    void skipped() {
+        skipped.increment();
+    }
+
+    /**
+     * @param outcome the status code, or the failure's exception name when there was no response
+     */
+    void completed(BookingWorkload.Operation operation, long intendedNanos, long sentNanos, long doneNanos,
+                   String outcome, boolean success) {
+        corrected.recordNanos(doneNanos - intendedNanos);
+        serviceTime.recordNanos(doneNanos - sentNanos);
+        (success ? succeeded : failed).increment();
+        outcomes.computeIfAbsent(operation.name().toLowerCase() + " " + outcome, k -> new LongAdder()).increment();
+        lastCompletion.accumulate(doneNanos);
+    }
+
+    long getOutstanding() {
+        return sent.sum() - succeeded.sum() - failed.sum();
+    }
+
+    double getOfferedRate() {
+        return offeredRate;
+    }
+
+    /**
+     * Successful responses per second, over the time from the first scheduled request to the
+     * last response, so a backlog drained after the step counts against it.
+     */
+    double getAchievedRate() {
+        long end = lastCompletion.get();
+        if (end == Long.MIN_VALUE || end <= startNanos) {
+            return 0;
+        }
+        return succeeded.sum() * 1e9 / (end - startNanos);
+    }
+
+    /**
+     * Failed, timed out and unsent requests as a share of all scheduled ones.
+     */
+    double getErrorRatio() {
+        long scheduled = sent.sum() + skipped.sum();
+        return scheduled == 0 ? 0 : (double) (failed.sum() + skipped.sum()) / scheduled;
+    }
+
+    double getCorrectedP99Millis() {
+        return millis(corrected.snapshot().getValueAtQuantile(0.99));
+    }
+
+    Map<String, Object> toReport() {
+        Histogram.Snapshot latency = corrected.snapshot();
+        Histogram.Snapshot service = serviceTime.snapshot();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("offeredRate", offeredRate);
+        report.put("achievedRate", Math.round(getAchievedRate() * 10) / 10.0);
+        report.put("sent", sent.sum());
+        report.put("succeeded", succeeded.sum());
+        report.put("failed", failed.sum());
+        report.put("skipped", skipped.sum());
+        Map<String, Object> correctedMs = new LinkedHashMap<>();
+        correctedMs.put("p50", millis(latency.getValueAtQuantile(0.5)));
+        correctedMs.put("p90", millis(latency.getValueAtQuantile(0.9)));
+        correctedMs.put("p99", millis(latency.getValueAtQuantile(0.99)));
+        correctedMs.put("p999", millis(latency.getValueAtQuantile(0.999)));
+        correctedMs.put("max", millis(latency.getMax()));
+        report.put("latencyMs", correctedMs);
+        Map<String, Object> serviceMs = new LinkedHashMap<>();
+        serviceMs.put("p50", millis(service.getValueAtQuantile(0.5)));
+        serviceMs.put("p99", millis(service.getValueAtQuantile(0.99)));
+        report.put("serviceTimeMs", serviceMs);
+        Map<String, Long> byOutcome = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> byOutcome.put(outcome, count.sum()));
+        report.put("outcomes", byOutcome);
+        return report;
+    }
+
+    String toRow() {
+        Histogram.Snapshot latency = corrected.snapshot();
+        return String.format("%10.0f %10.1f %8d %8d %9.1f %9.1f %9.1f %9.1f %9.1f %12.1f",
+                offeredRate, getAchievedRate(), succeeded.sum(), failed.sum() + skipped.sum(),
+                millis(latency.getValueAtQuantile(0.5)), millis(latency.getValueAtQuantile(0.9)),
+                millis(latency.getValueAtQuantile(0.99)), millis(latency.getValueAtQuantile(0.999)),
+                millis(latency.getMax()), millis(serviceTime.snapshot().getValueAtQuantile(0.99)));
+    }
+
+    static String header() {
+        return String.format("%10s %10s %8s %8s %9s %9s %9s %9s %9s %12s",
+                "offered/s", "achieved/s", "ok", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms",
+                "p99 svc ms");
+    }
+
+    private static double millis(long micros) {
+        return micros / (double) TimeUnit.MILLISECONDS.toMicros(1);
+    }
+}